@@ -0,0 +1,71 @@
+package Benchmark;
+
+import Game.Score.Leaderboard;
+
+/**
+ * Mikrobenchmark a Leaderboard beszúrásának költségéhez különböző listahosszaknál (K).
+ * A listára bekerülő eredmény O(log K) lépés a ranglista fájában, a be nem kerülő csak egy összehasonlítás;
+ * a mérés mindkét esetet külön mutatja, a legrosszabb esetben (minden új eredmény a lista elejére kerül).
+ * Futtatás: java Benchmark.LeaderboardBenchmark [beszúrások száma]
+ */
+public class LeaderboardBenchmark {
+
+    private static final int[] CAPACITIES = {10, 100, 1_000, 10_000}; // A mért listahosszak.
+    private static final int WARMUP_ROUNDS = 5;   // Bemelegítő körök száma (JIT fordítás miatt).
+    private static final int MEASURED_ROUNDS = 5; // Mért körök száma.
+
+    public static void main(String[] args) {
+        int inserts = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        String[] prizes = new String[inserts]; // A díjak előre elkészítve, hogy a mérés ne a formázást mérje
+        for (int i = 0; i < inserts; i++) {
+            prizes[i] = (i + 1) + " Ft";
+        }
+
+        System.out.printf("%d beszúrás körönként%n", inserts);
+        System.out.printf("%8s %16s %16s%n", "K", "bekerül (ns)", "kimarad (ns)");
+        for (int capacity : CAPACITIES) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                run(capacity, prizes, true);
+                run(capacity, prizes, false);
+            }
+
+            long acceptedNanos = 0;
+            long rejectedNanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                acceptedNanos += run(capacity, prizes, true);
+                rejectedNanos += run(capacity, prizes, false);
+            }
+            long total = (long) inserts * MEASURED_ROUNDS;
+            System.out.printf("%8d %16.1f %16.1f%n", capacity,
+                    (double) acceptedNanos / total, (double) rejectedNanos / total);
+        }
+    }
+
+    /**
+     * Egy kör: a lista feltöltése, majd a beszúrások mérése.
+     *
+     * @param accepted true esetén minden eredmény jobb az eddigieknél (a lista elejére kerül),
+     *                 különben mind rosszabb a megtelt lista leggyengébbjénél
+     * @return a beszúrások ideje nanoszekundumban
+     */
+    private static long run(int capacity, String[] prizes, boolean accepted) {
+        Leaderboard board = new Leaderboard(capacity);
+        for (int i = 0; i < capacity; i++) {
+            board.addScore("Kezdő", accepted ? "0 Ft" : prizes.length + 1 + " Ft");
+        }
+
+        int added = 0;
+        long start = System.nanoTime();
+        for (String prize : prizes) {
+            if (board.addScore("Játékos", prize)) {
+                added++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (added != (accepted ? prizes.length : 0)) {
+            throw new IllegalStateException("Unexpected number of accepted scores: " + added);
+        }
+        return elapsed;
+    }
+}
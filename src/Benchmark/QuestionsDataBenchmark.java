@@ -0,0 +1,91 @@
+package Benchmark;
+
+import Game.Question.Question;
+import Game.Question.QuestionsData;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mikrobenchmark, amely összeveti a nehézségi szint szerinti indexből történő
+ * kérdéskiválasztást a korábbi, teljes listát bejáró megoldással.
+ * Futtatás: java Benchmark.QuestionsDataBenchmark [kérdésfájl] [hívások száma]
+ */
+public class QuestionsDataBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;   // Bemelegítő körök száma (JIT fordítás miatt).
+    private static final int MEASURED_ROUNDS = 5; // Mért körök száma.
+
+    public static void main(String[] args) throws FileNotFoundException {
+        String file = args.length > 0 ? args[0] : "questions.json";
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        QuestionsData data = new QuestionsData(file);
+        System.out.printf("%d kérdés betöltve, %d hívás körönként%n", data.questionsArray.size(), calls);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runScan(data, calls / 10);
+            runIndexed(data, calls);
+        }
+
+        long scanNanos = 0;
+        long indexedNanos = 0;
+        long sink = 0; // Az eredmények összegzése, hogy a JIT ne dobja el a hívásokat.
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += runScan(data, calls);
+            scanNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += runIndexed(data, calls);
+            indexedNanos += System.nanoTime() - start;
+        }
+
+        long total = (long) calls * MEASURED_ROUNDS;
+        System.out.printf("Lineáris keresés: %10.1f ns/hívás%n", (double) scanNanos / total);
+        System.out.printf("Indexelt:         %10.1f ns/hívás%n", (double) indexedNanos / total);
+        System.out.printf("Gyorsulás:        %10.1fx (ellenőrzőösszeg: %d)%n", (double) scanNanos / indexedNanos, sink);
+    }
+
+    /**
+     * A kérdések lekérése az indexelt QuestionsData.getQuestion metódussal, 1-12 szinteken körbejárva.
+     */
+    private static long runIndexed(QuestionsData data, int calls) {
+        long sum = 0;
+        for (int i = 0; i < calls; i++) {
+            Question q = data.getQuestion(i % 12 + 1);
+            if (q != null) sum += q.getAnswer();
+        }
+        return sum;
+    }
+
+    /**
+     * Ugyanaz a terhelés a korábbi, minden hívásnál teljes listát bejáró megoldással.
+     */
+    private static long runScan(QuestionsData data, int calls) {
+        long sum = 0;
+        for (int i = 0; i < calls; i++) {
+            Question q = scanQuestion(data.questionsArray, i % 12 + 1);
+            if (q != null) sum += q.getAnswer();
+        }
+        return sum;
+    }
+
+    /**
+     * A korábbi QuestionsData.getQuestion implementáció másolata összehasonlítási alapnak.
+     */
+    private static Question scanQuestion(List<Question> questionsArray, int currentdifficulty) {
+        List<Question> currentQuestions = new ArrayList<>();
+        questionsArray.forEach(q -> {
+            if (q.getDifficulty() == currentdifficulty) {
+                currentQuestions.add(q);
+            }
+        });
+        if (currentQuestions.isEmpty()) {
+            return null;
+        }
+        return currentQuestions.get(new Random().nextInt(currentQuestions.size()));
+    }
+}
@@ -1,11 +1,23 @@
 package Display;
 
+import Game.Clock.Countdown;
+import Game.Clock.TimingWheel;
+import Game.Engine.GameEngine;
+import Game.Engine.GameListener;
+import Game.Engine.GameResult;
+import Game.Engine.Lifeline;
 import Game.Game;
-import Game.Help.Crowd;
-import Game.Help.FiftyFifty;
-import Game.Help.NewQuestion;
+import Game.GameSave.Checkpointer;
+import Game.GameSave.GameJournal;
+import Game.GameSave.GameState;
+import Game.GameSave.SavedGame;
+import Game.GameSave.SessionStore;
 import Game.Question.Question;
+import Game.Question.SharedQuestionBank;
 import Game.Score.Leaderboard;
+import Game.Score.LeaderboardLog;
+import Game.Score.PartitionedLeaderboard;
+import Game.Score.RankedLeaderboard;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,28 +26,41 @@ import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.*;
-
+import java.nio.file.Paths;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * A játék grafikus felületét (GUI) megvalósító osztály.
  * A JFrame kiterjesztésével biztosítja a játék megjelenítését és kezelését.
+ * A játék menetét a {@link GameEngine} vezérli; a felület a felhasználói műveleteket a motornak továbbítja,
+ * és a motor eseményeire ({@link GameListener}) frissíti a megjelenítést.
  */
-public class MainGameDisplay extends JFrame implements ActionListener {
+public class MainGameDisplay extends JFrame implements ActionListener, GameListener {
 
     private static final Logger LOGGER = Logger.getLogger(MainGameDisplay.class.getName()); // Naplózó eszköz.
 
     private Game game;                      // A játék logikáját kezelő objektum.
-    private Leaderboard scoretable;         // A ranglistát kezelő objektum.
-
-    // A segítségek objektumai.
-    private FiftyFifty fiftyFifty;
-    private NewQuestion newQuestion;
-    private Crowd crowdvote;
-
-    private Timer questionTimer;            // Az időzítő a kérdésekhez.
-    private int timeLeft;                   // A hátralévő idő másodpercben.
+    private GameEngine engine;              // A játék menetét vezérlő motor.
+    private CompletableFuture<LeaderboardLog> scoretableLoad; // Az összesített, napi és heti ranglista tára (háttérben töltődik).
+    private CompletableFuture<RankedLeaderboard> rankingsLoad; // Az összes eredmény a helyezésekhez (a tárból épül).
+    private boolean questionsLoaded;        // Betöltődött-e már a kérdésbank.
+    private CompletableFuture<SavedGame> saveLoad; // A mentett játék fájljai (a kérdésbankkal párhuzamosan töltődnek).
+    private final PartitionedLeaderboard shards; // A kioszkok közös ranglistája, vagy null, ha a játék egyedül fut.
+    private final ExecutorService publisher;     // A saját szelet közzététele a felület szálán kívül.
+
+    private Countdown countdown;            // A kérdések visszaszámlálója.
+    private GameJournal journal;            // A játék eseménynaplója (folytatás összeomlás után is).
+    private Checkpointer autosave;          // A háttérben futó automatikus mentés.
+    private SessionStore pausedGames;       // A szüneteltetett játékok, játékosnév szerint.
     private JLabel timerLabel;              // A hátralévő idő megjelenítése.
 
     // A válaszlehetőségek gombjai.
@@ -61,6 +86,8 @@ public class MainGameDisplay extends JFrame implements ActionListener {
     // Menüelemek.
     private JMenuItem newGame;
     private JMenuItem stopGame;
+    private JMenuItem pauseGame;
+    private JMenuItem resumeGame;
     private JMenuItem leaderboard;
     private JMenuItem deleteData;
     private JMenuItem quitGame;
@@ -69,6 +96,8 @@ public class MainGameDisplay extends JFrame implements ActionListener {
 
     private JLabel[] prizes; // A díjakat megjelenítő címkék.
 
+    private final Map<Question, String[]> rendered = new IdentityHashMap<>(); // Előre elkészített gombfeliratok.
+
     /**
      * Gomb engedélyezése vagy letiltása az 'A' válaszhoz.
      *
@@ -134,37 +163,57 @@ public class MainGameDisplay extends JFrame implements ActionListener {
 
     /**
      * A játék grafikus felületének konstruktora.
-     * Inicializálja a felhasználói felületet, és ellenőrzi, hogy van-e mentett játékállapot.
-     * Ha létezik mentett állapot, azt betölti, különben új játékot állít be.
+     * Inicializálja a felhasználói felületet, a kérdésbankot, a mentett játékot és a dicsőséglistát pedig a
+     * háttérben tölti be; az ablak közben már megjeleníthető. Ha létezik mentett állapot, a betöltés után
+     * folytatja, különben új játékot állít be.
      */
     public MainGameDisplay() {
-        initComponents(); // A grafikus felület inicializálása.
+        this(null);
+    }
 
-        // Ellenőrizzük, hogy létezik-e mentett állapotot tartalmazó fájl.
-        File saveFile = new File(Game.SAVE_FILE);
-        if (saveFile.exists() && !game.isGameOver()) {
-            refreshUIAfterLoad(); // Betöltjük a mentett állapotot, ha elérhető.
-        } else {
-            setupNewGameUI(); // Ha nincs mentett állapot, új játék felületét állítjuk be.
-        }
+    /**
+     * A játék grafikus felületének konstruktora kioszk üzemmódhoz: a saját ranglista a kioszkok közös
+     * ranglistájának egy szeleteként is közzétételre kerül, a dicsőséglista ablak pedig a közös listát is mutatja.
+     *
+     * @param shards a kioszkok közös ranglistája, vagy null, ha a játék egyedül fut
+     */
+    public MainGameDisplay(PartitionedLeaderboard shards) {
+        this.shards = shards;
+        this.publisher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "leaderboard-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        initComponents(); // A grafikus felület inicializálása.
+        startLoading(); // A kérdések, a mentés és a dicsőséglista betöltése a háttérben
     }
 
     /**
-     * Inicializálja a játék grafikus felületének összetevőit.
+     * Inicializálja a játék grafikus felületének összetevőit. A játékot még nem igényli: a játékhoz
+     * kötött részek a betöltés végén, a {@link #gameLoaded(Game)} hívásakor készülnek el.
      */
     private void initComponents() {
 
-        try {
-            game = new Game(); // Játék inicializálása
-        } catch (FileNotFoundException e1) {
-            LOGGER.log(Level.SEVERE, "Failed to load json file", e1);
-        }
-
+        // A visszaszámláló a kerék szálán jár; a felületet és a motort az eseménykezelő szálon frissítjük
+        countdown = new Countdown(new TimingWheel("question-timer"), new Countdown.Listener() {
+            @Override
+            public void secondElapsed(int remaining) {
+                SwingUtilities.invokeLater(() -> {
+                    if (countdown.isRunning() && countdown.getRemaining() == remaining) { // Elavult jelzés kihagyása
+                        engine.updateTimeLeft(countdown.getRemainingMillis()); // A felületet a timeChanged esemény frissíti
+                    }
+                });
+            }
 
-        // Segítségek inicializálása
-        fiftyFifty = new FiftyFifty(game, this);
-        newQuestion = new NewQuestion(game, this);
-        crowdvote = new Crowd(game, this);
+            @Override
+            public void expired() {
+                SwingUtilities.invokeLater(() -> {
+                    if (countdown.isExpired()) { // Közben új kör indulhatott
+                        engine.timeout();
+                    }
+                });
+            }
+        });
 
         // Ablak címe
         setTitle("Legyen Ön is Milliomos");
@@ -216,6 +265,14 @@ public class MainGameDisplay extends JFrame implements ActionListener {
         stopGame.setText("Játék befejezése");
         stopGame.addActionListener(this);
 
+        pauseGame = new JMenuItem();
+        pauseGame.setText("Játék szüneteltetése");
+        pauseGame.addActionListener(this);
+
+        resumeGame = new JMenuItem();
+        resumeGame.setText("Szüneteltetett játék folytatása");
+        resumeGame.addActionListener(this);
+
         leaderboard = new JMenuItem();
         leaderboard.setText("Dicsőséglista");
         leaderboard.addActionListener(this);
@@ -230,6 +287,8 @@ public class MainGameDisplay extends JFrame implements ActionListener {
 
         gameMenu.add(newGame);
         gameMenu.add(stopGame);
+        gameMenu.add(pauseGame);
+        gameMenu.add(resumeGame);
         gameMenu.add(leaderboard);
         gameMenu.add(deleteData);
         gameMenu.add(quitGame);
@@ -289,7 +348,7 @@ public class MainGameDisplay extends JFrame implements ActionListener {
         scrollPrizes.setBorder(null);
 
         // Időzítő beállítása
-        timerLabel = new JLabel("Idő: " + timeLeft + "s");
+        timerLabel = new JLabel("Betöltés...");
         timerLabel.setFont(timerLabel.getFont().deriveFont(30f));
         timerLabel.setOpaque(false);
 
@@ -297,15 +356,14 @@ public class MainGameDisplay extends JFrame implements ActionListener {
         enableHelpButtons(false);
         enableAnsButtons(false);
 
-        // Játék befejezése gomb tiltása
+        // A játék és a dicsőséglista menüpontjai a betöltésig tiltva
+        newGame.setEnabled(false);
         stopGame.setEnabled(false);
-
-        // Dicsőséglista betöltése
-        try {
-            loadLeaderboard();
-        } catch (ClassNotFoundException | IOException e) {
-            LOGGER.log(Level.SEVERE, "Failed to load leaderboard", e);
-        }
+        pauseGame.setEnabled(false);
+        resumeGame.setEnabled(false);
+        leaderboard.setEnabled(false);
+        deleteData.setEnabled(false);
+        showProgress();
 
         // Ablak bezárásakor mentési megerősítés
         addWindowListener(new WindowAdapter() {
@@ -386,13 +444,167 @@ public class MainGameDisplay extends JFrame implements ActionListener {
         JPanel prizesP = new JPanel(new GridLayout(12, 1, 10, 0));
         prizes = new JLabel[12];
         for (int i = 12; i >= 1; i--) { // Visszafelé iterálunk, hogy a legnagyobb nyeremény legyen felül
-            prizes[i - 1] = new JLabel(i + ".kör:  " + game.getPrize(i));
+            prizes[i - 1] = new JLabel(i + ".kör:"); // A nyeremény a játék betöltése után kerül mellé
             prizes[i - 1].setHorizontalAlignment(SwingConstants.CENTER); // A szöveget középre igazítjuk
             prizesP.add(prizes[i - 1]);
         }
         return prizesP;
     }
 
+    /**
+     * A kérdésbank, a mentett játék fájljai és a dicsőséglisták párhuzamos betöltése három háttérszálon.
+     * Az elkészült részek az eseménykezelő szálon kerülnek a felületre: a játék, amint a kérdések és a mentés
+     * betöltődtek (a mentés kérdései a bankból kereshetők vissza, ez a beolvasás után már gyors), a dicsőséglista menüpontjai pedig a tár megnyitása után válnak elérhetővé. A tár megnyitása
+     * után a helyezésekhez a korábbi eredményekből felépül a teljes rangsor is, szintén a felület szálán kívül.
+     */
+    private void startLoading() {
+        ExecutorService loader = Executors.newFixedThreadPool(3, r -> {
+            Thread thread = new Thread(r, "startup-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // A pillanatkép és a napló (első induláskor a régi fájl) betöltése; hiba esetén a lista csak a memóriában él,
+        // így a tár mindig elkészül, és a scoretable() nem dob kivételt
+        scoretableLoad = CompletableFuture.supplyAsync(() -> new LeaderboardLog(Paths.get("")), loader)
+                .exceptionally(e -> {
+                    LOGGER.log(Level.SEVERE, "Failed to open leaderboard, scores are kept in memory only", e);
+                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                            "A dicsőséglista betöltése nem sikerült.\nAz eredmények csak a program bezárásáig maradnak meg.",
+                            "Hiba", JOptionPane.ERROR_MESSAGE));
+                    return LeaderboardLog.inMemory(Leaderboard.DEFAULT_CAPACITY, System::currentTimeMillis);
+                });
+        scoretableLoad.thenRun(() -> SwingUtilities.invokeLater(this::scoretableLoaded));
+        rankingsLoad = scoretableLoad.thenApplyAsync(log -> {
+            RankedLeaderboard rankings = new RankedLeaderboard();
+            log.replay(rankings::addScore); // A helyezésekhez az összes korábbi eredmény
+            return rankings;
+        }, loader).exceptionally(e -> {
+            LOGGER.log(Level.WARNING, "Failed to rebuild rankings, ranks start from the new scores", e);
+            return new RankedLeaderboard();
+        });
+
+        saveLoad = CompletableFuture.supplyAsync(Game::readSave, loader); // Olvasási hibánál nincs folytatható játék
+        saveLoad.thenRun(() -> SwingUtilities.invokeLater(this::showProgress));
+
+        CompletableFuture<Void> bankLoad = CompletableFuture.runAsync(() -> {
+            try {
+                SharedQuestionBank.get(Game.QUESTIONS_FILE); // Közös bank: a játék már a betöltött példányt kapja
+            } catch (FileNotFoundException e) {
+                throw new CompletionException(e);
+            }
+            SwingUtilities.invokeLater(() -> {
+                questionsLoaded = true;
+                showProgress();
+            });
+        }, loader);
+
+        // A mentett állapot a kérdések azonosítóiból áll össze, így a játék a bank és a mentés után készül el
+        CompletableFuture<Game> gameLoad = bankLoad.thenCombineAsync(saveLoad, (v, saved) -> {
+            try {
+                return new Game(saved);
+            } catch (FileNotFoundException e) {
+                throw new CompletionException(e);
+            }
+        }, loader);
+        gameLoad.whenComplete((loaded, e) -> SwingUtilities.invokeLater(() -> {
+            if (e != null) {
+                LOGGER.log(Level.SEVERE, "Failed to load json file", e);
+                timerLabel.setText("Hiba");
+                questionText.setText("A kérdések betöltése nem sikerült.");
+            } else {
+                gameLoaded(loaded);
+            }
+        }));
+        CompletableFuture.allOf(gameLoad, rankingsLoad)
+                .whenComplete((v, e) -> loader.shutdown()); // Az összes feladat után a szálak leállnak
+    }
+
+    /**
+     * A betöltés állapotának megjelenítése a kérdésmezőben, amíg a játék el nem készül.
+     */
+    private void showProgress() {
+        if (game != null) {
+            return; // A kérdésmezőt már a játék használja
+        }
+        questionText.setText("Kérdések: " + (questionsLoaded ? "kész" : "betöltés...")
+                + "\nMentett játék: " + (saveLoad == null || !saveLoad.isDone() ? "betöltés..."
+                        : saveLoad.join().isEmpty() ? "nincs" : "kész")
+                + "\nDicsőséglista: " + (scoretableLoad != null && scoretableLoad.isDone() ? "kész" : "betöltés..."));
+    }
+
+    /**
+     * A betöltött játék felületre kötése: a motor, a napló és az automatikus mentés létrehozása, majd a mentett
+     * játék folytatása vagy az új játék felületének beállítása. Az eseménykezelő szálon fut.
+     *
+     * @param loaded a betöltött játék
+     */
+    private void gameLoaded(Game loaded) {
+        game = loaded;
+
+        // A játékmotor létrehozása; a felület a motor eseményeire iratkozik fel
+        engine = new GameEngine(game);
+        engine.addListener(this);
+
+        // A napló a motor eseményeiből folyamatosan rögzíti a játékot
+        journal = new GameJournal(Paths.get(Game.JOURNAL_DIR), game);
+        engine.addListener(journal);
+
+        // Automatikus mentés minden kör és segítség után, a felület szálán kívül
+        autosave = new Checkpointer(game, Paths.get(Game.SAVE_FILE));
+        engine.addListener(autosave);
+
+        // Több játékos szüneteltetett játékai; minden mentés azonnal lemezre kerül, így összeomlás után is megmarad
+        pausedGames = new SessionStore(Paths.get(SessionStore.DEFAULT_DIR), game.getQuestionsData(), 0,
+                SessionStore.DEFAULT_IDLE_MILLIS, System::currentTimeMillis);
+
+        for (int i = 1; i <= prizes.length; i++) {
+            prizes[i - 1].setText(i + ".kör:  " + game.getPrize(i));
+        }
+
+        // Ellenőrizzük, hogy a játék mentett állapotból töltődött-e vissza.
+        if (game.isRestored() && !game.isGameOver()) {
+            refreshUIAfterLoad(); // Folytatjuk a mentett játékot: a válaszgombok a kör indulásakor engedélyeződnek
+        } else {
+            setupNewGameUI(); // Ha nincs mentett állapot, új játék felületét állítjuk be.
+        }
+    }
+
+    /**
+     * A dicsőséglisták tárának betöltése után a menüpontok engedélyezése. Az eseménykezelő szálon fut.
+     */
+    private void scoretableLoaded() {
+        leaderboard.setEnabled(true);
+        deleteData.setEnabled(true);
+        publishShard();
+        showProgress();
+    }
+
+    /**
+     * Visszaadja a dicsőséglisták tárát (sikertelen betöltés után a csak memóriában tartott tárat). A menüpontok
+     * csak a betöltés után elérhetők, így várni csak a betöltés közbeni kilépéskor kell.
+     *
+     * @return a dicsőséglisták tára
+     */
+    private LeaderboardLog scoretable() {
+        return scoretableLoad.join();
+    }
+
+    /**
+     * A megadott betűjelű válasz gombjának engedélyezése vagy letiltása.
+     *
+     * @param option a válasz betűjele ('a'-'d')
+     * @param b      true, ha engedélyezett, false, ha letiltott.
+     */
+    private void enableOptionButton(char option, boolean b) {
+        switch (option) {
+            case 'a' -> enableAButton(b);
+            case 'b' -> enableBButton(b);
+            case 'c' -> enableCButton(b);
+            default -> enableDButton(b);
+        }
+    }
+
     /**
      * A válaszlehetőségek gombjainak engedélyezése vagy letiltása.
      *
@@ -424,10 +636,47 @@ public class MainGameDisplay extends JFrame implements ActionListener {
      */
     public void updateQuestionDisplay(Question question) {
         questionText.setText(question.getQuestion());  // Kérdés szövegének frissítése
-        optionA.setText("A: " + question.getA());  // "A" opció frissítése
-        optionB.setText("B: " + question.getB());  // "B" opció frissítése
-        optionC.setText("C: " + question.getC());  // "C" opció frissítése
-        optionD.setText("D: " + question.getD());  // "D" opció frissítése
+        showOptions(question); // A válaszlehetőségek (a tartalékkérdésnél előre elkészített) feliratai
+    }
+
+    /**
+     * A válaszgombok feliratainak beállítása HTML formátumban, automatikus sortöréssel.
+     * Az előre elkészített feliratokat csak átveszi.
+     *
+     * @param question a megjelenített kérdés
+     */
+    private void showOptions(Question question) {
+        String[] labels = rendered.get(question);
+        if (labels == null) {
+            labels = renderOptions(question);
+        }
+        optionA.setText(labels[0]);
+        optionB.setText(labels[1]);
+        optionC.setText(labels[2]);
+        optionD.setText(labels[3]);
+    }
+
+    private static String[] renderOptions(Question question) {
+        return new String[]{
+                "<html>A: " + question.getA() + "</html>",
+                "<html>B: " + question.getB() + "</html>",
+                "<html>C: " + question.getC() + "</html>",
+                "<html>D: " + question.getD() + "</html>"
+        };
+    }
+
+    /**
+     * A következő kör és az "új kérdés" segítség kérdésének előzetes kihúzása és a gombfeliratok elkészítése,
+     * amíg a játékos gondolkodik. A kör indulása után, a felület frissítését követően fut az eseménykezelő szálon.
+     */
+    private void prepareNextRound() {
+        engine.prefetch();
+        rendered.clear();
+        for (Question question : new Question[]{game.getNextQuestion(), game.getSpareQuestion()}) {
+            if (question != null) {
+                rendered.put(question, renderOptions(question));
+            }
+        }
     }
 
     /**
@@ -454,45 +703,28 @@ public class MainGameDisplay extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent e) {
         if (e.getSource().equals(newGame)) {
             newGame(); // Új játék indítása
+        } else if (expireIfDue(e.getSource())) {
+            return; // Lejárt az idő: a késve feldolgozott kattintás már nem számít
         } else if (e.getSource().equals(optionA)) {
-            // Ellenőrizzük, hogy az 'A' válasz helyes-e
-            if (game.getCorrectAnswer() == 'a') {
-                goodAns(); // Helyes válasz
-            } else {
-                gameOver(); // Helytelen válasz
-            }
+            engine.answer('a'); // Az 'A' válasz elküldése; az eredményről a motor eseményei értesítenek
         } else if (e.getSource().equals(optionB)) {
-            if (game.getCorrectAnswer() == 'b') {
-                goodAns();
-            } else {
-                gameOver();
-            }
+            engine.answer('b');
         } else if (e.getSource().equals(optionC)) {
-            if (game.getCorrectAnswer() == 'c') {
-                goodAns();
-            } else {
-                gameOver();
-            }
+            engine.answer('c');
         } else if (e.getSource().equals(optionD)) {
-            if (game.getCorrectAnswer() == 'd') {
-                goodAns();
-            } else {
-                gameOver();
-            }
+            engine.answer('d');
         } else if (e.getSource().equals(helpA)) {
-            fiftyFifty.help(); // "50:50" segítség használata
-            game.setFiftyfifty(true); // Állapot frissítése
-            enableHelpButtons(false); // Gombok frissítése
+            engine.useLifeline(Lifeline.FIFTY_FIFTY); // "50:50" segítség használata
         } else if (e.getSource().equals(helpB)) {
-            newQuestion.help(); // Új kérdés segítség használata
-            game.setNewquestion(true);
-            enableHelpButtons(false);
+            engine.useLifeline(Lifeline.NEW_QUESTION); // Új kérdés segítség használata
         } else if (e.getSource().equals(helpC)) {
-            crowdvote.help(); // Közönségszavazás használata
-            game.setCrowdvote(true);
-            enableHelpButtons(false);
+            engine.useLifeline(Lifeline.CROWD_VOTE); // Közönségszavazás használata
         } else if (e.getSource().equals(stopGame)) {
-            gameOver(); // Játék befejezése
+            engine.finish(); // Játék befejezése
+        } else if (e.getSource().equals(pauseGame)) {
+            pauseGame(); // Játék szüneteltetése a játékos nevén
+        } else if (e.getSource().equals(resumeGame)) {
+            resumePausedGame(); // Szüneteltetett játék folytatása
         } else if (e.getSource().equals(leaderboard)) {
             openLeaderboard(); // Dicsőséglista megnyitása
         } else if (e.getSource().equals(deleteData)) {
@@ -508,21 +740,70 @@ public class MainGameDisplay extends JFrame implements ActionListener {
     }
 
     /**
-     * Új játék indítása.
-     * - A játék állapotának alaphelyzetbe állítása és új játék kezdése.
-     * - A válasz- és segítséggombok engedélyezése.
+     * Ha a kérdés határideje lejárt, a játékot lezárja, még mielőtt a (késve feldolgozott) válasz,
+     * segítség vagy befejezés elfogadásra kerülne.
+     *
+     * @param source a művelet forrása
+     * @return true, ha a művelet a játékra vonatkozott, az idő lejárt, és a játék véget ért
+     */
+    private boolean expireIfDue(Object source) {
+        boolean gameInput = source == optionA || source == optionB || source == optionC || source == optionD
+                || source == helpA || source == helpB || source == helpC || source == stopGame || source == pauseGame;
+        if (gameInput && engine.isRunning() && countdown.isExpired()) {
+            engine.timeout();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Új játék indítása a motoron keresztül; a felületet a roundStarted esemény frissíti.
      */
     private void newGame() {
-        game.resetGameState(); // Játék állapotának alaphelyzetbe állítása
-        game.beginGame(); // Új játék indítása
+        engine.start();
+    }
 
-        updateQstn(); // Kérdés megjelenítésének frissítése
+    /**
+     * A futó játék szüneteltetése a játékos nevén: a játék a szüneteltetett játékok tárába kerül, és a gépen
+     * közben más játékos is játszhat. Ugyanazzal a névvel később folytatható.
+     */
+    private void pauseGame() {
+        engine.updateTimeLeft(countdown.pause()); // A név megadása alatt nem fogy az idő
 
-        enableAnsButtons(true); // Válaszgombok engedélyezése
-        enableHelpButtons(true); // Segítséggombok engedélyezése
+        String name = JOptionPane.showInputDialog(this,
+                "Add meg a neved! A játékot később ezzel a névvel folytathatod.",
+                "Játék szüneteltetése", JOptionPane.PLAIN_MESSAGE);
+        if (name == null || name.isBlank()) {
+            countdown.resume(); // Mégsem szünetel: a játék folytatódik
+            return;
+        }
 
-        newGame.setEnabled(false); // Az "Új játék" gomb letiltása
-        stopGame.setEnabled(true); // A "Játék befejezése" gomb engedélyezése
+        GameState state = engine.suspend();
+        journal.discard(); // A szüneteltetett játék nem a napló, hanem a tár szerint folytatódik
+        autosave.discard();
+        pausedGames.put(name.trim(), name.trim(), state);
+        setupNewGameUI();
+        JOptionPane.showMessageDialog(this, "A játék szüneteltetve. Folytatás: Játék > Szüneteltetett játék folytatása.");
+    }
+
+    /**
+     * Egy szüneteltetett játék folytatása a játékos neve alapján, a mentett körrel, segítségekkel és idővel.
+     */
+    private void resumePausedGame() {
+        String name = JOptionPane.showInputDialog(this, "Kinek a játékát folytatod?",
+                "Szüneteltetett játék folytatása", JOptionPane.PLAIN_MESSAGE);
+        if (name == null || name.isBlank()) {
+            return;
+        }
+
+        SessionStore.Entry entry = pausedGames.take(name.trim());
+        if (entry == null) {
+            JOptionPane.showMessageDialog(this, "Nincs szüneteltetett játék ezen a néven.",
+                    "Szüneteltetett játék folytatása", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        game.restore(entry.getState());
+        engine.resume(); // A felületet a roundStarted esemény frissíti
     }
 
     /**
@@ -533,20 +814,11 @@ public class MainGameDisplay extends JFrame implements ActionListener {
 
         questionText.setText(cQuestion.getQuestion()); // A kérdés szövegének beállítása
 
-        // Ellenőrizzük, hogy van-e futó időzítő, és csak akkor állítjuk be az időt, ha szükséges
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop(); // Megállítjuk a futó időzítőt
-        }
-
-        // Az időzítő újraindítása; 30 másodperc, ha új játék, mentett idő, ha visszatöltött játék
-        int timerStart = game.isGameEnd() ? 30 : game.getTimeLeft();
-        startTimer(timerStart);
+        // Az időzítő újraindítása; új körben 30 másodperc, visszatöltött játékban a mentett idő
+        startTimer(game.getTimeLeftMillis());
 
-        // Válaszok beállítása HTML formátumban, automatikus sortöréssel
-        optionA.setText("<html>A: " + cQuestion.getA() + "</html>");
-        optionB.setText("<html>B: " + cQuestion.getB() + "</html>");
-        optionC.setText("<html>C: " + cQuestion.getC() + "</html>");
-        optionD.setText("<html>D: " + cQuestion.getD() + "</html>");
+        // Válaszok beállítása; a körváltásnál az előző kör alatt elkészített feliratokkal
+        showOptions(cQuestion);
 
         // Nyereménytábla színeinek frissítése
         for (int i = 0; i < 12; i++) {
@@ -561,157 +833,221 @@ public class MainGameDisplay extends JFrame implements ActionListener {
     }
 
     /**
-     * Jó válasz esetén új kör indítása.
-     * Ha ez volt az utolsó kör, a játékos nyer.
+     * Új kör kezdetekor (új játék, helyes válasz vagy visszatöltött játék) frissíti a felületet.
+     *
+     * @param question a kör kérdése
+     * @param round    a kör sorszáma
      */
-    private void goodAns() {
-        if (game.getRound() == 12) { // Ha a játékos az utolsó kérdést válaszolta meg
-            win(); // Nyertes állapot megjelenítése
-            return;
-        }
-
-        game.newRound(); // Új kör indítása
-        updateQstn(); // Kérdés frissítése
+    @Override
+    public void roundStarted(Question question, int round) {
+        updateQstn(); // Kérdés frissítése és az időzítő indítása
 
         enableAnsButtons(true); // Válaszgombok engedélyezése
-        enableHelpButtons(true); // Segítséggombok engedélyezése
+        enableHelpButtons(true); // Segítséggombok engedélyezése (csak a még nem használtak)
+
+        newGame.setEnabled(false); // Az "Új játék" gomb letiltása
+        stopGame.setEnabled(true); // A "Játék befejezése" gomb engedélyezése
+        pauseGame.setEnabled(true);
+        resumeGame.setEnabled(false);
+
+        SwingUtilities.invokeLater(this::prepareNextRound); // A kör kirajzolása után, amíg a játékos gondolkodik
     }
 
     /**
-     * A játékos nyerésekor végrehajtandó műveletek.
-     * - Az időzítő leállítása.
-     * - A válaszgombok és segítséggombok letiltása.
-     * - A játékos nevének bekérése és a nyeremény rögzítése.
+     * Az "új kérdés" segítség után megjeleníti a lecserélt kérdést.
+     *
+     * @param question az új kérdés
      */
-    private void win() {
-        if (questionTimer != null) {
-            questionTimer.stop(); // Időzítő leállítása
-        }
-
-        enableAnsButtons(false); // Válaszgombok letiltása
-        enableHelpButtons(false); // Segítséggombok letiltása
-
-        questionText.setText(""); // Kérdés mező ürítése
-
-        prizes[11].setForeground(Color.GREEN); // Az utolsó nyeremény zöld színnel kiemelése
-
-        // Játékos nevének bekérése
-        String name = JOptionPane.showInputDialog(this,
-                "Gratulálok Ön nyert!\nKérlek add meg a neved alább.",
-                "Játék vége", JOptionPane.PLAIN_MESSAGE);
+    @Override
+    public void questionReplaced(Question question) {
+        updateQuestionDisplay(question);
+    }
 
-        if (name == null || name.isEmpty()) name = "Anonymous"; // Ha nincs név, "Anonymous" az alapértelmezett
-        scoretable.addScore(name, game.getPrize(12)); // Nyeremény rögzítése a ranglistán
+    /**
+     * A felező segítség után letiltja a két eltávolított válasz gombját.
+     *
+     * @param first  az egyik eltávolított válasz betűjele
+     * @param second a másik eltávolított válasz betűjele
+     */
+    @Override
+    public void answersRemoved(char first, char second) {
+        enableOptionButton(first, false);
+        enableOptionButton(second, false);
+    }
 
-        game.setGame_end(true); // Játék vége állapot
-        game.resetGameState(); // Játék állapotának alaphelyzetbe állítása
+    /**
+     * A közönségszavazás eredményének megjelenítése.
+     *
+     * @param votes a válaszokra érkezett szavazatok százalékban
+     */
+    @Override
+    public void crowdVoted(int[] votes) {
+        showCrowdResults(votes);
+    }
 
-        newGame.setEnabled(true); // "Új játék" gomb engedélyezése
-        stopGame.setEnabled(false); // "Játék befejezése" gomb letiltása
+    /**
+     * Segítség használata után a körben több segítség nem kérhető.
+     *
+     * @param lifeline a felhasznált segítség
+     */
+    @Override
+    public void lifelineUsed(Lifeline lifeline) {
+        enableHelpButtons(false);
+    }
 
-        setupNewGameUI(); // Alaphelyzetű felhasználói felület beállítása
+    /**
+     * A hátralévő idő kijelzésének frissítése.
+     *
+     * @param timeLeft a hátralévő idő másodpercben
+     */
+    @Override
+    public void timeChanged(int timeLeft) {
+        timerLabel.setText("Idő: " + timeLeft + "s");
     }
 
     /**
-     * A játékos vesztésekor végrehajtandó műveletek.
+     * A játék végén végrehajtandó műveletek (nyerés, rossz válasz, lejárt idő vagy befejezés).
      * - Az időzítő leállítása.
      * - A válaszgombok és segítséggombok letiltása.
-     * - A helyes válasz megjelenítése és a vesztes kör rögzítése.
+     * - A helyes válasz megjelenítése, a játékos nevének bekérése és a nyeremény rögzítése.
+     * - A játékos helyezésének megjelenítése a teljes rangsorban.
+     *
+     * @param result a játék eredménye
      */
-    private void gameOver() {
-        if (questionTimer != null) {
-            questionTimer.stop(); // Időzítő leállítása
-        }
-
-        char cAns = game.getCorrectAnswer(); // Helyes válasz lekérése
-        int cRound = game.getRound(); // Jelenlegi kör lekérése
+    @Override
+    public void gameFinished(GameResult result) {
+        countdown.cancel(); // Időzítő leállítása
 
         enableAnsButtons(false); // Válaszgombok letiltása
         enableHelpButtons(false); // Segítséggombok letiltása
 
         questionText.setText(""); // Kérdés mező ürítése
 
-        if (cRound == 1) { // Ha az első körben esett ki a játékos
-            JOptionPane.showMessageDialog(this, "Ön veszített, a játéknak vége!\nHelyes válasz: " + Character.toUpperCase(cAns),
-                    "GAME OVER", JOptionPane.INFORMATION_MESSAGE);
-        } else { // Ha nem az első körben esett ki
-            String name = JOptionPane.showInputDialog(this,
-                    "Ön veszített, a játéknak vége!\nHelyes válasz: " + Character.toUpperCase(cAns) +
-                            "\nKérlek add meg a neved alább.", "GAME OVER", JOptionPane.PLAIN_MESSAGE);
-            if (name == null || name.isEmpty()) name = "Anonymous"; // Alapértelmezett név, ha nincs megadva
-            scoretable.addScore(name, game.getPrize(cRound - 1)); // Az utolsó helyes kör nyereményének rögzítése
-        }
+        String name = null;
+        if (result.isWon()) {
+            prizes[11].setForeground(Color.GREEN); // Az utolsó nyeremény zöld színnel kiemelése
 
-        prizes[cRound - 1].setForeground(Color.RED); // A vesztes kör piros színnel kiemelése
+            // Játékos nevének bekérése
+            name = JOptionPane.showInputDialog(this,
+                    "Gratulálok Ön nyert!\nKérlek add meg a neved alább.",
+                    "Játék vége", JOptionPane.PLAIN_MESSAGE);
+        } else {
+            char cAns = result.getCorrectAnswer(); // Helyes válasz
+            if (result.getPrize() == null) { // Ha az első körben esett ki a játékos
+                JOptionPane.showMessageDialog(this, "Ön veszített, a játéknak vége!\nHelyes válasz: " + Character.toUpperCase(cAns),
+                        "GAME OVER", JOptionPane.INFORMATION_MESSAGE);
+            } else { // Ha nem az első körben esett ki
+                name = JOptionPane.showInputDialog(this,
+                        "Ön veszített, a játéknak vége!\nHelyes válasz: " + Character.toUpperCase(cAns) +
+                                "\nKérlek add meg a neved alább.", "GAME OVER", JOptionPane.PLAIN_MESSAGE);
+            }
 
-        game.setGame_end(true); // Játék vége állapot
-        game.resetGameState(); // Játék állapotának alaphelyzetbe állítása
+            prizes[result.getRound() - 1].setForeground(Color.RED); // A vesztes kör piros színnel kiemelése
+        }
+
+        if (result.getPrize() != null) {
+            if (name == null || name.isEmpty()) name = "Anonymous"; // Alapértelmezett név, ha nincs megadva
+            // A nyeremény rögzítése a ranglistán; a lemezre írást és a közzétételt nem várja meg a felület
+            String player = name;
+            scoretableLoad.thenCompose(log -> log.submit(player, result.getPrize()))
+                    .whenComplete((added, e) -> publishShard()); // Írási hibánál is: az eredmény a memóriában megvan
+            showRank(player, result.getPrize());
+        }
 
         newGame.setEnabled(true); // "Új játék" gomb engedélyezése
         stopGame.setEnabled(false); // "Játék befejezése" gomb letiltása
+        pauseGame.setEnabled(false);
+        resumeGame.setEnabled(true);
 
         setupNewGameUI(); // Alaphelyzetű felhasználói felület beállítása
     }
 
     /**
-     * Megnyitja a dicsőséglistát, és egy felugró ablakban megjeleníti azt.
+     * Az eredmény rögzítése a teljes rangsorban, és a játékos helyezésének megjelenítése. Ha a rangsor még
+     * épül, a helyezés az elkészülte után jelenik meg.
+     *
+     * @param player a játékos neve
+     * @param prize  az elnyert díj
      */
-    private void openLeaderboard() {
-        JOptionPane.showMessageDialog(this, scoretable.listLeaderboard(), "Dicsőséglista", JOptionPane.INFORMATION_MESSAGE);
+    private void showRank(String player, String prize) {
+        long finishedAt = System.currentTimeMillis();
+        rankingsLoad.thenAccept(rankings -> {
+            int rank;
+            int total;
+            synchronized (rankings) {
+                rankings.addScore(player, prize, finishedAt);
+                rank = rankings.rankOf(player);
+                total = rankings.size();
+            }
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    player + " nyereménye: " + prize + "\nLegjobb helyezés: " + rank + ". (" + total + " eredmény közül)",
+                    "Játék vége", JOptionPane.INFORMATION_MESSAGE));
+        });
     }
 
     /**
-     * Betölti a dicsőséglistát egy fájlból.
-     *
-     * @throws IOException,            ha a fájl olvasása nem sikerül.
-     * @throws ClassNotFoundException, ha a fájl formátuma nem felel meg az elvártnak.
+     * Megnyitja a dicsőséglistát, és egy felugró ablakban megjeleníti azt.
      */
-    private void loadLeaderboard() throws IOException, ClassNotFoundException {
-        scoretable = new Leaderboard(); // Inicializáljuk az üres dicsőséglistát
-        File f = new File("leaderboard");
-        FileInputStream fs = new FileInputStream(f);
-        ObjectInputStream os = new ObjectInputStream(fs);
-        scoretable = (Leaderboard) os.readObject(); // Betöltjük az objektumot a fájlból
-        os.close(); // Zárjuk az adatfolyamokat
+    private void openLeaderboard() {
+        String text = scoretable().getBoards().listLeaderboard();
+        if (shards != null) {
+            shards.refresh(); // Csak a megváltozott kioszkok listái töltődnek újra
+            text = "Minden kioszk:\n" + shards.listLeaderboard() + "\n\n" + text;
+        }
+        JOptionPane.showMessageDialog(this, text, "Dicsőséglista", JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
-     * Mentésre kerül a dicsőséglista egy fájlba.
-     *
-     * @throws IOException, ha a fájl írása nem sikerül.
+     * Kioszk üzemmódban a saját ranglista közzététele a kioszkok közös ranglistájában, a háttérszálon.
+     * A közzététel csak a saját szelet változatszámát használja, a felület szálán futó frissítés pedig csak a
+     * beolvasott szeleteket, így a kettő párhuzamosan is futhat.
      */
-    private void saveLeaderboard() throws IOException {
-        FileOutputStream fs = new FileOutputStream("leaderboard");
-        ObjectOutputStream oos = new ObjectOutputStream(fs);
-        oos.writeObject(scoretable); // Az aktuális dicsőséglista mentése
-        oos.close(); // Az adatfolyam lezárása
+    private void publishShard() {
+        if (shards == null) {
+            return;
+        }
+        try {
+            publisher.execute(() -> {
+                try {
+                    shards.publish(scoretable().getBoards().getAllTime());
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Failed to publish leaderboard shard", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Leaderboard publisher is shut down, shard not published");
+        }
     }
 
     /**
-     * Törli a dicsőséglistát, és egy üres listát ment a fájlba.
+     * Törli a dicsőséglistát a tárból is.
      * A törlés előtt megerősítést kér a felhasználótól.
      */
     private void deleteLeaderboard() {
         // Törlés megerősítése
         int confirm = JOptionPane.showConfirmDialog(this, "Biztosan törölni szeretné a dicsőséglistát?", "Megerősítés", JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
-            scoretable.clear(); // Dicsőséglista törlése
-            try {
-                saveLeaderboard(); // Az üres lista mentése fájlba
-            } catch (IOException ex) {
-                throw new RuntimeException(ex);
-            }
+            scoretable().clear(); // Dicsőséglista törlése
+            rankingsLoad.thenAccept(rankings -> {
+                synchronized (rankings) {
+                    rankings.clear(); // A helyezések is az üres listától indulnak
+                }
+            });
+            publishShard();
             JOptionPane.showMessageDialog(this, "A dicsőséglista sikeresen törölve."); // Visszajelzés a felhasználónak
         }
     }
 
     /**
      * Kilépés előtt megerősíti, hogy a játékos szeretné-e menteni a játékállapotot.
-     * A dicsőséglistát mindig menti kilépés előtt.
+     * A játékot a napló folyamatosan rögzíti; mentéskor egy pillanatkép kerül bele, különben a játék lezárul.
+     * Végül lezárja a dicsőséglisták tárát.
      */
     private void confirmAndSaveBeforeExit() {
-        // Csak akkor kér mentést, ha a játék még nem ért véget
-        if (!game.isGameEnd()) {
+        // Csak akkor kér mentést, ha a játék már betöltődött, és még nem ért véget
+        if (game != null && !game.isGameEnd()) {
+            engine.updateTimeLeft(countdown.pause()); // A visszaszámlálás megáll, a pontos hátralévő idő a naplóba kerül
+
             int confirm = JOptionPane.showConfirmDialog(
                     this,
                     "Szeretné menteni az aktuális játékállapotot kilépés előtt?",
@@ -720,14 +1056,25 @@ public class MainGameDisplay extends JFrame implements ActionListener {
             );
 
             if (confirm == JOptionPane.YES_OPTION) {
-                game.saveGameState(); // Játékállapot mentése
+                journal.checkpoint(); // Játékállapot mentése a naplóba
+                autosave.checkpoint(); // és a mentési fájlba, a pontos hátralévő idővel
+            } else {
+                journal.discard(); // A játék a következő indításkor nem folytatódik
+                autosave.discard();
             }
         }
+        if (game != null) {
+            autosave.close(); // A függő mentések befejezése
+            journal.close();
+            pausedGames.close();
+        }
 
+        scoretable().close(); // A dicsőséglisták tárának lezárása (még töltődő tár esetén a betöltés után)
+        publisher.shutdown(); // A függő közzététel befejezése
         try {
-            saveLeaderboard(); // Dicsőséglista mentése
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Failed to save leaderboard", e); // Hiba naplózása, ha nem sikerül
+            publisher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -776,55 +1123,27 @@ public class MainGameDisplay extends JFrame implements ActionListener {
         enableHelpButtons(false); // Segítséggombok letiltása
         newGame.setEnabled(true); // "Új játék" gomb engedélyezése
         stopGame.setEnabled(false); // "Játék befejezése" gomb letiltása
+        pauseGame.setEnabled(false);
+        resumeGame.setEnabled(true);
     }
 
     /**
      * A felhasználói felület frissítése egy mentett játék betöltése után.
+     * A motor folytatja a játékot, a felületet a roundStarted esemény frissíti.
      */
     public void refreshUIAfterLoad() {
         if (game.getQuestion() != null) {
-            updateQstn(); // Kérdés frissítése, ha van aktuális kérdés
-        }
-
-        // Segítségek állapotának frissítése
-        enableFiftyFiftyButton(!game.isFiftyfifty());
-        enableNewQuestionButton(!game.isNewquestion());
-        enableCrowdVoteButton(!game.isCrowdvote());
-
-        enableAnsButtons(true); // Válaszgombok engedélyezése
-
-        newGame.setEnabled(false); // Új játék gomb letiltása
-        stopGame.setEnabled(true); // Játék megállítása engedélyezett
-
-        if (questionTimer == null || !questionTimer.isRunning()) {
-            startTimer(game.getTimeLeft()); // Időzítő indítása a mentett idővel
+            engine.resume(); // A mentett kör folytatása a mentett idővel és segítségekkel
         }
     }
 
     /**
      * Elindítja az időzítőt a megadott kezdeti idővel.
      *
-     * @param initialTime az időzítő kezdőértéke másodpercben.
+     * @param initialMillis az időzítő kezdőértéke milliszekundumban.
      */
-    private void startTimer(int initialTime) {
-        if (questionTimer != null && questionTimer.isRunning()) {
-            questionTimer.stop(); // Ha létezik futó időzítő, állítsuk le
-        }
-
-        timeLeft = initialTime; // Az időzítő kezdeti értékének beállítása
-        timerLabel.setText("Idő: " + timeLeft + "s");
-
-        questionTimer = new Timer(1000, _ -> { // Időzítő létrehozása 1 másodperces léptékkel
-            timeLeft--;
-            game.setTimeLeft(timeLeft); // Az idő csökkentése a játék állapotában
-            timerLabel.setText("Idő: " + timeLeft + "s");
-
-            if (timeLeft <= 0) {
-                questionTimer.stop(); // Időzítő leállítása, ha lejárt az idő
-                gameOver(); // A játék vége
-            }
-        });
-
-        questionTimer.start(); // Időzítő indítása
+    private void startTimer(long initialMillis) {
+        countdown.start(initialMillis); // A korábbi visszaszámlálás törlődik; lejáratkor a motor zárja le a játékot
+        timerLabel.setText("Idő: " + countdown.getRemaining() + "s"); // Az időzítő kezdeti értékének kijelzése
     }
 }
@@ -0,0 +1,174 @@
+package Game.Clock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Egy kérdés visszaszámlálója egy közös {@link TimingWheel} keréken.
+ * A visszaszámláló nem számolja a lépéseket: egy {@link System#nanoTime()} szerinti határidőt tárol, és a hátralévő
+ * időt mindig abból számítja (milliszekundumra pontosan). A késve érkező vagy elmaradó események (például foglalt
+ * eseménykezelő szál) ezért nem adnak plusz időt; a lejáratot az {@link #isExpired()} a határidő alapján azonnal
+ * jelzi, akkor is, ha a kerék eseménye még nem futott le.
+ *
+ * Egy futó visszaszámláló mindig pontosan egy bejegyzést tart a keréken (a következő másodperchatárt vagy a
+ * határidőt), így egyetlen szál nagyon sok egyidejű kérdés idejét kezelheti.
+ * A visszaszámláló szüneteltethető és folytatható (mentés és visszatöltés, párbeszédablakok).
+ * A figyelő a kerék szálán, a visszaszámláló zárja nélkül hívódik.
+ */
+public class Countdown {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * A visszaszámláló eseményeinek figyelője.
+     */
+    public interface Listener {
+
+        /**
+         * A kijelzett egész másodperc megváltozott (a lejárat előtt).
+         *
+         * @param remaining a hátralévő idő másodpercben, felfelé kerekítve
+         */
+        default void secondElapsed(int remaining) {
+        }
+
+        /**
+         * A határidő lejárt.
+         */
+        void expired();
+    }
+
+    private final TimingWheel wheel;    // A közös időzítő kerék.
+    private final Listener listener;    // Az események figyelője.
+
+    private TimingWheel.Timeout pending; // A következő esemény bejegyzése a keréken (null, ha nem fut).
+    private long generation;             // Az ütemezések sorszáma; a törölt, de már futó bejegyzés így felismerhető.
+    private long deadline;               // A határidő (System.nanoTime), ha fut.
+    private long remainingNanos;         // A hátralévő idő, ha nem fut.
+
+    /**
+     * Konstruktor.
+     *
+     * @param wheel    a közös időzítő kerék
+     * @param listener az események figyelője
+     */
+    public Countdown(TimingWheel wheel, Listener listener) {
+        this.wheel = wheel;
+        this.listener = listener;
+    }
+
+    /**
+     * A visszaszámlálás (újra)indítása a megadott idővel. A korábbi visszaszámlálás törlődik.
+     *
+     * @param millis a hátralévő idő milliszekundumban
+     */
+    public synchronized void start(long millis) {
+        cancel();
+        remainingNanos = Math.max(0, millis) * MILLI;
+        resume();
+    }
+
+    /**
+     * A visszaszámlálás szüneteltetése.
+     *
+     * @return a hátralévő idő milliszekundumban
+     */
+    public synchronized long pause() {
+        cancel();
+        return getRemainingMillis();
+    }
+
+    /**
+     * A szüneteltetett visszaszámlálás folytatása. Ha az idő már lejárt, azonnal lejár.
+     */
+    public synchronized void resume() {
+        if (pending != null) {
+            return;
+        }
+        deadline = System.nanoTime() + remainingNanos;
+        scheduleNext();
+    }
+
+    /**
+     * A visszaszámlálás leállítása; a hátralévő idő megmarad, a figyelő nem kap több eseményt.
+     */
+    public synchronized void cancel() {
+        if (pending != null) {
+            remainingNanos = remainingNanos();
+            pending.cancel();
+            pending = null;
+        }
+    }
+
+    /**
+     * Visszaadja a hátralévő időt milliszekundumban.
+     *
+     * @return a hátralévő idő (nem negatív)
+     */
+    public synchronized long getRemainingMillis() {
+        return (remainingNanos() + MILLI - 1) / MILLI;
+    }
+
+    /**
+     * Visszaadja a hátralévő időt egész másodpercre felfelé kerekítve (kijelzéshez).
+     *
+     * @return a hátralévő idő másodpercben
+     */
+    public synchronized int getRemaining() {
+        return (int) ((remainingNanos() + SECOND - 1) / SECOND);
+    }
+
+    public synchronized boolean isRunning() {
+        return pending != null;
+    }
+
+    /**
+     * Visszaadja, hogy a határidő lejárt-e. A határidő alapján számol, nem a kerék eseménye alapján.
+     *
+     * @return true, ha nincs hátralévő idő
+     */
+    public synchronized boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    private long remainingNanos() {
+        return pending != null ? Math.max(0, deadline - System.nanoTime()) : remainingNanos;
+    }
+
+    /**
+     * A következő esemény ütemezése: a következő másodperchatár (ahol a kijelzett érték csökken), vagy a határidő.
+     */
+    private void scheduleNext() {
+        long left = deadline - System.nanoTime();
+        long seconds = left > 0 ? (left - 1) / SECOND : 0; // A következő határ után hátralévő egész másodpercek
+        long scheduled = ++generation;
+        pending = wheel.schedule(() -> fire(scheduled), left - seconds * SECOND, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Egy másodperchatár vagy a határidő elérése a kerék szálán.
+     */
+    private void fire(long scheduled) {
+        boolean expired;
+        int left;
+        synchronized (this) {
+            if (pending == null || scheduled != generation) {
+                return; // Közben leállították vagy újraindították
+            }
+            expired = deadline - System.nanoTime() <= 0;
+            left = getRemaining();
+            if (expired) {
+                pending = null;
+                remainingNanos = 0;
+            } else {
+                scheduleNext();
+            }
+        }
+
+        if (expired) {
+            listener.expired();
+        } else {
+            listener.secondElapsed(left);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package Game.Clock;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashelt időzítő kerék ("hashed timing wheel") nagyszámú egyidejű határidő kezelésére egyetlen szálon.
+ * A kerék rögzített számú rekeszből áll; egy lépés (tick) alatt a mutató egy rekeszt lép előre, és lejárt
+ * feladatokat futtatja. A körnél hosszabb késleltetésű feladatok a hátralévő fordulók számát tárolják.
+ *
+ * Az ütemezés és a törlés konstans idejű, a szálak közötti átadás zármentes sorokon történik; a rekeszeket
+ * csak a kerék saját szála kezeli. A feladatok legfeljebb egy lépésnyi késéssel futnak le.
+ * A feladatok a kerék szálán futnak, ezért rövidek kell legyenek (pl. egy esemény továbbítása).
+ */
+public class TimingWheel implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(TimingWheel.class.getName());
+
+    /**
+     * Az alapértelmezett lépésköz milliszekundumban.
+     */
+    public static final int DEFAULT_TICK_MILLIS = 20;
+
+    /**
+     * A rekeszek alapértelmezett száma (kettő hatványa).
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 1024;
+
+    /**
+     * Egy ütemezett feladat. A törlés szálbiztos; a már lefutott feladat törlése hatástalan.
+     */
+    public static final class Timeout {
+        private final Runnable task;    // A lejáratkor futtatandó feladat.
+        private final long deadline;    // A lejárat ideje a kerék indulásához képest (ns).
+        private long rounds;            // A lejáratig hátralévő teljes fordulók száma.
+        private volatile boolean cancelled;
+
+        private Timeout next;           // Láncolás a rekeszen belül (csak a kerék szála használja).
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * A feladat törlése; a kerék a következő lépésben eltávolítja a rekeszéből.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * A kerék egy rekesze: kétirányú láncolt lista, konstans idejű beszúrással és törléssel.
+     */
+    private static final class Bucket {
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.next = timeout.prev = null;
+        }
+    }
+
+    private final long tickNanos;       // Egy lépés hossza (ns).
+    private final int mask;             // A rekeszindex maszkja (rekeszek száma - 1).
+    private final Bucket[] wheel;       // A rekeszek.
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>(); // Az új, még be nem sorolt feladatok.
+    private final long startTime;       // A kerék indulásának ideje (System.nanoTime).
+    private final Thread worker;        // A kerék szála.
+
+    private long tick;                  // A következő feldolgozandó lépés sorszáma (csak a kerék szála írja).
+    private volatile boolean running = true;
+
+    /**
+     * Konstruktor az alapértelmezett lépésközzel és rekeszszámmal.
+     *
+     * @param name a kerék szálának neve
+     */
+    public TimingWheel(String name) {
+        this(name, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Konstruktor, amely elindítja a kerék szálát.
+     *
+     * @param name       a kerék szálának neve
+     * @param tickMillis egy lépés hossza milliszekundumban (a lejárat pontossága)
+     * @param wheelSize  a rekeszek száma (kettő hatványára kerekítve)
+     */
+    public TimingWheel(String name, int tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Egy feladat ütemezése a megadott késleltetéssel. Bármely szálról hívható.
+     *
+     * @param task  a lejáratkor futtatandó feladat
+     * @param delay a késleltetés
+     * @param unit  a késleltetés mértékegysége
+     * @return a feladat leírója, amellyel törölhető
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timing wheel is stopped");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(0, delay)) - startTime;
+        Timeout timeout = new Timeout(task, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * A kerék leállítása; a még le nem járt feladatok nem futnak le.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A kerék szálának ciklusa: megvárja a következő lépést, besorolja az új feladatokat, majd lefuttatja a lejártakat.
+     */
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    continue; // Leállítás: a ciklusfeltétel dönt
+                }
+            }
+
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * Az új feladatok besorolása a lejáratuknak megfelelő rekeszbe.
+     */
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long ticks = Math.max(timeout.deadline / tickNanos, tick); // A már elmúlt határidő a mostani lépésbe kerül
+            timeout.rounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Egy rekesz lejárt feladatainak futtatása; a törölt feladatok eltávolítása, a többiek fordulószámának csökkentése.
+     */
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.cancelled) {
+                bucket.remove(timeout);
+            } else if (timeout.rounds <= 0) {
+                bucket.remove(timeout);
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Timer task failed", e);
+                }
+            } else {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+}
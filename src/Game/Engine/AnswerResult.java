@@ -0,0 +1,11 @@
+package Game.Engine;
+
+/**
+ * Egy válasz megadásának eredménye.
+ */
+public enum AnswerResult {
+    CORRECT,    // Helyes válasz, a következő kör elindult.
+    WON,        // Helyes válasz az utolsó kérdésre, a játékos nyert.
+    WRONG,      // Helytelen válasz, a játéknak vége.
+    NOT_RUNNING // Nincs folyamatban lévő játék, a válasz nem számít.
+}
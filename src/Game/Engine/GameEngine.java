@@ -0,0 +1,273 @@
+package Game.Engine;
+
+import Game.Game;
+import Game.GameSave.GameState;
+import Game.Help.Crowd;
+import Game.Help.FiftyFifty;
+import Game.Help.Help;
+import Game.Help.NewQuestion;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A grafikus felülettől független (headless) játékmotor.
+ * Egy Game példány köré épül, és a játék menetét négy művelettel vezérli: válasz, segítség használata,
+ * az időzítő léptetése és a játék befejezése. Az eredményeket visszatérési értékként adja vissza, és a
+ * feliratkozott {@link GameListener} figyelőknek eseményként is kiküldi; a Swing felület is csak egy ilyen kliens.
+ * A metódusai szinkronizáltak, így az időzítő és a felhasználói műveletek különböző szálakról is hívhatók.
+ */
+public class GameEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(GameEngine.class.getName());
+
+    private final Game game;                 // A játék állapota.
+    private final GameEvents events = new GameEvents(); // A figyelők listája.
+
+    // A segítségek objektumai.
+    private final Help fiftyFifty;
+    private final Help newQuestion;
+    private final Help crowdVote;
+
+    private boolean running; // Van-e folyamatban lévő játék.
+
+    private final long[] latencies = new long[Game.ROUNDS];  // A megválaszolt kérdések válaszideje (ms).
+    private final long[] questionIds = new long[Game.ROUNDS]; // A megválaszolt kérdések azonosítója.
+    private int answered;        // A megválaszolt kérdések száma.
+    private long roundStartedAt; // Az aktuális kör kezdete (System.nanoTime).
+
+    /**
+     * Konstruktor, amely a megadott játékhoz hozza létre a motort.
+     *
+     * @param game a játék állapota
+     */
+    public GameEngine(Game game) {
+        this.game = game;
+        this.fiftyFifty = new FiftyFifty(game, events);
+        this.newQuestion = new NewQuestion(game, events);
+        this.crowdVote = new Crowd(game, events);
+    }
+
+    /**
+     * Figyelő feliratkoztatása a motor eseményeire.
+     *
+     * @param listener a figyelő
+     */
+    public void addListener(GameListener listener) {
+        events.add(listener);
+    }
+
+    /**
+     * Figyelő leiratkoztatása.
+     *
+     * @param listener a figyelő
+     */
+    public void removeListener(GameListener listener) {
+        events.remove(listener);
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Új játék indítása alapállapotból. A korábbi mentett állapot törlődik.
+     */
+    public synchronized void start() {
+        game.resetGameState(); // Játék állapotának alaphelyzetbe állítása, új játék indítása
+        running = true;
+        answered = 0;
+        events.gameStarted(false);
+        startRound();
+    }
+
+    /**
+     * Egy betöltött (mentett) játék folytatása az aktuális körrel és hátralévő idővel.
+     */
+    public synchronized void resume() {
+        running = true;
+        answered = 0;
+        events.gameStarted(true);
+        startRound();
+    }
+
+    /**
+     * A futó játék felfüggesztése (például szüneteltetéskor, hogy később egy másik motoron vagy a
+     * {@link #resume()} hívással folytatódjon). A játék eredmény és gameFinished esemény nélkül áll le.
+     *
+     * @return a folytatáshoz szükséges játékállapot, vagy null, ha nem volt futó játék
+     */
+    public synchronized GameState suspend() {
+        if (!running) {
+            return null;
+        }
+        running = false;
+        GameState state = game.getState();
+        game.setGame_end(true);
+        return state;
+    }
+
+    /**
+     * Válasz megadása az aktuális kérdésre.
+     * Helyes válasz esetén a következő kör indul, az utolsó kérdésnél a játékos nyer; helytelen válasznál a játék véget ér.
+     *
+     * @param option a választott válasz betűjele ('a'-'d')
+     * @return a válasz eredménye
+     */
+    public synchronized AnswerResult answer(char option) {
+        if (!running) {
+            return AnswerResult.NOT_RUNNING;
+        }
+
+        // A válaszidő a kör kezdetétől mérve, monoton órával
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - roundStartedAt);
+        boolean correct = Character.toLowerCase(option) == game.getCorrectAnswer();
+        long id = game.getQuestion().getId();
+        latencies[answered] = latency;
+        questionIds[answered++] = id;
+        LOGGER.fine(() -> String.format("Round %d question %016x answered %s in %d ms",
+                game.getRound(), id, correct ? "correctly" : "wrongly", latency));
+        events.answered(game.getRound(), Character.toLowerCase(option), correct, latency);
+
+        if (!correct) {
+            end(GameResult.Outcome.WRONG_ANSWER);
+            return AnswerResult.WRONG;
+        }
+
+        if (game.getRound() == Game.ROUNDS) { // Ha a játékos az utolsó kérdést válaszolta meg
+            end(GameResult.Outcome.WON);
+            return AnswerResult.WON;
+        }
+
+        game.newRound(); // Új kör indítása
+        startRound();
+        return AnswerResult.CORRECT;
+    }
+
+    /**
+     * A következő kör kérdésének és az "új kérdés" segítség tartalékkérdésének előzetes kihúzása.
+     * A kör indulása után érdemes hívni (például amíg a játékos gondolkodik), így a helyes válasz utáni
+     * körváltás és a kérdéscsere már nem húz kérdést.
+     */
+    public synchronized void prefetch() {
+        if (running) {
+            game.prefetch();
+        }
+    }
+
+    /**
+     * Az aktuális kör kezdetének rögzítése és az esemény kiküldése.
+     */
+    private void startRound() {
+        roundStartedAt = System.nanoTime();
+        game.markQuestionShown();
+        events.roundStarted(game.getQuestion(), game.getRound());
+    }
+
+    /**
+     * Egy segítség felhasználása. Minden segítség játékonként egyszer használható.
+     *
+     * @param lifeline a segítség
+     * @return true, ha a segítséget felhasználta, false, ha már korábban elhasználták vagy nincs futó játék
+     */
+    public synchronized boolean useLifeline(Lifeline lifeline) {
+        if (!running || isUsed(lifeline)) {
+            return false;
+        }
+
+        switch (lifeline) {
+            case FIFTY_FIFTY -> {
+                fiftyFifty.help();
+                game.setFiftyfifty(true);
+            }
+            case NEW_QUESTION -> {
+                newQuestion.help();
+                game.setNewquestion(true);
+            }
+            case CROWD_VOTE -> {
+                crowdVote.help();
+                game.setCrowdvote(true);
+            }
+        }
+        events.lifelineUsed(lifeline);
+        return true;
+    }
+
+    /**
+     * Visszaadja, hogy a segítséget elhasználták-e már.
+     *
+     * @param lifeline a segítség
+     * @return true, ha már elhasználták
+     */
+    public synchronized boolean isUsed(Lifeline lifeline) {
+        return switch (lifeline) {
+            case FIFTY_FIFTY -> game.isFiftyfifty();
+            case NEW_QUESTION -> game.isNewquestion();
+            case CROWD_VOTE -> game.isCrowdvote();
+        };
+    }
+
+    /**
+     * A hátralévő idő frissítése egy külső időzítő (például {@link Game.Clock.Countdown}) alapján,
+     * és a változás kiküldése a figyelőknek. A lejáratot nem ez, hanem a {@link #timeout()} jelzi.
+     *
+     * @param millis a hátralévő idő milliszekundumban
+     */
+    public synchronized void updateTimeLeft(long millis) {
+        if (running) {
+            game.setTimeLeftMillis(millis);
+            events.timeChanged(game.getTimeLeft());
+        }
+    }
+
+    /**
+     * A kérdés idejének lejárta egy külső időzítő (például {@link Game.Clock.Countdown}) jelzése alapján.
+     * A hátralévő idő nullára áll, és a játék véget ér.
+     *
+     * @return a játék eredménye, vagy null, ha nem volt futó játék
+     */
+    public synchronized GameResult timeout() {
+        if (!running) {
+            return null;
+        }
+        game.setTimeLeft(0);
+        return end(GameResult.Outcome.TIMEOUT);
+    }
+
+    /**
+     * A játék befejezése a játékos kérésére; a játékos az utolsó helyesen megválaszolt kör nyereményét viszi.
+     *
+     * @return a játék eredménye, vagy null, ha nem volt futó játék
+     */
+    public synchronized GameResult finish() {
+        return running ? end(GameResult.Outcome.STOPPED) : null;
+    }
+
+    /**
+     * A játék lezárása: az eredmény összeállítása, a játékállapot alaphelyzetbe állítása és az esemény kiküldése.
+     */
+    private GameResult end(GameResult.Outcome outcome) {
+        int round = game.getRound();
+        String prize;
+        if (outcome == GameResult.Outcome.WON) {
+            prize = game.getPrize(Game.ROUNDS); // Főnyeremény
+        } else {
+            prize = round > 1 ? game.getPrize(round - 1) : null; // Az utolsó helyes kör nyereménye
+        }
+        GameResult result = new GameResult(outcome, round, game.getQuestion().getId(), game.getCorrectAnswer(), prize,
+                Arrays.copyOf(questionIds, answered), Arrays.copyOf(latencies, answered));
+        LOGGER.fine(() -> String.format("Game finished: %s at question %016x", result, result.getQuestionId()));
+
+        running = false;
+        game.setGame_end(true); // Játék vége állapot
+        game.resetGameState(); // Játék állapotának alaphelyzetbe állítása
+
+        events.gameFinished(result);
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package Game.Engine;
+
+import Game.Question.Question;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Az eseményeket az összes feliratkozott figyelőnek továbbító lista.
+ * A motor és a segítségek ezen keresztül küldik az eseményeket.
+ */
+class GameEvents implements GameListener {
+
+    private final List<GameListener> listeners = new CopyOnWriteArrayList<>(); // A feliratkozott figyelők.
+
+    void add(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    void remove(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void gameStarted(boolean resumed) {
+        listeners.forEach(l -> l.gameStarted(resumed));
+    }
+
+    @Override
+    public void roundStarted(Question question, int round) {
+        listeners.forEach(l -> l.roundStarted(question, round));
+    }
+
+    @Override
+    public void questionReplaced(Question question) {
+        listeners.forEach(l -> l.questionReplaced(question));
+    }
+
+    @Override
+    public void answersRemoved(char first, char second) {
+        listeners.forEach(l -> l.answersRemoved(first, second));
+    }
+
+    @Override
+    public void crowdVoted(int[] votes) {
+        listeners.forEach(l -> l.crowdVoted(votes));
+    }
+
+    @Override
+    public void answered(int round, char option, boolean correct, long latencyMillis) {
+        listeners.forEach(l -> l.answered(round, option, correct, latencyMillis));
+    }
+
+    @Override
+    public void lifelineUsed(Lifeline lifeline) {
+        listeners.forEach(l -> l.lifelineUsed(lifeline));
+    }
+
+    @Override
+    public void timeChanged(int timeLeft) {
+        listeners.forEach(l -> l.timeChanged(timeLeft));
+    }
+
+    @Override
+    public void gameFinished(GameResult result) {
+        listeners.forEach(l -> l.gameFinished(result));
+    }
+}
@@ -0,0 +1,88 @@
+package Game.Engine;
+
+import Game.Question.Question;
+
+/**
+ * A játékmotor eseményeit fogadó interfész. A grafikus felület és bármely más kliens (pl. szerver,
+ * napló, mentés) ezen keresztül értesül a játék változásairól. Minden metódusnak üres alapértelmezése van,
+ * így a kliensek csak a számukra fontos eseményeket valósítják meg.
+ */
+public interface GameListener {
+
+    /**
+     * Új játék indult, vagy egy mentett játék folytatódik; az első kör eseménye ezután érkezik.
+     *
+     * @param resumed true, ha mentett játék folytatódik
+     */
+    default void gameStarted(boolean resumed) {
+    }
+
+    /**
+     * Új kör kezdődött (új játék, helyes válasz után vagy mentett játék folytatásakor).
+     *
+     * @param question a kör kérdése
+     * @param round    a kör száma
+     */
+    default void roundStarted(Question question, int round) {
+    }
+
+    /**
+     * Az "új kérdés" segítség lecserélte az aktuális kérdést.
+     *
+     * @param question az új kérdés
+     */
+    default void questionReplaced(Question question) {
+    }
+
+    /**
+     * A felező segítség eltávolított két hibás választ.
+     *
+     * @param first  az egyik eltávolított válasz betűjele
+     * @param second a másik eltávolított válasz betűjele
+     */
+    default void answersRemoved(char first, char second) {
+    }
+
+    /**
+     * A közönség szavazott.
+     *
+     * @param votes a négy válaszra érkezett szavazatok százalékban
+     */
+    default void crowdVoted(int[] votes) {
+    }
+
+    /**
+     * A játékos válaszolt az aktuális kérdésre.
+     *
+     * @param round         a kör száma
+     * @param option        a választott válasz betűjele
+     * @param correct       helyes volt-e a válasz
+     * @param latencyMillis a kör kezdete óta eltelt idő a válaszig, milliszekundumban
+     */
+    default void answered(int round, char option, boolean correct, long latencyMillis) {
+    }
+
+    /**
+     * Egy segítséget felhasználtak.
+     *
+     * @param lifeline a felhasznált segítség
+     */
+    default void lifelineUsed(Lifeline lifeline) {
+    }
+
+    /**
+     * Változott a kérdésből hátralévő idő.
+     *
+     * @param timeLeft a hátralévő idő másodpercben
+     */
+    default void timeChanged(int timeLeft) {
+    }
+
+    /**
+     * A játék véget ért.
+     *
+     * @param result a játék eredménye
+     */
+    default void gameFinished(GameResult result) {
+    }
+}
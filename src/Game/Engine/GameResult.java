@@ -0,0 +1,101 @@
+package Game.Engine;
+
+/**
+ * Egy befejezett játék eredménye, amelyet a motor a játék végén visszaad és eseményként kiküld.
+ */
+public class GameResult {
+
+    /**
+     * A játék befejezésének módja.
+     */
+    public enum Outcome {
+        WON,          // Minden kérdésre helyes válasz.
+        WRONG_ANSWER, // Helytelen válasz.
+        TIMEOUT,      // Lejárt az idő.
+        STOPPED       // A játékos befejezte a játékot.
+    }
+
+    private final Outcome outcome;     // A befejezés módja.
+    private final int round;           // A kör, amelyben a játék véget ért.
+    private final long questionId;     // Az utolsó kérdés azonosítója.
+    private final char correctAnswer;  // Az utolsó kérdés helyes válasza.
+    private final String prize;        // A megnyert nyeremény, vagy null, ha nincs.
+    private final long[] questionIds;  // A megválaszolt kérdések azonosítója, körönként.
+    private final long[] latencies;    // A megválaszolt kérdések válaszideje milliszekundumban, körönként.
+
+    /**
+     * Konstruktor, amely inicializálja az eredményt.
+     *
+     * @param outcome       a befejezés módja
+     * @param round         a kör, amelyben a játék véget ért
+     * @param questionId    az utolsó kérdés azonosítója
+     * @param correctAnswer az utolsó kérdés helyes válasza
+     * @param prize         a megnyert nyeremény, vagy null, ha nincs
+     * @param questionIds   a megválaszolt kérdések azonosítója, körönként
+     * @param latencies     a megválaszolt kérdések válaszideje milliszekundumban, körönként
+     */
+    public GameResult(Outcome outcome, int round, long questionId, char correctAnswer, String prize,
+                      long[] questionIds, long[] latencies) {
+        this.outcome = outcome;
+        this.round = round;
+        this.questionId = questionId;
+        this.correctAnswer = correctAnswer;
+        this.prize = prize;
+        this.questionIds = questionIds.clone();
+        this.latencies = latencies.clone();
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isWon() {
+        return outcome == Outcome.WON;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public long getQuestionId() {
+        return questionId;
+    }
+
+    public char getCorrectAnswer() {
+        return correctAnswer;
+    }
+
+    /**
+     * Visszaadja a megnyert nyereményt (nyerésnél a főnyereményt, különben az utolsó helyesen megválaszolt kör
+     * nyereményét).
+     *
+     * @return a nyeremény szövegesen, vagy null, ha a játékos az első körben esett ki
+     */
+    public String getPrize() {
+        return prize;
+    }
+
+    /**
+     * Visszaadja a megválaszolt kérdések azonosítóját, körönként (a válaszidőkkel azonos sorrendben),
+     * kérdésenkénti statisztikákhoz.
+     *
+     * @return a kérdések azonosítói
+     */
+    public long[] getQuestionIds() {
+        return questionIds.clone();
+    }
+
+    /**
+     * Visszaadja a megválaszolt kérdések válaszidejét (a kör kezdetétől a válaszig), körönként.
+     *
+     * @return a válaszidők milliszekundumban; az utolsó elem a játékot lezáró válaszé, ha volt ilyen
+     */
+    public long[] getAnswerLatencies() {
+        return latencies.clone();
+    }
+
+    @Override
+    public String toString() {
+        return outcome + " in round " + round + (prize != null ? " with " + prize : "");
+    }
+}
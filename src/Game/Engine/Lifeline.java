@@ -0,0 +1,10 @@
+package Game.Engine;
+
+/**
+ * A játékban használható segítségek.
+ */
+public enum Lifeline {
+    FIFTY_FIFTY,  // Felező: két hibás válasz eltávolítása.
+    NEW_QUESTION, // Új kérdés: az aktuális kérdés cseréje.
+    CROWD_VOTE    // Közönségszavazás.
+}
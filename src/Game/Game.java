@@ -1,13 +1,22 @@
 package Game;
 
 import Game.Question.Question;
-import Game.Question.QuestionsData;
+import Game.Question.QuestionBank;
+import Game.Question.QuestionSelector;
+import Game.Question.SharedQuestionBank;
+import Game.Randomness.RandomSource;
+import Game.GameSave.GameJournal;
 import Game.GameSave.GameState;
+import Game.GameSave.GameStateCodec;
+import Game.GameSave.SavedGame;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * A játék logikáját kezelő osztály.
@@ -48,10 +57,10 @@ public class Game {
     private boolean crowdvote;
 
     /**
-     * Az aktuális kör hátralévő idejét tartalmazza másodpercben.
-     * Az időzítő minden kérdésnél újraindul.
+     * Az aktuális kör hátralévő idejét tartalmazza milliszekundumban.
+     * Az időzítő minden kérdésnél újraindul; mentéskor a pontos maradék kerül a mentésbe.
      */
-    private int timeLeft;
+    private long timeLeftMillis;
 
     /**
      * A játék véget ért állapotát jelzi.
@@ -61,9 +70,21 @@ public class Game {
 
     /**
      * A játék kérdésadatainak forrása.
-     * A JSON fájlból betöltött kérdések tárolására és elérésére szolgál.
+     * A JSON fájlból betöltött vagy a lefordított bináris bankból leképezett kérdések elérésére szolgál.
      */
-    private final QuestionsData qlist;
+    private final QuestionBank qlist;
+
+    /**
+     * A játékhoz tartozó ismétlésmentes kérdésválasztó.
+     * Egy játékon belül és a legutóbbi játékokban nem ad vissza ugyanolyan kérdést.
+     */
+    private final QuestionSelector selector;
+
+    /**
+     * A játék véletlenforrása, amelyet a kérdésválasztás és minden segítség közösen használ.
+     * Azonos kezdőértékkel a játék pontosan visszajátszható.
+     */
+    private final RandomSource random;
 
     /**
      * Az aktuális kérdés objektuma.
@@ -71,11 +92,63 @@ public class Game {
      */
     private Question q;
 
+    /**
+     * A következő kör előre kihúzott kérdése, vagy null, ha még nincs kihúzva ({@link #prefetch()}).
+     */
+    private Question nextQuestion;
+
+    /**
+     * Az aktuális körhöz az "új kérdés" segítségnek előre kihúzott kérdés, vagy null.
+     */
+    private Question spareQuestion;
+
+    /**
+     * A játékállapot mentésére használt fájl.
+     * null, ha a játék nem használ mentést (például a szerver munkamenetei), így nem írja felül és nem törli
+     * az asztali játék mentését.
+     */
+    private final String saveFile;
+
+    /**
+     * Igaz, ha a játékállapot mentésből töltődött vissza.
+     */
+    private boolean restored;
+
+    /**
+     * Igaz, ha az aktuális kérdést a játékos már látta.
+     */
+    private boolean questionShown;
+
+    /**
+     * A játék köreinek száma; minden körhöz egy nehézségi szint tartozik.
+     */
+    public static final int ROUNDS = 12;
+
+    /**
+     * Egy kérdés megválaszolására rendelkezésre álló idő másodpercben.
+     */
+    public static final int TIME_LIMIT = 30;
+
+    /**
+     * A kérdéseket tartalmazó JSON fájl neve.
+     */
+    public static final String QUESTIONS_FILE = "questions.json";
+
     /**
      * A játékállapotot mentő és visszatöltő fájl neve.
      * Ez az állandó a mentett játékfájl eléréséhez szükséges.
      */
-    public static final String SAVE_FILE = "gamestate.ser";
+    public static final String SAVE_FILE = "gamestate.sav";
+
+    /**
+     * A régi, Java sorosítással írt mentés fájlneve. Betöltéskor még beolvassuk, és az új formátumra alakítjuk.
+     */
+    public static final String LEGACY_SAVE_FILE = "gamestate.ser";
+
+    /**
+     * A játékok eseménynaplóinak ({@link GameJournal}) könyvtára.
+     */
+    public static final String JOURNAL_DIR = "journal";
 
     /**
      * Naplózó az osztály eseményeinek és hibáinak rögzítésére.
@@ -83,53 +156,164 @@ public class Game {
     private static final Logger LOGGER = Logger.getLogger(Game.class.getName());
 
     /**
-     * Konstruktor, amely inicializálja a kérdéseket, és betölti a játékállapotot, ha elérhető.
+     * Konstruktor, amely a folyamaton belül közös kérdésbankot használja, és betölti a játékállapotot, ha elérhető.
      *
      * @throws FileNotFoundException, ha a kérdések JSON fájlja nem található.
      */
     public Game() throws FileNotFoundException {
-        QuestionsData tmp;
-        tmp = new QuestionsData("questions.json"); // Kérdések betöltése a JSON fájlból
-        qlist = tmp; // Kérdésadatok hozzárendelése
-        loadGameState(); // Játékállapot betöltése, ha van mentett állapot
+        this(readSave());
     }
 
     /**
-     * Játékállapot mentése egy fájlba.
+     * Konstruktor, amely a folyamaton belül közös kérdésbankot használja, és egy már beolvasott mentésből
+     * ({@link #readSave()}) állítja vissza a játékot, ha van folytatható játék.
+     *
+     * @param saved a mentett játék fájljainak tartalma
+     * @throws FileNotFoundException, ha a kérdések JSON fájlja nem található.
+     */
+    public Game(SavedGame saved) throws FileNotFoundException {
+        qlist = SharedQuestionBank.get(QUESTIONS_FILE); // Közös kérdésbank (csak az első játék tölti be)
+        random = RandomSource.create();
+        saveFile = SAVE_FILE;
+        selector = new QuestionSelector(qlist, random);
+        LOGGER.info("Game created with random seed " + random.getSeed());
+        loadGameState(saved); // Játékállapot betöltése, ha van mentett állapot
+    }
+
+    /**
+     * Konstruktor, amely a megadott kérdésbankkal új játékot indít, mentett állapot betöltése nélkül.
+     * Az így létrehozott játék nem használ mentési fájlt.
+     *
+     * @param questions a játék kérdésbankja (több játék is megoszthatja)
+     */
+    public Game(QuestionBank questions) {
+        this(questions, RandomSource.create());
+    }
+
+    /**
+     * Konstruktor, amely a megadott kérdésbankkal és véletlenforrással új játékot indít,
+     * mentett állapot betöltése nélkül. Rögzített kezdőértékű forrással a játék determinisztikus.
+     *
+     * @param questions a játék kérdésbankja (több játék is megoszthatja)
+     * @param random    a játék véletlenforrása
+     */
+    public Game(QuestionBank questions, RandomSource random) {
+        this(questions, random, null);
+    }
+
+    /**
+     * Konstruktor, amely a megadott kérdésbankkal és véletlenforrással új játékot indít, és a játékos korábbi
+     * játékainak ismétlésmentes ablakát folytatja (például egy visszatérő játékos új munkamenetében).
+     *
+     * @param questions a játék kérdésbankja (több játék is megoszthatja)
+     * @param random    a játék véletlenforrása
+     * @param recent    a játékos legutóbbi kérdései ({@link #getRecentQuestions()}), vagy null
+     */
+    public Game(QuestionBank questions, RandomSource random, QuestionSelector.History recent) {
+        this.qlist = questions;
+        this.random = random;
+        this.saveFile = null;
+        this.selector = new QuestionSelector(qlist, random, QuestionSelector.DEFAULT_RECENT_GAMES, recent);
+        beginGame();
+    }
+
+    /**
+     * Játékállapot mentése egy fájlba, tömör bináris formátumban ({@link GameStateCodec}).
+     * Az írás atomi: megszakadás esetén a korábbi mentés marad meg.
      */
     public void saveGameState() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SAVE_FILE))) {
-            // Játékállapot objektum létrehozása és mentése
-            GameState gameState = new GameState(round, q, fiftyfifty, newquestion, crowdvote, timeLeft);
-            oos.writeObject(gameState);
+        if (saveFile == null) {
+            return; // A játék nem használ mentést
+        }
+
+        try {
+            GameStateCodec.write(getState(), Paths.get(saveFile));
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Failed to save game state", e); // Hiba naplózása mentéskor
         }
     }
 
     /**
-     * Játékállapot betöltése egy fájlból.
-     * Ha nincs mentett állapot vagy a betöltés sikertelen, új játék indul.
+     * A mentett játék fájljainak (játéknapló, mentési fájl, régi mentés) beolvasása a kérdésbank nélkül, így
+     * a bank betöltésével párhuzamosan is hívható. Olvasási hiba esetén nincs folytatható játék.
+     *
+     * @return a fájlok tartalma, vagy {@link SavedGame#NONE}
+     */
+    public static SavedGame readSave() {
+        try {
+            return SavedGame.read(Paths.get(JOURNAL_DIR), Paths.get(SAVE_FILE), Paths.get(LEGACY_SAVE_FILE));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to load game state", e); // Hiba naplózása betöltéskor
+            return SavedGame.NONE;
+        }
+    }
+
+    /**
+     * Játékállapot betöltése a mentési fájlokból.
      */
     public void loadGameState() {
-        File saveFile = new File(SAVE_FILE);
-        if (!saveFile.exists()) {
-            beginGame(); // Nincs mentett állapot, új játék indítása
+        loadGameState(saveFile == null ? SavedGame.NONE : readSave());
+    }
+
+    /**
+     * Játékállapot betöltése egy már beolvasott mentésből.
+     * Elsőként a játéknaplóból állítja vissza a félbemaradt (például összeomlott) játékot; ha ilyen nincs,
+     * a mentési fájlt használja. Ha csak régi formátumú mentés van, azt tölti be, és új formátumban menti el.
+     * Ha nincs mentett állapot vagy a betöltés sikertelen, új játék indul.
+     *
+     * @param saved a mentett játék fájljainak tartalma ({@link #readSave()})
+     */
+    public void loadGameState(SavedGame saved) {
+        restored = false;
+        boolean upgrade = false;
+
+        try {
+            GameState gameState = saved.getJournal() == null ? null : GameJournal.recover(saved.getJournal(), qlist);
+            if (gameState != null) {
+                LOGGER.info("Recovered unfinished game from the journal");
+            } else if (saved.getSave() != null) {
+                gameState = GameStateCodec.decode(saved.getSave(), qlist);
+            } else if (saved.getLegacy() != null) {
+                gameState = saved.getLegacy();
+                upgrade = true;
+            } else {
+                beginGame(); // Nincs mentett állapot, új játék indítása
+                return;
+            }
+
+            restore(gameState); // Mentett állapot betöltése
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to load game state", e); // Hiba naplózása betöltéskor
+            beginGame(); // Hibás mentés esetén új játék indítása
             return;
         }
 
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(SAVE_FILE))) {
-            // Mentett állapot betöltése
-            GameState gameState = (GameState) ois.readObject();
-            this.round = gameState.getRound();
-            this.q = gameState.getCurrentQuestion();
-            this.fiftyfifty = gameState.isFiftyfiftyUsed();
-            this.newquestion = gameState.isNewQuestionUsed();
-            this.crowdvote = gameState.isCrowdVoteUsed();
-            this.timeLeft = gameState.getTimeLeft();
-        } catch (IOException | ClassNotFoundException e) {
-            LOGGER.log(Level.SEVERE, "Failed to load game state", e); // Hiba naplózása mentéskor
-            beginGame(); // Hibás mentés esetén új játék indítása
+        if (upgrade) {
+            saveGameState(); // Régi mentés átalakítása az új formátumra
+            deleteFile(Paths.get(LEGACY_SAVE_FILE));
+        }
+    }
+
+    /**
+     * A játék állapotának beállítása egy mentett állapotból (például egy szüneteltetett munkamenet folytatásakor).
+     * Ha a mentett kérdés már nincs a kérdésbankban, a körhöz új kérdést húz.
+     *
+     * @param gameState a mentett állapot
+     */
+    public void restore(GameState gameState) {
+        this.round = gameState.getRound();
+        this.q = gameState.getCurrentQuestion();
+        this.fiftyfifty = gameState.isFiftyfiftyUsed();
+        this.newquestion = gameState.isNewQuestionUsed();
+        this.crowdvote = gameState.isCrowdVoteUsed();
+        this.timeLeftMillis = gameState.getTimeLeftMillis();
+        this.game_end = false;
+        this.restored = true;
+        this.questionShown = true; // A mentett kérdést a játékos már látta
+        clearPrefetched();
+        if (q == null && round < ROUNDS) {
+            LOGGER.warning("Saved question is no longer in the question bank, drawing a new one");
+            q = selector.next(round);
         }
     }
 
@@ -138,20 +322,36 @@ public class Game {
      * Ha létezik mentett állapot, azt törli.
      */
     public void resetGameState() {
-        File saveFile = new File(SAVE_FILE);
-        if (saveFile.exists()) {
-            if (!saveFile.delete()) {
-                LOGGER.warning("Failed to delete save file: " + SAVE_FILE); // Hiba törléskor
-            }
+        if (saveFile != null) {
+            deleteFile(Paths.get(saveFile));
+            deleteFile(Paths.get(LEGACY_SAVE_FILE));
         }
+        restored = false;
 
         // Új játék alapállapotának beállítása
         round = 1;
         fiftyfifty = false;
         newquestion = false;
         crowdvote = false;
-        timeLeft = 30;
-        q = qlist.getQuestion(round);
+        timeLeftMillis = TIME_LIMIT * 1000L;
+        firstQuestion();
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to delete save file: " + file); // Hiba törléskor
+        }
+    }
+
+    /**
+     * Visszaadja a játék aktuális állapotát (mentéshez, naplózáshoz).
+     *
+     * @return a játékállapot
+     */
+    public GameState getState() {
+        return new GameState(round, q, fiftyfifty, newquestion, crowdvote, timeLeftMillis);
     }
 
     /**
@@ -184,7 +384,11 @@ public class Game {
     }
 
     public int getTimeLeft() {
-        return timeLeft;
+        return (int) ((timeLeftMillis + 999) / 1000); // Egész másodpercre felfelé kerekítve
+    }
+
+    public long getTimeLeftMillis() {
+        return timeLeftMillis;
     }
 
     public Question getQuestion() {
@@ -195,14 +399,27 @@ public class Game {
         return round >= 12 || q == null; // Ha az utolsó körben van, vagy nincs kérdés, a játék véget ért
     }
 
+    /**
+     * Visszaadja, hogy a játékállapot mentésből töltődött-e vissza.
+     *
+     * @return true, ha a legutóbbi betöltés mentett állapotot talált
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
     public boolean isGameEnd() {
         return game_end;
     }
 
-    public QuestionsData getQuestionsData() {
+    public QuestionBank getQuestionsData() {
         return qlist;
     }
 
+    public RandomSource getRandom() {
+        return random;
+    }
+
     public char getCorrectAnswer() {
         return q.getAnswer();
     }
@@ -223,17 +440,43 @@ public class Game {
     }
 
     public void setTimeLeft(int timeLeft) {
-        this.timeLeft = timeLeft;
+        this.timeLeftMillis = timeLeft * 1000L;
+    }
+
+    public void setTimeLeftMillis(long timeLeftMillis) {
+        this.timeLeftMillis = timeLeftMillis;
     }
 
     public void setQuestion(Question q) {
         this.q = q;
+        this.questionShown = true;
     }
 
     public void setGame_end(boolean game_end) {
         this.game_end = game_end;
     }
 
+    /**
+     * Egy még nem látott kérdés húzása a megadott nehézségi szintről (pl. az "új kérdés" segítséghez).
+     * Az aktuális kérdést soha nem adja vissza, ha a szinten van másik kérdés.
+     *
+     * @param difficulty a nehézségi szint
+     * @return az új kérdés, vagy null, ha a szinten nincs kérdés
+     */
+    public Question drawQuestion(int difficulty) {
+        if (difficulty == round && spareQuestion != null) {
+            Question spare = spareQuestion; // Előre kihúzva, amíg a játékos gondolkodott
+            spareQuestion = null;
+            return spare;
+        }
+        Question drawn = selector.next(difficulty);
+        if (drawn != null && q != null && drawn.getId() == q.getId()) {
+            // Mentésből visszatöltött kérdés esetén a választó még nem tud róla; a következő húzás biztosan más.
+            drawn = selector.next(difficulty);
+        }
+        return drawn;
+    }
+
     /**
      * Új játék indítása az alapállapot beállításával.
      */
@@ -243,17 +486,96 @@ public class Game {
         newquestion = false;
         crowdvote = false;
         game_end = false; // A játék nincs vége
+        timeLeftMillis = TIME_LIMIT * 1000L;
+        firstQuestion(); // Első kérdés lekérése
+    }
+
+    /**
+     * Az első kör kérdésének beállítása. Ha az aktuális kérdés egy még meg nem mutatott első körös kérdés
+     * (például az előző játék végén vagy a konstruktorban húzott), azt tartja meg, így egy új játék csak
+     * egyszer húz. Az előre kihúzott kérdéseket visszaadja a választónak.
+     */
+    private void firstQuestion() {
+        clearPrefetched();
+        if (q == null || questionShown || q.getDifficulty() != round) {
+            q = selector.next(round);
+            questionShown = false;
+        }
+    }
 
-        q = qlist.getQuestion(round); // Első kérdés lekérése
+    /**
+     * Jelzi, hogy az aktuális kérdést a játékos látta (a kör elindult).
+     */
+    public void markQuestionShown() {
+        questionShown = true;
     }
 
     /**
      * Új kör indítása.
-     * Frissíti a körszámot, visszaállítja az időzítőt, és lekéri a következő kérdést.
+     * Frissíti a körszámot, visszaállítja az időzítőt, és lekéri a következő kérdést
+     * (ha előre ki lett húzva, csak átveszi).
      */
     public void newRound() {
         round++; // Körszám növelése
-        timeLeft = 30; // Időzítő visszaállítása
-        q = qlist.getQuestion(round); // Következő kérdés lekérése
+        timeLeftMillis = TIME_LIMIT * 1000L; // Időzítő visszaállítása
+        q = nextQuestion != null ? nextQuestion : selector.next(round); // Következő kérdés lekérése
+        nextQuestion = null;
+        questionShown = false;
+        clearPrefetched(); // Az előző kör tartalékkérdése már nem használható, visszakerül a választóhoz
+    }
+
+    /**
+     * A következő kör kérdésének és (ha a segítség még nem használt) az "új kérdés" segítség tartalékkérdésének
+     * előzetes kihúzása, például amíg a játékos gondolkodik. Így a kör váltása és a csere csak egy átvétel.
+     * A már kihúzott kérdéseket nem húzza újra.
+     */
+    public void prefetch() {
+        if (round < ROUNDS && nextQuestion == null) {
+            nextQuestion = selector.next(round + 1);
+        }
+        if (!newquestion && spareQuestion == null) {
+            spareQuestion = drawQuestion(round);
+        }
+    }
+
+    /**
+     * Visszaadja a következő kör előre kihúzott kérdését.
+     *
+     * @return a kérdés, vagy null, ha még nincs kihúzva
+     */
+    public Question getNextQuestion() {
+        return nextQuestion;
+    }
+
+    /**
+     * Visszaadja az "új kérdés" segítség előre kihúzott kérdését.
+     *
+     * @return a kérdés, vagy null, ha még nincs kihúzva
+     */
+    public Question getSpareQuestion() {
+        return spareQuestion;
+    }
+
+    /**
+     * Visszaadja a játékos legutóbbi kérdéseit, amelyekkel egy későbbi játék folytathatja az ismétlésmentes ablakot.
+     * Az előre kihúzott, meg nem mutatott kérdések előbb visszakerülnek a választóhoz (a következő kör szükség
+     * esetén újra húz).
+     *
+     * @return a választó pillanatképe
+     */
+    public QuestionSelector.History getRecentQuestions() {
+        clearPrefetched();
+        return selector.history();
+    }
+
+    /**
+     * Az előre kihúzott, fel nem használt kérdések visszaadása a választónak: a játékos nem látta őket,
+     * így nem foglalják az ismétlésmentes ablakot.
+     */
+    private void clearPrefetched() {
+        selector.giveBack(nextQuestion);
+        selector.giveBack(spareQuestion);
+        nextQuestion = null;
+        spareQuestion = null;
     }
 }
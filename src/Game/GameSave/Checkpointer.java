@@ -0,0 +1,167 @@
+package Game.GameSave;
+
+import Game.Engine.GameListener;
+import Game.Engine.GameResult;
+import Game.Engine.Lifeline;
+import Game.Game;
+import Game.Question.Question;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Háttérben futó automatikus mentés. A motor figyelőjeként minden kör kezdetén és segítség használatakor
+ * rögzíti a játék állapotát, a fájlba írást pedig egy saját szálon végzi, így a felület szála csak egy
+ * kis állapotobjektumot hoz létre.
+ *
+ * A gyorsan egymást követő változások ({@value #COALESCE_MILLIS} ms-on belül, vagy egy folyamatban lévő írás
+ * alatt) egyetlen írásba olvadnak: mindig csak a legfrissebb állapot kerül a lemezre. Az írás a
+ * {@link GameStateCodec#write} atomi módján történik (ideiglenes fájl, lemezre szinkronizálás, átnevezés),
+ * így a mentés soha nem félkész. A játék végén a mentés törlődik.
+ */
+public class Checkpointer implements GameListener, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(Checkpointer.class.getName());
+
+    /**
+     * Ennyi ideig vár az első változás után, hogy a további változások ugyanabba az írásba kerüljenek.
+     */
+    public static final int COALESCE_MILLIS = 100;
+
+    private final Game game;  // A mentett játék.
+    private final Path file;  // A mentési fájl.
+    private final ScheduledExecutorService writer; // A mentést végző szál.
+
+    private final AtomicReference<GameState> pending = new AtomicReference<>(); // A még ki nem írt legfrissebb állapot.
+    private final AtomicBoolean scheduled = new AtomicBoolean(); // Van-e már ütemezett írás.
+    private final AtomicLong writes = new AtomicLong();          // Az elvégzett írások száma.
+
+    /**
+     * Konstruktor, amely elindítja a mentést végző szálat.
+     *
+     * @param game a mentett játék
+     * @param file a mentési fájl
+     */
+    public Checkpointer(Game game, Path file) {
+        this.game = game;
+        this.file = file;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "game-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void roundStarted(Question question, int round) {
+        request(game.getState(), COALESCE_MILLIS);
+    }
+
+    @Override
+    public void questionReplaced(Question question) {
+        request(game.getState(), COALESCE_MILLIS);
+    }
+
+    @Override
+    public void lifelineUsed(Lifeline lifeline) {
+        request(game.getState(), COALESCE_MILLIS);
+    }
+
+    @Override
+    public void gameFinished(GameResult result) {
+        discard();
+    }
+
+    /**
+     * Az aktuális állapot azonnali mentése (például kilépés előtt, a pontos hátralévő idővel).
+     */
+    public void checkpoint() {
+        request(game.getState(), 0);
+    }
+
+    /**
+     * A mentés törlése; a még ki nem írt állapot elvész. A törlés a korábban ütemezett írások után fut.
+     */
+    public void discard() {
+        pending.set(null);
+        submit(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to delete save file " + file, e);
+            }
+        }, 0);
+    }
+
+    /**
+     * Visszaadja az elvégzett írások számát (a változások száma ennél nagyobb lehet az összevonás miatt).
+     *
+     * @return az írások száma
+     */
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    /**
+     * A mentést végző szál leállítása a függő írások és törlések elvégzése után.
+     */
+    @Override
+    public void close() {
+        writer.shutdown(); // A már ütemezett (késleltetett) feladatok még lefutnak
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warning("Checkpointer did not finish pending saves");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Egy állapot mentésének kérése. Ha már van ütemezett írás, az a legfrissebb állapotot írja ki.
+     */
+    private void request(GameState state, int delayMillis) {
+        pending.set(state);
+        if (scheduled.compareAndSet(false, true)) {
+            submit(this::flush, delayMillis);
+        } else if (delayMillis == 0) {
+            submit(this::flush, 0); // Azonnali mentés: nem várja meg az összevonási időt
+        }
+    }
+
+    private void submit(Runnable task, int delayMillis) {
+        try {
+            writer.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("Checkpointer is closed, state not saved");
+        }
+    }
+
+    /**
+     * A legfrissebb állapot kiírása a mentést végző szálon.
+     */
+    private void flush() {
+        scheduled.set(false);
+        GameState state = pending.getAndSet(null);
+        if (state == null) {
+            return; // Közben kiírták vagy törölték
+        }
+        try {
+            GameStateCodec.write(state, file);
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to save game state", e);
+        }
+    }
+}
@@ -0,0 +1,716 @@
+package Game.GameSave;
+
+import Game.Engine.GameListener;
+import Game.Engine.GameResult;
+import Game.Engine.Lifeline;
+import Game.Game;
+import Game.Question.Question;
+import Game.Question.QuestionBank;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Eseményalapú játéknapló: minden játék egy csak hozzáfűzhető fájlba (szegmensbe) kerül, kis bináris
+ * eseményekként (játék kezdete, megjelenített kérdés, segítség, válasz, hátralévő idő, lejárat, befejezés).
+ * A napló a motor figyelőjeként működik, így a felület vagy a szerver külön mentés nélkül is rögzíti a játékot.
+ *
+ * Legfeljebb {@value #SNAPSHOT_INTERVAL} eseményenként, valamint folytatáskor és kilépéskor egy pillanatkép
+ * ({@link GameStateCodec} rekord) is a naplóba kerül, így a visszaállításhoz csak az utolsó pillanatkép utáni
+ * eseményeket kell lejátszani. A hátralévő időt a napló másodpercenként rögzíti, ezért egy összeomlott vagy
+ * leállított folyamat játéka az utolsó egész másodpercig visszaállítható.
+ * A lezárt szegmensek változatlanul megmaradnak, és közvetlenül elemzési adatként olvashatók ({@link #read(Path)});
+ * a könyvtárban a beállított számú legutóbbi szegmens marad meg, a régebbiek új játék kezdetekor törlődnek.
+ * A legutóbbi szegmens nevét egy kis mutatófájl ({@value #LATEST_FILE}) tárolja, így a visszaállításhoz és a
+ * folytatáshoz nem kell a könyvtárat bejárni.
+ *
+ * Az eseményeket a hívó szál (például a felület eseménykezelő szála) csak rögzíti; a fájlműveletek, a
+ * másodpercenkénti időkeretek és a pillanatképek lemezre szinkronizálása a napló saját írószálán, sorrendben
+ * futnak. A {@link #flush()} megvárja a függő írásokat; a {@link #checkpoint()} és a {@link #close()} is megvárja őket.
+ *
+ * Egy esemény kerete (minden szám big-endian):
+ * <pre>
+ * unsigned short az adat hossza, byte típus, int a játék kezdete óta eltelt idő (ms), adat,
+ * int CRC32 a keret elejétől az adat végéig
+ * </pre>
+ * A hiányos vagy sérült utolsó keretet (félbeszakadt írás) olvasáskor figyelmen kívül hagyja, folytatáskor levágja.
+ * Írási hiba esetén a napló kikapcsol, a játék ettől zavartalanul folytatódik.
+ */
+public class GameJournal implements GameListener, Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(GameJournal.class.getName());
+
+    /**
+     * A naplószegmensek kiterjesztése.
+     */
+    public static final String EXTENSION = ".journal";
+
+    /**
+     * Legfeljebb ennyi esemény követ egy pillanatképet.
+     */
+    public static final int SNAPSHOT_INTERVAL = 32;
+
+    /**
+     * Alapértelmezés szerint ennyi legutóbbi szegmens marad meg a könyvtárban.
+     */
+    public static final int DEFAULT_RETAINED_SEGMENTS = 100;
+
+    /**
+     * A legutóbbi szegmens nevét tartalmazó mutatófájl neve.
+     */
+    public static final String LATEST_FILE = "latest";
+
+    /**
+     * A napló eseménytípusai.
+     */
+    public enum Type {
+        STARTED,   // Új játék: long kezdőérték, long kezdési időpont (epoch ms).
+        RESUMED,   // A játék folytatódik (újraindítás után); pillanatkép követi.
+        QUESTION,  // Megjelent kérdés: byte kör, long kérdésazonosító, int hátralévő idő (ms).
+        LIFELINE,  // Felhasznált segítség: byte sorszám.
+        ANSWER,    // Válasz: byte kör, byte betűjel, byte helyes-e, int válaszidő (ms).
+        TIME,      // Hátralévő idő: int (ms).
+        TIMEOUT,   // Lejárt az idő: byte kör. Lezárja a játékot.
+        FINISHED,  // A játék véget ért: byte kimenetel, byte kör. Lezárja a játékot.
+        ABANDONED, // A játékos mentés nélkül lépett ki. Lezárja a játékot.
+        SNAPSHOT   // Pillanatkép: a GameStateCodec rekordja.
+    }
+
+    private static final int HEADER_SIZE = 7;  // Hossz, típus és idő.
+    private static final int MAX_PAYLOAD = GameStateCodec.SIZE;
+
+    private final Path directory;  // A szegmensek könyvtára.
+    private final Game game;       // A naplózott játék (a pillanatképekhez).
+    private final int retained;    // Ennyi legutóbbi szegmens marad meg.
+    private final ExecutorService writer; // A fájlműveleteket sorrendben végző írószál.
+
+    private int sinceSnapshot;     // Az utolsó pillanatkép óta rögzített események száma (a hívók oldalán).
+
+    // Csak az írószál használja:
+    private final ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + MAX_PAYLOAD + 4); // Az épülő keret.
+    private FileChannel channel;   // Az aktuális szegmens, vagy null, ha nincs nyitott játék.
+    private long startedAt;        // Az aktuális játék kezdete (epoch ms).
+
+    /**
+     * Egy írószálon futó feladat.
+     */
+    private interface Task {
+        void run() throws IOException;
+    }
+
+    /**
+     * Egy beolvasott naplóesemény. A típustól függően csak a hozzá tartozó mezők kitöltöttek.
+     */
+    public static final class Entry {
+        private final Type type;
+        private final int elapsedMillis;
+        private final int round;
+        private final long questionId;
+        private final long millis;
+        private final Lifeline lifeline;
+        private final char option;
+        private final boolean correct;
+        private final GameResult.Outcome outcome;
+        private final long seed;
+        private final long startedAt;
+        private final byte[] snapshot;
+
+        private Entry(Type type, int elapsedMillis, ByteBuffer data) {
+            this.type = type;
+            this.elapsedMillis = elapsedMillis;
+            int round = 0;
+            long questionId = 0, millis = 0, seed = 0, startedAt = 0;
+            Lifeline lifeline = null;
+            char option = 0;
+            boolean correct = false;
+            GameResult.Outcome outcome = null;
+            byte[] snapshot = null;
+            switch (type) {
+                case STARTED -> {
+                    seed = data.getLong();
+                    startedAt = data.getLong();
+                }
+                case QUESTION -> {
+                    round = data.get() & 0xFF;
+                    questionId = data.getLong();
+                    millis = data.getInt() & 0xFFFFFFFFL;
+                }
+                case LIFELINE -> lifeline = Lifeline.values()[data.get()];
+                case ANSWER -> {
+                    round = data.get() & 0xFF;
+                    option = (char) data.get();
+                    correct = data.get() != 0;
+                    millis = data.getInt() & 0xFFFFFFFFL;
+                }
+                case TIME -> millis = data.getInt() & 0xFFFFFFFFL;
+                case TIMEOUT -> round = data.get() & 0xFF;
+                case FINISHED -> {
+                    outcome = GameResult.Outcome.values()[data.get()];
+                    round = data.get() & 0xFF;
+                }
+                case SNAPSHOT -> {
+                    snapshot = new byte[GameStateCodec.SIZE];
+                    data.get(snapshot);
+                }
+                default -> {
+                }
+            }
+            this.round = round;
+            this.questionId = questionId;
+            this.millis = millis;
+            this.lifeline = lifeline;
+            this.option = option;
+            this.correct = correct;
+            this.outcome = outcome;
+            this.seed = seed;
+            this.startedAt = startedAt;
+            this.snapshot = snapshot;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * @return a játék kezdete óta eltelt idő milliszekundumban
+         */
+        public int getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public long getQuestionId() {
+            return questionId;
+        }
+
+        /**
+         * @return a hátralévő idő (QUESTION, TIME) vagy a válaszidő (ANSWER) milliszekundumban
+         */
+        public long getMillis() {
+            return millis;
+        }
+
+        public Lifeline getLifeline() {
+            return lifeline;
+        }
+
+        public char getOption() {
+            return option;
+        }
+
+        public boolean isCorrect() {
+            return correct;
+        }
+
+        public GameResult.Outcome getOutcome() {
+            return outcome;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        private boolean isTerminal() {
+            return type == Type.TIMEOUT || type == Type.FINISHED || type == Type.ABANDONED;
+        }
+    }
+
+    /**
+     * Egy szegmens beolvasásának eredménye: az ép események és az utolsó ép keret vége.
+     */
+    private static final class Scan {
+        final List<Entry> entries; // Az ép események.
+        final long validLength;    // Az utolsó ép keret vége.
+
+        Scan(List<Entry> entries, long validLength) {
+            this.entries = entries;
+            this.validLength = validLength;
+        }
+    }
+
+    /**
+     * Konstruktor az alapértelmezett számú megtartott szegmenssel. A könyvtár az első játék kezdetekor jön létre.
+     *
+     * @param directory a naplószegmensek könyvtára
+     * @param game      a naplózott játék
+     */
+    public GameJournal(Path directory, Game game) {
+        this(directory, game, DEFAULT_RETAINED_SEGMENTS);
+    }
+
+    /**
+     * Konstruktor. A könyvtár az első játék kezdetekor jön létre.
+     *
+     * @param directory a naplószegmensek könyvtára
+     * @param game      a naplózott játék
+     * @param retained  ennyi legutóbbi szegmens marad meg (legalább 1)
+     */
+    public GameJournal(Path directory, Game game, int retained) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("retained must be positive: " + retained);
+        }
+        this.directory = directory;
+        this.game = game;
+        this.retained = retained;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "game-journal-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Visszaadja a könyvtár naplószegmenseit időrendben (a legrégebbivel kezdve).
+     *
+     * @param directory a naplószegmensek könyvtára
+     * @return a szegmensek (üres, ha a könyvtár nem létezik)
+     * @throws IOException ha a könyvtár nem olvasható
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(EXTENSION)).sorted().toList();
+        }
+    }
+
+    /**
+     * Visszaadja a legutóbbi szegmenst a mutatófájl alapján. Ha a mutató hiányzik (például egy korábbi változat
+     * könyvtáránál) vagy nem létező szegmensre mutat, a könyvtár bejárásával keresi meg.
+     *
+     * @param directory a naplószegmensek könyvtára
+     * @return a legutóbbi szegmens, vagy null, ha nincs
+     * @throws IOException ha a könyvtár nem olvasható
+     */
+    public static Path latest(Path directory) throws IOException {
+        Path pointer = directory.resolve(LATEST_FILE);
+        if (Files.exists(pointer)) {
+            String name = Files.readString(pointer).trim();
+            if (name.endsWith(EXTENSION) && name.indexOf('/') < 0 && name.indexOf('\\') < 0) {
+                Path segment = directory.resolve(name);
+                if (Files.exists(segment)) {
+                    return segment;
+                }
+            }
+        }
+        List<Path> segments = segments(directory);
+        return segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Egy szegmens eseményeinek beolvasása (például elemzéshez). A sérült végű szegmens ép elejét adja vissza.
+     *
+     * @param segment a naplószegmens
+     * @return az események a rögzítés sorrendjében
+     * @throws IOException ha a fájl nem olvasható
+     */
+    public static List<Entry> read(Path segment) throws IOException {
+        return scan(segment).entries;
+    }
+
+    /**
+     * A legutóbbi, le nem zárt játék visszaállítása: az utolsó pillanatképből indul, és lejátssza az utána
+     * rögzített eseményeket.
+     *
+     * @param directory a naplószegmensek könyvtára
+     * @param questions a kérdésbank, amelyből a kérdés visszakereshető
+     * @return a játékállapot, vagy null, ha nincs folytatható játék
+     * @throws IOException ha a napló nem olvasható
+     */
+    public static GameState recover(Path directory, QuestionBank questions) throws IOException {
+        Path segment = latest(directory);
+        return segment == null ? null : recover(read(segment), questions);
+    }
+
+    /**
+     * A legutóbbi játék visszaállítása egy már beolvasott szegmens eseményeiből (például ha a napló a kérdésbank
+     * betöltésével párhuzamosan olvasódott be).
+     *
+     * @param entries   a szegmens eseményei ({@link #read(Path)})
+     * @param questions a kérdésbank, amelyből a kérdés visszakereshető
+     * @return a játékállapot, vagy null, ha nincs folytatható játék
+     * @throws IOException ha a pillanatkép sérült
+     */
+    public static GameState recover(List<Entry> entries, QuestionBank questions) throws IOException {
+        int from = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).isTerminal()) {
+                return null;
+            }
+            if (entries.get(i).getType() == Type.SNAPSHOT) {
+                from = i;
+            }
+        }
+
+        int round = 1;
+        Question question = null;
+        boolean fiftyfifty = false, newquestion = false, crowdvote = false;
+        long timeLeft = Game.TIME_LIMIT * 1000L;
+        for (Entry e : entries.subList(from, entries.size())) {
+            switch (e.getType()) {
+                case SNAPSHOT -> {
+                    GameState state = GameStateCodec.decode(e.snapshot, questions);
+                    round = state.getRound();
+                    question = state.getCurrentQuestion();
+                    fiftyfifty = state.isFiftyfiftyUsed();
+                    newquestion = state.isNewQuestionUsed();
+                    crowdvote = state.isCrowdVoteUsed();
+                    timeLeft = state.getTimeLeftMillis();
+                }
+                case QUESTION -> {
+                    round = e.getRound();
+                    question = questions.getById(e.getQuestionId());
+                    timeLeft = e.getMillis();
+                }
+                case LIFELINE -> {
+                    switch (e.getLifeline()) {
+                        case FIFTY_FIFTY -> fiftyfifty = true;
+                        case NEW_QUESTION -> newquestion = true;
+                        case CROWD_VOTE -> crowdvote = true;
+                    }
+                }
+                case TIME -> timeLeft = e.getMillis();
+                default -> {
+                }
+            }
+        }
+        return question == null ? null : new GameState(round, question, fiftyfifty, newquestion, crowdvote, timeLeft);
+    }
+
+    /**
+     * Új játék esetén új szegmenst nyit; folytatáskor a legutóbbi, le nem zárt szegmenshez fűz, és pillanatképet ír.
+     */
+    @Override
+    public synchronized void gameStarted(boolean resumed) {
+        long now = System.currentTimeMillis();
+        long seed = game.getRandom().getSeed();
+        byte[] state = resumed ? GameStateCodec.encode(game.getState()) : null;
+        sinceSnapshot = resumed ? 0 : 1; // Folytatáskor pillanatkép zárja, különben a kezdőkeret számít
+        submit(() -> start(now, seed, state));
+    }
+
+    @Override
+    public synchronized void roundStarted(Question question, int round) {
+        question(question, round);
+    }
+
+    @Override
+    public synchronized void questionReplaced(Question question) {
+        question(question, game.getRound());
+    }
+
+    @Override
+    public synchronized void lifelineUsed(Lifeline lifeline) {
+        event(Type.LIFELINE, ByteBuffer.allocate(1).put((byte) lifeline.ordinal()));
+    }
+
+    @Override
+    public synchronized void answered(int round, char option, boolean correct, long latencyMillis) {
+        event(Type.ANSWER, ByteBuffer.allocate(7).put((byte) round).put((byte) option).put((byte) (correct ? 1 : 0))
+                .putInt((int) Math.min(latencyMillis, Integer.MAX_VALUE)));
+    }
+
+    @Override
+    public synchronized void timeChanged(int timeLeft) {
+        event(Type.TIME, ByteBuffer.allocate(4).putInt((int) game.getTimeLeftMillis()));
+    }
+
+    /**
+     * A játék lezárása a naplóban (lejárat vagy befejezés), majd a szegmens lemezre írása és bezárása.
+     */
+    @Override
+    public synchronized void gameFinished(GameResult result) {
+        if (result.getOutcome() == GameResult.Outcome.TIMEOUT) {
+            event(Type.TIMEOUT, ByteBuffer.allocate(1).put((byte) result.getRound()));
+        } else {
+            event(Type.FINISHED, ByteBuffer.allocate(2).put((byte) result.getOutcome().ordinal()).put((byte) result.getRound()));
+        }
+        submit(this::closeSegment);
+    }
+
+    /**
+     * A pontos hátralévő idő és egy pillanatkép rögzítése, lemezre szinkronizálva (például kilépés előtt).
+     * Megvárja, amíg a pillanatkép a lemezre kerül.
+     */
+    public synchronized void checkpoint() {
+        long now = System.currentTimeMillis();
+        byte[] time = ByteBuffer.allocate(4).putInt((int) game.getTimeLeftMillis()).array();
+        byte[] state = GameStateCodec.encode(game.getState());
+        sinceSnapshot = 0;
+        submit(() -> {
+            write(Type.TIME, now, time);
+            snapshot(now, state);
+        });
+        flush();
+    }
+
+    /**
+     * A játék lezárása mentés nélkül: a következő indításkor nem folytatódik.
+     */
+    public synchronized void discard() {
+        event(Type.ABANDONED, null);
+        submit(this::closeSegment);
+    }
+
+    /**
+     * Megvárja, amíg az addig rögzített események a szegmensbe kerülnek.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> {
+            }).get();
+        } catch (RejectedExecutionException e) {
+            // Lezárt napló: nincs függő írás
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Game journal flush failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A függő írások befejezése és a nyitott szegmens bezárása; a játék később folytatható.
+     * A lezárt napló több eseményt nem rögzít.
+     */
+    @Override
+    public synchronized void close() {
+        submit(this::closeSegment);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warning("Game journal did not finish pending writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void question(Question question, int round) {
+        event(Type.QUESTION, ByteBuffer.allocate(13).put((byte) round).putLong(question.getId())
+                .putInt((int) game.getTimeLeftMillis()));
+    }
+
+    /**
+     * Egy esemény rögzítése a hívó szálon (az idő és az adat most készül), a kiírás az írószálra kerül.
+     * Legfeljebb {@value #SNAPSHOT_INTERVAL} eseményenként a játékállapot pillanatképe is mellé kerül.
+     *
+     * @param payload az esemény adata (a pozícióig érvényes), vagy null, ha nincs
+     */
+    private void event(Type type, ByteBuffer payload) {
+        long now = System.currentTimeMillis();
+        byte[] data = payload == null ? new byte[0] : Arrays.copyOf(payload.array(), payload.position());
+        byte[] state = null;
+        if (++sinceSnapshot >= SNAPSHOT_INTERVAL) {
+            state = GameStateCodec.encode(game.getState());
+            sinceSnapshot = 0;
+        }
+        byte[] snapshot = state;
+        submit(() -> {
+            write(type, now, data);
+            if (snapshot != null) {
+                snapshot(now, snapshot);
+            }
+        });
+    }
+
+    /**
+     * Egy feladat átadása az írószálnak; írási hiba esetén a napló kikapcsol.
+     */
+    private void submit(Task task) {
+        try {
+            writer.execute(() -> {
+                try {
+                    task.run();
+                } catch (IOException e) {
+                    disable(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Game journal is closed, event dropped");
+        }
+    }
+
+    /**
+     * Új szegmens nyitása vagy (folytatáskor) a legutóbbi, le nem zárt szegmens folytatása. Az írószálon fut.
+     */
+    private void start(long now, long seed, byte[] state) throws IOException {
+        closeSegment();
+        if (state != null && reopen()) {
+            write(Type.RESUMED, now, new byte[0]);
+            snapshot(now, state);
+            return;
+        }
+
+        Files.createDirectories(directory);
+        startedAt = now;
+        Path segment = directory.resolve(String.format("game-%013d-%016x%s", startedAt, seed, EXTENSION));
+        markLatest(segment); // A szegmens előtt: összeomláskor a mutató legfeljebb egy nem létező fájlra mutat
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        write(Type.STARTED, now, ByteBuffer.allocate(16).putLong(seed).putLong(startedAt).array());
+        if (state != null) {
+            snapshot(now, state); // Mentési fájlból folytatott játék: az állapot a pillanatképből állítható vissza
+        }
+        retain();
+    }
+
+    /**
+     * A mutatófájl átírása a megadott szegmensre (atomi cserével).
+     */
+    private void markLatest(Path segment) throws IOException {
+        Path tmp = directory.resolve(LATEST_FILE + ".tmp");
+        Files.writeString(tmp, segment.getFileName().toString());
+        Files.move(tmp, directory.resolve(LATEST_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A megtartottnál régebbi szegmensek törlése. A könyvtárban így legfeljebb eggyel több szegmens van a
+     * megtartottnál, a bejárás költsége korlátos.
+     */
+    private void retain() {
+        try {
+            List<Path> segments = segments(directory);
+            for (int i = 0; i < segments.size() - retained; i++) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete old game journal segments", e);
+        }
+    }
+
+    /**
+     * A legutóbbi szegmens megnyitása hozzáfűzésre, ha le nem zárt játékot tartalmaz; a sérült vége levágódik.
+     *
+     * @return true, ha a szegmens folytatható
+     */
+    private boolean reopen() throws IOException {
+        Path segment = latest(directory);
+        if (segment == null) {
+            return false;
+        }
+        Scan scan = scan(segment);
+        List<Entry> entries = scan.entries;
+        if (entries.isEmpty() || entries.get(0).getType() != Type.STARTED
+                || entries.get(entries.size() - 1).isTerminal()) {
+            return false;
+        }
+
+        channel = FileChannel.open(segment, StandardOpenOption.WRITE);
+        channel.truncate(scan.validLength); // A félbeszakadt utolsó keret eldobása
+        channel.position(scan.validLength);
+        startedAt = entries.get(0).getStartedAt();
+        return true;
+    }
+
+    /**
+     * Egy pillanatkép írása és a szegmens lemezre szinkronizálása. Az írószálon fut.
+     */
+    private void snapshot(long time, byte[] state) throws IOException {
+        if (channel == null) {
+            return;
+        }
+        write(Type.SNAPSHOT, time, state);
+        channel.force(false);
+    }
+
+    /**
+     * Egy keret összeállítása (hossz, típus, a játék kezdete óta eltelt idő, adat, ellenőrzőösszeg) és kiírása
+     * a szegmens végére. Az írószálon fut; nyitott szegmens nélkül nem ír.
+     */
+    private void write(Type type, long time, byte[] data) throws IOException {
+        if (channel == null) {
+            return;
+        }
+        long elapsed = Math.max(0, time - startedAt);
+        frame.clear().putShort((short) data.length).put((byte) type.ordinal())
+                .putInt((int) Math.min(elapsed, Integer.MAX_VALUE)).put(data);
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), 0, frame.position());
+        frame.putInt((int) crc.getValue()).flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    private void closeSegment() {
+        if (channel != null) {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to close game journal", e);
+            }
+            channel = null;
+        }
+    }
+
+    private void disable(IOException e) {
+        LOGGER.log(Level.WARNING, "Game journal write failed, journaling disabled for this game", e);
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+            // A csatorna már használhatatlan
+        }
+        channel = null;
+    }
+
+    /**
+     * Egy szegmens kereteinek ellenőrzése és beolvasása az első hiányos vagy sérült keretig.
+     */
+    private static Scan scan(Path segment) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        List<Entry> entries = new ArrayList<>();
+        CRC32 crc = new CRC32();
+
+        while (data.remaining() >= HEADER_SIZE + 4) {
+            int start = data.position();
+            int length = data.getShort(start) & 0xFFFF;
+            int type = data.get(start + 2);
+            if (length > MAX_PAYLOAD || type < 0 || type >= Type.values().length
+                    || data.remaining() < HEADER_SIZE + length + 4) {
+                break;
+            }
+            crc.reset();
+            crc.update(data.array(), start, HEADER_SIZE + length);
+            if (data.getInt(start + HEADER_SIZE + length) != (int) crc.getValue()) {
+                break;
+            }
+
+            ByteBuffer payload = data.slice(start + HEADER_SIZE, length);
+            try {
+                entries.add(new Entry(Type.values()[type], data.getInt(start + 3), payload));
+            } catch (RuntimeException e) {
+                break; // Az ellenőrzőösszeg szerint ép, de értelmezhetetlen keret: itt ér véget az ép rész
+            }
+            data.position(start + HEADER_SIZE + length + 4);
+        }
+        return new Scan(entries, data.position());
+    }
+}
@@ -19,7 +19,8 @@ public class GameState implements Serializable {
     private final boolean fiftyfiftyUsed;   // A "50:50" segítség használatának állapota.
     private final boolean newQuestionUsed;  // Az "új kérdés" segítség használatának állapota.
     private final boolean crowdVoteUsed;    // A "közönségszavazás" segítség használatának állapota.
-    private final int timeLeft;             // A játék hátralévő ideje másodpercben.
+    private final int timeLeft;             // A játék hátralévő ideje másodpercben (felfelé kerekítve).
+    private final long timeLeftMillis;      // A játék pontos hátralévő ideje milliszekundumban (a régi mentésekben 0).
 
     /**
      * Konstruktor, amely inicializálja a játék állapotát.
@@ -29,15 +30,16 @@ public class GameState implements Serializable {
      * @param fiftyfiftyUsed    a "50:50" segítség használatának állapota
      * @param newQuestionUsed   az "új kérdés" segítség használatának állapota
      * @param crowdVoteUsed     a "közönségszavazás" segítség használatának állapota
-     * @param timeLeft          a játék hátralévő ideje másodpercben
+     * @param timeLeftMillis    a játék hátralévő ideje milliszekundumban
      */
-    public GameState(int round, Question currentQuestion, boolean fiftyfiftyUsed, boolean newQuestionUsed, boolean crowdVoteUsed, int timeLeft) {
+    public GameState(int round, Question currentQuestion, boolean fiftyfiftyUsed, boolean newQuestionUsed, boolean crowdVoteUsed, long timeLeftMillis) {
         this.round = round;
         this.currentQuestion = currentQuestion;
         this.fiftyfiftyUsed = fiftyfiftyUsed;
         this.newQuestionUsed = newQuestionUsed;
         this.crowdVoteUsed = crowdVoteUsed;
-        this.timeLeft = timeLeft;
+        this.timeLeft = (int) ((timeLeftMillis + 999) / 1000);
+        this.timeLeftMillis = timeLeftMillis;
     }
 
     // Getterek az állapotadatokhoz
@@ -95,4 +97,14 @@ public class GameState implements Serializable {
     public int getTimeLeft() {
         return timeLeft;
     }
+
+    /**
+     * Visszaadja a játék pontos hátralévő idejét milliszekundumban.
+     * A pontos maradék nélküli (régebbi) mentéseknél a másodpercben tárolt értékből számol.
+     *
+     * @return a játék hátralévő ideje milliszekundumban
+     */
+    public long getTimeLeftMillis() {
+        return timeLeftMillis > 0 ? timeLeftMillis : timeLeft * 1000L;
+    }
 }
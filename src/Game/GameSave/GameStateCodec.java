@@ -0,0 +1,154 @@
+package Game.GameSave;
+
+import Game.Question.Question;
+import Game.Question.QuestionBank;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A játékállapot tömör, verziózott bináris formátuma.
+ * A kérdést nem a teljes szövegével, hanem a stabil azonosítójával ({@link Question#getId()}) tárolja,
+ * betöltéskor a kérdésbankból keresi vissza; így egy mentés néhány tucat bájt, és a Java sorosítás nélkül
+ * mikroszekundumok alatt írható és olvasható.
+ *
+ * A fájl felépítése (minden szám big-endian):
+ * <pre>
+ * int  magic ("LOIS")
+ * byte verzió
+ * byte kör
+ * byte segítségek (bit 0: 50:50, bit 1: új kérdés, bit 2: közönségszavazás)
+ * int  hátralévő idő milliszekundumban
+ * long a kérdés azonosítója (0, ha nincs kérdés)
+ * int  CRC32 az előző mezőkre
+ * </pre>
+ */
+public final class GameStateCodec {
+
+    public static final int MAGIC = 0x4C4F4953;  // "LOIS"
+    public static final byte VERSION = 1;        // A formátum verziója.
+    public static final int SIZE = 23;           // Egy mentés mérete bájtban.
+
+    private static final int FIFTY_FIFTY = 1;
+    private static final int NEW_QUESTION = 1 << 1;
+    private static final int CROWD_VOTE = 1 << 2;
+
+    private GameStateCodec() {
+    }
+
+    /**
+     * A játékállapot kódolása.
+     *
+     * @param state a játékállapot
+     * @return a kódolt állapot ({@value #SIZE} bájt)
+     */
+    public static byte[] encode(GameState state) {
+        ByteBuffer buf = ByteBuffer.allocate(SIZE);
+        buf.putInt(MAGIC);
+        buf.put(VERSION);
+        buf.put((byte) state.getRound());
+        buf.put((byte) ((state.isFiftyfiftyUsed() ? FIFTY_FIFTY : 0)
+                | (state.isNewQuestionUsed() ? NEW_QUESTION : 0)
+                | (state.isCrowdVoteUsed() ? CROWD_VOTE : 0)));
+        buf.putInt((int) Math.min(Math.max(0, state.getTimeLeftMillis()), Integer.MAX_VALUE));
+        buf.putLong(state.getCurrentQuestion() == null ? 0 : state.getCurrentQuestion().getId());
+        buf.putInt(crc(buf.array(), SIZE - 4));
+        return buf.array();
+    }
+
+    /**
+     * Egy kódolt játékállapot visszafejtése. A kérdést a megadott bankból keresi vissza; ha a kérdés
+     * azóta kikerült a bankból, az állapot kérdése null.
+     *
+     * @param data      a kódolt állapot
+     * @param questions a kérdésbank, amelyből a kérdés visszakereshető
+     * @return a játékállapot
+     * @throws IOException ha az adat sérült, vagy ismeretlen verziójú
+     */
+    public static GameState decode(byte[] data, QuestionBank questions) throws IOException {
+        if (data.length != SIZE) {
+            throw new IOException("Invalid save size: " + data.length);
+        }
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        if (buf.getInt() != MAGIC) {
+            throw new IOException("Not a game save file");
+        }
+        byte version = buf.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save version: " + version);
+        }
+        if (buf.getInt(SIZE - 4) != crc(data, SIZE - 4)) {
+            throw new IOException("Save file checksum mismatch");
+        }
+
+        int round = buf.get() & 0xFF;
+        int flags = buf.get();
+        long timeLeftMillis = buf.getInt() & 0xFFFFFFFFL;
+        long id = buf.getLong();
+        return new GameState(round, id == 0 ? null : questions.getById(id),
+                (flags & FIFTY_FIFTY) != 0, (flags & NEW_QUESTION) != 0, (flags & CROWD_VOTE) != 0, timeLeftMillis);
+    }
+
+    /**
+     * A játékállapot atomi kiírása: egy ideiglenes fájlba ír, lemezre szinkronizálja, majd átnevezi,
+     * így összeomláskor is vagy a régi, vagy az új mentés marad meg.
+     *
+     * @param state a játékállapot
+     * @param file  a mentési fájl
+     * @throws IOException ha az írás nem sikerül
+     */
+    public static void write(GameState state, Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(encode(state));
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Egy mentési fájl beolvasása.
+     *
+     * @param file      a mentési fájl
+     * @param questions a kérdésbank, amelyből a kérdés visszakereshető
+     * @return a játékállapot
+     * @throws IOException ha a fájl nem olvasható vagy sérült
+     */
+    public static GameState read(Path file, QuestionBank questions) throws IOException {
+        return decode(Files.readAllBytes(file), questions);
+    }
+
+    /**
+     * Egy régi, Java sorosítással írt mentés (gamestate.ser) beolvasása az átálláshoz.
+     *
+     * @param file a régi mentési fájl
+     * @return a játékállapot
+     * @throws IOException ha a fájl nem olvasható vagy nem játékállapotot tartalmaz
+     */
+    public static GameState readLegacy(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream ois = new ObjectInputStream(in)) {
+            return (GameState) ois.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not a legacy game save: " + file, e);
+        }
+    }
+
+    private static int crc(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+}
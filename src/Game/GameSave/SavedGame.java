@@ -0,0 +1,83 @@
+package Game.GameSave;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A folytatandó játék fájljainak (játéknapló, mentési fájl, régi formátumú mentés) beolvasott tartalma.
+ * A beolvasás nem használja a kérdésbankot, így induláskor a bank betöltésével párhuzamosan is történhet;
+ * a kérdések azonosítóinak visszakeresése a betöltött bankból a {@link Game.Game} dolga, és már nem olvas
+ * a lemezről.
+ */
+public final class SavedGame {
+
+    /**
+     * Nincs folytatható játék.
+     */
+    public static final SavedGame NONE = new SavedGame(null, null, null);
+
+    private final List<GameJournal.Entry> journal; // A legutóbbi naplószegmens eseményei, vagy null.
+    private final byte[] save;                     // A mentési fájl tartalma, vagy null.
+    private final GameState legacy;                // A régi formátumú mentés, vagy null.
+
+    private SavedGame(List<GameJournal.Entry> journal, byte[] save, GameState legacy) {
+        this.journal = journal;
+        this.save = save;
+        this.legacy = legacy;
+    }
+
+    /**
+     * A mentett játék fájljainak beolvasása. A régi formátumú mentést csak akkor olvassa, ha nincs új mentés.
+     *
+     * @param journalDir a játéknapló könyvtára
+     * @param save       a mentési fájl
+     * @param legacy     a régi formátumú mentési fájl
+     * @return a beolvasott tartalom
+     * @throws IOException ha valamelyik fájl nem olvasható
+     */
+    public static SavedGame read(Path journalDir, Path save, Path legacy) throws IOException {
+        Path segment = GameJournal.latest(journalDir);
+        List<GameJournal.Entry> journal = segment == null ? null : GameJournal.read(segment);
+        byte[] data = Files.exists(save) ? Files.readAllBytes(save) : null;
+        GameState old = data == null && Files.exists(legacy) ? GameStateCodec.readLegacy(legacy) : null;
+        return new SavedGame(journal, data, old);
+    }
+
+    /**
+     * Visszaadja a legutóbbi naplószegmens eseményeit ({@link GameJournal#recover(List, Game.Question.QuestionBank)}).
+     *
+     * @return az események, vagy null, ha nincs napló
+     */
+    public List<GameJournal.Entry> getJournal() {
+        return journal;
+    }
+
+    /**
+     * Visszaadja a mentési fájl kódolt tartalmát ({@link GameStateCodec#decode}).
+     *
+     * @return a kódolt állapot, vagy null, ha nincs mentési fájl
+     */
+    public byte[] getSave() {
+        return save;
+    }
+
+    /**
+     * Visszaadja a régi formátumú mentést.
+     *
+     * @return a játékállapot, vagy null, ha nincs régi mentés (vagy van új formátumú)
+     */
+    public GameState getLegacy() {
+        return legacy;
+    }
+
+    /**
+     * Visszaadja, hogy egyik fájl sem létezik, tehát biztosan új játék indul.
+     *
+     * @return true, ha nincs mentett játék
+     */
+    public boolean isEmpty() {
+        return journal == null && save == null && legacy == null;
+    }
+}
@@ -0,0 +1,291 @@
+package Game.GameSave;
+
+import Game.Question.QuestionBank;
+import Game.Score.Highscore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Több szüneteltetett játékot tároló mentéstár, játékos- vagy munkamenet-azonosító szerint.
+ * A legutóbb használt mentések a memóriában maradnak; a legrégebben használtak (LRU) a beállított darabszám
+ * fölött, a beállított ideig nem használtak pedig az idő lejártakor lemezre kerülnek, és folytatáskor
+ * töltődnek vissza. Egy mentés mindig vagy a memóriában, vagy a lemezen van.
+ *
+ * Egy lemezre írt mentés a {@link GameStateCodec} rekordja, utána a játékos neve (unsigned short bájthossz
+ * és UTF-8 bájtok, karakterhatáron legfeljebb {@value Highscore#MAX_TEXT} bájtra vágva); a fájl neve az
+ * azonosító URL-biztos Base64 kódolása. Az írás atomi (ideiglenes fájl és átnevezés). Ha a kiírás nem
+ * sikerül (például a könyvtár nem írható), a mentés a memóriában marad. A metódusok szálbiztosak.
+ */
+public class SessionStore implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionStore.class.getName());
+
+    /**
+     * A mentések alapértelmezett könyvtára.
+     */
+    public static final String DEFAULT_DIR = "sessions";
+
+    /**
+     * A memóriában tartott mentések alapértelmezett legnagyobb száma.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * Az alapértelmezett idő, amely után a nem használt mentés lemezre kerül.
+     */
+    public static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final String EXTENSION = ".session";
+
+    /**
+     * Egy szüneteltetett játék: a játékos neve és a játékállapot.
+     */
+    public static final class Entry {
+        private final String player;
+        private final GameState state;
+        private long lastAccess; // Az utolsó használat ideje (a tár órája szerint, ms).
+
+        private Entry(String player, GameState state) {
+            this.player = player;
+            this.state = state;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public GameState getState() {
+            return state;
+        }
+    }
+
+    private final Path directory;       // A lemezre került mentések könyvtára.
+    private final QuestionBank questions; // A kérdések visszakereséséhez betöltéskor.
+    private final int capacity;         // A memóriában tartott mentések legnagyobb száma.
+    private final long idleMillis;      // Ennyi használaton kívüli idő után kerül lemezre egy mentés.
+    private final LongSupplier clock;   // Az idő forrása (ms).
+
+    private final ReentrantLock lock = new ReentrantLock(); // Virtuális szálakon sem foglal le platformszálat.
+    private final LinkedHashMap<String, Entry> hot = new LinkedHashMap<>(16, 0.75f, true); // Használati sorrendben.
+
+    /**
+     * Konstruktor az alapértelmezett kapacitással és idővel.
+     *
+     * @param directory a lemezre került mentések könyvtára
+     * @param questions a kérdésbank, amelyből a betöltött mentések kérdése visszakereshető
+     */
+    public SessionStore(Path directory, QuestionBank questions) {
+        this(directory, questions, DEFAULT_CAPACITY, DEFAULT_IDLE_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param directory  a lemezre került mentések könyvtára (az első kiíráskor jön létre)
+     * @param questions  a kérdésbank, amelyből a betöltött mentések kérdése visszakereshető
+     * @param capacity   a memóriában tartott mentések legnagyobb száma (0: minden mentés azonnal lemezre kerül)
+     * @param idleMillis ennyi használaton kívüli idő után kerül lemezre egy mentés
+     * @param clock      az idő forrása milliszekundumban
+     */
+    public SessionStore(Path directory, QuestionBank questions, int capacity, long idleMillis, LongSupplier clock) {
+        if (capacity < 0 || idleMillis < 0) {
+            throw new IllegalArgumentException("capacity and idleMillis must not be negative");
+        }
+        this.directory = directory;
+        this.questions = questions;
+        this.capacity = capacity;
+        this.idleMillis = idleMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Egy játék szüneteltetése: a mentés a memóriába kerül (a korábbi, azonos azonosítójú mentés helyére).
+     *
+     * @param key    a játékos vagy munkamenet azonosítója
+     * @param player a játékos neve
+     * @param state  a játékállapot
+     */
+    public void put(String key, String player, GameState state) {
+        Entry entry = new Entry(player, state);
+        lock.lock();
+        try {
+            entry.lastAccess = clock.getAsLong();
+            hot.put(key, entry);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Egy szüneteltetett játék kivétele a tárból a folytatáshoz; szükség esetén a lemezről tölti be.
+     *
+     * @param key a játékos vagy munkamenet azonosítója
+     * @return a mentés, vagy null, ha nincs ilyen (vagy a lemezen lévő mentés sérült)
+     */
+    public Entry take(String key) {
+        lock.lock();
+        try {
+            evict();
+            Entry entry = hot.remove(key);
+            Path file = file(key);
+            if (Files.exists(file)) {
+                if (entry == null) {
+                    entry = read(file);
+                }
+                Files.delete(file);
+            }
+            return entry;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to load paused session " + key, e);
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Visszaadja, hogy van-e mentés a megadott azonosítóval (a memóriában vagy a lemezen).
+     *
+     * @param key a játékos vagy munkamenet azonosítója
+     * @return true, ha van folytatható mentés
+     */
+    public boolean contains(String key) {
+        lock.lock();
+        try {
+            return hot.containsKey(key) || Files.exists(file(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Visszaadja a memóriában tartott mentések számát.
+     *
+     * @return a mentések száma
+     */
+    public int getInMemoryCount() {
+        lock.lock();
+        try {
+            return hot.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A hosszabb ideje nem használt és a kapacitás fölötti mentések lemezre írása.
+     * A tár minden művelete elvégzi; időzítve is hívható, hogy a tétlen tár is felszabaduljon.
+     */
+    public void evictIdle() {
+        lock.lock();
+        try {
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Az összes memóriában lévő mentés lemezre írása (például leállításkor).
+     * A ki nem írható mentések a memóriában maradnak.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            for (Iterator<Map.Entry<String, Entry>> it = hot.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Entry> e = it.next();
+                if (write(e.getKey(), e.getValue())) {
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A legrégebben használt mentések kiírása, amíg a kapacitás fölött vagyunk, vagy a legrégebbi mentés lejárt.
+     * A használati sorrend miatt az első nem lejárt mentésnél meg lehet állni. A ki nem írható mentés
+     * a memóriában marad, így egy lemezhiba idejére a kapacitás túlléphető, de mentés nem vész el.
+     */
+    private void evict() {
+        long now = clock.getAsLong();
+        for (Iterator<Map.Entry<String, Entry>> it = hot.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Entry> e = it.next();
+            if (hot.size() <= capacity && now - e.getValue().lastAccess < idleMillis) {
+                break;
+            }
+            if (write(e.getKey(), e.getValue())) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Egy mentés atomi lemezre írása.
+     *
+     * @return true, ha a mentés a lemezre került, és a memóriából törölhető
+     */
+    private boolean write(String key, Entry entry) {
+        byte[] state = GameStateCodec.encode(entry.state);
+        byte[] player = Highscore.encodeText(entry.player);
+        ByteBuffer buf = ByteBuffer.allocate(state.length + 2 + player.length)
+                .put(state).putShort((short) player.length).put(player).flip();
+
+        Path file = file(key);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write paused session " + key + ", keeping it in memory", e);
+            return false;
+        }
+    }
+
+    private Entry read(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buf.remaining() < GameStateCodec.SIZE + 2) {
+            throw new IOException("Truncated session file: " + file);
+        }
+        byte[] state = new byte[GameStateCodec.SIZE];
+        buf.get(state);
+        byte[] player = new byte[buf.getShort() & 0xFFFF];
+        if (buf.remaining() < player.length) {
+            throw new IOException("Truncated session file: " + file);
+        }
+        buf.get(player);
+        return new Entry(new String(player, StandardCharsets.UTF_8), GameStateCodec.decode(state, questions));
+    }
+
+    private Path file(String key) {
+        String name = Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(name + EXTENSION);
+    }
+}
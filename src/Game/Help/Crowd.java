@@ -2,9 +2,8 @@ package Game.Help;
 
 import Game.Game;
 import Game.Question.Question;
-import Display.MainGameDisplay;
-
-import java.util.Random;
+import Game.Engine.GameListener;
+import Game.Randomness.RandomSource;
 
 /**
  * A Crowd osztály a "közönségszavazás" segítséget valósítja meg a játékban.
@@ -13,19 +12,19 @@ import java.util.Random;
 public class Crowd extends Help {
 
     /**
-     * Konstruktor, amely inicializálja a játékot és a GUI-t a közönségszavazáshoz.
+     * Konstruktor, amely inicializálja a játékot és a figyelőt a közönségszavazáshoz.
      *
-     * @param game    a játék logikáját reprezentáló objektum
-     * @param display a játék grafikus felületét reprezentáló objektum
+     * @param game     a játék logikáját reprezentáló objektum
+     * @param listener a segítség eredményét fogadó figyelő
      */
-    public Crowd(Game game, MainGameDisplay display) {
-        super(game, display);
+    public Crowd(Game game, GameListener listener) {
+        super(game, listener);
     }
 
     /**
      * A közönségszavazás segítség megvalósítása.
      * Lekéri az aktuális kérdést és helyes választ, majd szimulálja a szavazás eredményét,
-     * és megjeleníti azokat a GUI-n.
+     * és továbbítja azokat a figyelőnek.
      */
     @Override
     public void help() {
@@ -38,11 +37,8 @@ public class Crowd extends Help {
         // Szimuláljuk a közönség szavazatait
         int[] votes = generateVotes(correctAnswer);
 
-        // Megjelenítjük az eredményeket a grafikus felületen
-        display.showCrowdResults(votes);
-
-        // Kikapcsoljuk a közönségszavazás gombot, hogy ne lehessen újra használni
-        display.enableCrowdVoteButton(false);
+        // Továbbítjuk az eredményeket (a grafikus felület megjeleníti őket)
+        listener.crowdVoted(votes);
     }
 
     /**
@@ -57,7 +53,7 @@ public class Crowd extends Help {
         int totalVotes = 100; // Az összes szavazat (100%).
 
         // Véletlenszerűen meghatározzuk a helyes válasz százalékát (40% és 70% között).
-        Random random = new Random();
+        RandomSource random = game.getRandom();
         int correctVotePercentage = 40 + random.nextInt(31); // 40-70% közötti érték
 
         // A maradék szavazatok száma
@@ -1,12 +1,7 @@
 package Game.Help;
 
 import Game.Game;
-import Display.MainGameDisplay;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Random;
+import Game.Engine.GameListener;
 
 /**
  * A FiftyFifty osztály a "felező" segítséget valósítja meg a játékban.
@@ -15,13 +10,13 @@ import java.util.Random;
 public class FiftyFifty extends Help {
 
     /**
-     * Konstruktor, amely inicializálja a játékot és a GUI-t a felező segítséghez.
+     * Konstruktor, amely inicializálja a játékot és a figyelőt a felező segítséghez.
      *
-     * @param game    a játék logikáját reprezentáló objektum
-     * @param display a játék grafikus felületét reprezentáló objektum
+     * @param game     a játék logikáját reprezentáló objektum
+     * @param listener a segítség eredményét fogadó figyelő
      */
-    public FiftyFifty(Game game, MainGameDisplay display) {
-        super(game, display); // Az ősosztály konstruktora meghívódik
+    public FiftyFifty(Game game, GameListener listener) {
+        super(game, listener); // Az ősosztály konstruktora meghívódik
     }
 
     /**
@@ -38,24 +33,19 @@ public class FiftyFifty extends Help {
             throw new IllegalStateException("Érvénytelen válasz karakter: " + cAns);
         }
 
-        // Kikapcsoljuk a felező gombot, hogy ne lehessen újra használni
-        display.enableFiftyFiftyButton(false);
-
-        // Lista létrehozása az összes válaszopcióval
-        List<Character> options = new ArrayList<>(Arrays.asList('a', 'b', 'c', 'd'));
-
-        // Eltávolítjuk a listából a helyes választ
-        options.remove(Character.valueOf(cAns));
-
-        // Véletlenszerűen kiválasztunk két helytelen választ
-        Random r = new Random();
-        char firstIncorrect = options.remove(r.nextInt(options.size())); // Első hibás válasz
-        char secondIncorrect = options.remove(r.nextInt(options.size())); // Második hibás válasz
+        // A három hibás válasz közül véletlenszerűen egy marad, a másik kettőt letiltjuk
+        int kept = game.getRandom().nextInt(3);
+        char[] removed = new char[2]; // A letiltott hibás válaszok
+        int count = 0;
+        int wrong = 0; // A hibás válaszok sorszáma a betűrendben
+        for (char option = 'a'; option <= 'd'; option++) {
+            if (option == cAns || wrong++ == kept) {
+                continue; // A helyes és a megtartott hibás válasz engedélyezett marad
+            }
+            removed[count++] = option;
+        }
 
-        // A GUI-n letiltjuk a két kiválasztott hibás válasz gombját
-        if (firstIncorrect == 'a' || secondIncorrect == 'a') display.enableAButton(false);
-        if (firstIncorrect == 'b' || secondIncorrect == 'b') display.enableBButton(false);
-        if (firstIncorrect == 'c' || secondIncorrect == 'c') display.enableCButton(false);
-        if (firstIncorrect == 'd' || secondIncorrect == 'd') display.enableDButton(false);
+        // A figyelő (a grafikus felület) letiltja a két hibás válasz gombját
+        listener.answersRemoved(removed[0], removed[1]);
     }
 }
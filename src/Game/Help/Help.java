@@ -1,7 +1,7 @@
 package Game.Help;
 
 import Game.Game;
-import Display.MainGameDisplay;
+import Game.Engine.GameListener;
 
 /**
  * Ez az absztrakt osztály a segítségek alapját képezi a játékban.
@@ -12,18 +12,18 @@ public abstract class Help {
     // Referencia a játék logikájára.
     protected Game game;
 
-    // Referencia a játék grafikus felhasználói felületére (GUI).
-    protected MainGameDisplay display;
+    // A segítség eredményét fogadó figyelő (például a grafikus felület).
+    protected GameListener listener;
 
     /**
-     * Konstruktor, amely inicializálja a játék és a GUI referenciait.
+     * Konstruktor, amely inicializálja a játék és a figyelő referenciáit.
      *
-     * @param game    a játék logikáját reprezentáló objektum
-     * @param display a játék grafikus felületét reprezentáló objektum
+     * @param game     a játék logikáját reprezentáló objektum
+     * @param listener a segítség eredményét fogadó figyelő
      */
-    public Help(Game game, MainGameDisplay display) {
+    public Help(Game game, GameListener listener) {
         this.game = game;
-        this.display = display;
+        this.listener = listener;
     }
 
     /**
@@ -1,6 +1,6 @@
 package Game.Help;
 
-import Display.MainGameDisplay;
+import Game.Engine.GameListener;
 import Game.Question.Question;
 import Game.Game;
 
@@ -11,38 +11,35 @@ import Game.Game;
 public class NewQuestion extends Help {
 
     /**
-     * Konstruktor, amely inicializálja a játékot és a GUI-t az "új kérdés" segítséghez.
+     * Konstruktor, amely inicializálja a játékot és a figyelőt az "új kérdés" segítséghez.
      *
-     * @param game    a játék logikáját reprezentáló objektum
-     * @param display a játék grafikus felületét reprezentáló objektum
+     * @param game     a játék logikáját reprezentáló objektum
+     * @param listener a segítség eredményét fogadó figyelő
      */
-    public NewQuestion(Game game, MainGameDisplay display) {
-        super(game, display); // Az ősosztály konstruktora meghívódik
+    public NewQuestion(Game game, GameListener listener) {
+        super(game, listener); // Az ősosztály konstruktora meghívódik
     }
 
     /**
      * Az "új kérdés" segítség megvalósítása.
      * Ez a metódus új kérdést kér le az aktuális nehézségi szintről,
-     * és frissíti a játék állapotát és a GUI-t.
+     * és frissíti a játék állapotát, majd értesíti a figyelőt.
      */
     @Override
     public void help() {
         // Lekérjük az aktuális körhöz tartozó nehézségi szintet
         int currentDifficulty = game.getRound();
 
-        // Új kérdés lekérése az aktuális nehézségi szintről
-        Question newQuestion = game.getQuestionsData().getQuestion(currentDifficulty);
+        // Új, a játékban még nem látott kérdés lekérése az aktuális nehézségi szintről
+        Question newQuestion = game.drawQuestion(currentDifficulty);
 
         // Ha sikerült új kérdést találni
         if (newQuestion != null) {
             // Az új kérdést beállítjuk a játék logikájában
             game.setQuestion(newQuestion);
 
-            // Frissítjük a kérdés megjelenítését a grafikus felületen
-            display.updateQuestionDisplay(newQuestion);
-
-            // Kikapcsoljuk az "új kérdés" gombot, hogy ne lehessen újra használni
-            display.enableNewQuestionButton(false);
+            // Értesítjük a figyelőt (a grafikus felület frissíti a kérdés megjelenítését)
+            listener.questionReplaced(newQuestion);
         }
     }
 }
@@ -0,0 +1,204 @@
+package Game.Question;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link QuestionBankCompiler} által lefordított bináris kérdésbankot olvasó kérdésbank.
+ * A fájlt csak olvasható módon a memóriába képezi, és betöltéskor csak a fejlécet és a szinttáblát
+ * olvassa be és ellenőrzi; egy rekordból csak akkor készül Question objektum, amikor azt kiválasztják.
+ * Az azonosító szerinti keresés a fájlba fordított nyílt címzésű hashtáblában, közvetlenül a leképezett
+ * pufferen próbál, így a JVM saját memóriájában kérdésenként semmi nem épül.
+ * Így az indulás a bank méretétől függetlenül szinte azonnali, és az egy gépen futó JVM-ek
+ * az operációs rendszer lapgyorsítótárán keresztül ugyanazt a fizikai memóriát használják.
+ * Egy sérült rekordpozíció csak a rekord dekódolásakor derül ki ({@link IllegalStateException}).
+ * A közös puffer pozícióját soha nem módosítja, ezért több szálról is használható.
+ */
+public class MappedQuestionsData implements QuestionBank {
+
+    private final MappedByteBuffer buffer; // A fájl memóriába képezett tartalma.
+    private final int[] counts;            // Az egyes szintekhez tartozó kérdések száma.
+    private final int[] tableOffsets;      // Az egyes szintek eltolástáblájának pozíciója.
+    private final int size;                // Az összes kérdés száma.
+    private final int idCapacity;          // Az azonosítótábla rekeszeinek száma (kettő hatványa).
+    private final int idTable;             // Az azonosítótábla pozíciója.
+
+    /**
+     * Konstruktor, amely megnyitja és a memóriába képezi a bináris kérdésbankot.
+     *
+     * @param path a lefordított kérdésbank elérési útja
+     * @throws FileNotFoundException ha a fájl nem található
+     * @throws IOException           ha a fájl nem olvasható vagy nem érvényes kérdésbank
+     */
+    public MappedQuestionsData(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            // A leképezés a csatorna lezárása után is érvényes marad.
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File not found: " + path);
+        }
+
+        if (buffer.capacity() < QuestionBankCompiler.HEADER_SIZE || buffer.getInt(0) != QuestionBankCompiler.MAGIC) {
+            throw new IOException("Not a compiled question bank: " + path);
+        }
+        short version = buffer.getShort(4);
+        if (version != QuestionBankCompiler.VERSION) {
+            throw new IOException("Unsupported question bank version " + version + " in " + path);
+        }
+
+        int levels = buffer.getShort(6);
+        int total = buffer.getInt(8);
+        long levelTableEnd = QuestionBankCompiler.HEADER_SIZE + (long) levels * QuestionBankCompiler.LEVEL_ENTRY_SIZE;
+        if (levels < 0 || levelTableEnd > buffer.capacity()) {
+            throw new IOException("Truncated question bank: " + path);
+        }
+        counts = new int[levels];
+        tableOffsets = new int[levels];
+        long sum = 0;
+        for (int d = 0; d < levels; d++) {
+            int entry = QuestionBankCompiler.HEADER_SIZE + d * QuestionBankCompiler.LEVEL_ENTRY_SIZE;
+            counts[d] = buffer.getInt(entry);
+            tableOffsets[d] = buffer.getInt(entry + 4);
+            if (counts[d] < 0 || tableOffsets[d] < levelTableEnd) {
+                throw new IOException("Corrupt question bank: invalid table of level " + d + " in " + path);
+            }
+            if (tableOffsets[d] + (long) QuestionBankCompiler.OFFSET_ENTRY_SIZE * counts[d] > buffer.capacity()) {
+                throw new IOException("Truncated question bank: " + path);
+            }
+            sum += counts[d];
+        }
+        if (total != sum) {
+            throw new IOException("Corrupt question bank: header size " + total + " does not match " + sum + " questions in " + path);
+        }
+        size = total;
+
+        // Az azonosítótábla: legalább egy üres rekesz kell, különben a próbálás nem ér véget.
+        idCapacity = buffer.getInt(12);
+        idTable = buffer.getInt(16);
+        if (idCapacity <= size || Integer.bitCount(idCapacity) != 1 || idTable < levelTableEnd) {
+            throw new IOException("Corrupt question bank: invalid id table in " + path);
+        }
+        if (idTable + (long) QuestionBankCompiler.ID_ENTRY_SIZE * idCapacity > buffer.capacity()) {
+            throw new IOException("Truncated question bank: " + path);
+        }
+
+        // A rekordok sorban követik egymást, és a fájl az utolsó rekorddal ér véget: egy csonka fájl
+        // már megnyitáskor kiderül (és a hívó a JSON-ra térhet vissza), ne játék közben.
+        for (int d = levels - 1; d >= 0; d--) {
+            if (counts[d] > 0) {
+                int last = buffer.getInt(entry(d, counts[d] - 1));
+                if (last < QuestionBankCompiler.HEADER_SIZE || recordEnd(last) != buffer.capacity()) {
+                    throw new IOException("Truncated question bank: " + path);
+                }
+                break;
+            }
+        }
+    }
+
+    @Override
+    public int getQuestionCount(int difficulty) {
+        return difficulty >= 0 && difficulty < counts.length ? counts[difficulty] : 0;
+    }
+
+    /**
+     * Visszaadja a megadott azonosítójú kérdést, konstans időben (csak a megtalált rekordot dekódolja).
+     *
+     * @param id a kérdés azonosítója
+     * @return a kérdés, vagy null, ha nincs ilyen
+     */
+    @Override
+    public Question getById(long id) {
+        int slot = QuestionBankCompiler.slot(id, idCapacity);
+        for (int probes = 0; probes < idCapacity; probes++) {
+            int position = idTable + slot * QuestionBankCompiler.ID_ENTRY_SIZE;
+            int index = buffer.getInt(position + 12);
+            if (index == 0) {
+                return null; // Üres rekesz: nincs ilyen azonosító
+            }
+            if (buffer.getLong(position) == id) {
+                return getQuestion(buffer.getInt(position + 8), index - 1);
+            }
+            slot = (slot + 1) & (idCapacity - 1);
+        }
+        return null;
+    }
+
+    @Override
+    public int getLevelCount() {
+        return counts.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A megadott kérdés rekordjának dekódolása a leképezett fájlból.
+     *
+     * @param difficulty a nehézségi szint
+     * @param index      a kérdés sorszáma a szinten belül
+     * @return a rekordból előállított kérdés
+     * @throws IndexOutOfBoundsException ha a szint vagy a sorszám érvénytelen
+     * @throws IllegalStateException     ha a rekord pozíciója sérült
+     */
+    @Override
+    public Question getQuestion(int difficulty, int index) {
+        if (index < 0 || index >= getQuestionCount(difficulty)) {
+            throw new IndexOutOfBoundsException("No question #" + index + " at difficulty " + difficulty);
+        }
+
+        int position = buffer.getInt(entry(difficulty, index));
+        if (position < QuestionBankCompiler.HEADER_SIZE || recordEnd(position) > buffer.capacity()) {
+            throw new IllegalStateException("Corrupt question bank: record offset " + position + " out of range");
+        }
+
+        // Saját pozícióval rendelkező nézet a rekordra, így a közös puffer állapota nem változik.
+        ByteBuffer record = buffer.duplicate().position(position);
+        char answer = (char) record.get();
+        String question = readString(record);
+        String a = readString(record);
+        String b = readString(record);
+        String c = readString(record);
+        String d = readString(record);
+        return new Question(difficulty, question, a, b, c, d, answer);
+    }
+
+    /**
+     * A megadott kérdés eltolástábla-bejegyzésének pozíciója (a bejegyzés a rekord pozíciója).
+     */
+    private int entry(int difficulty, int index) {
+        return tableOffsets[difficulty] + QuestionBankCompiler.OFFSET_ENTRY_SIZE * index;
+    }
+
+    /**
+     * Egy rekord végének pozíciója a szöveghosszak alapján (a szövegek dekódolása nélkül).
+     * Ha a rekord a fájl végén túlnyúlik, a fájlméretnél nagyobb értéket ad.
+     */
+    private long recordEnd(int record) {
+        long position = record + 1L; // A helyes válasz betűjele
+        for (int i = 0; i < 5; i++) {
+            if (position + 2 > buffer.capacity()) {
+                return position + 2;
+            }
+            position += 2 + (buffer.getShort((int) position) & 0xFFFF);
+        }
+        return position;
+    }
+
+    /**
+     * Egy hosszelőtagos UTF-8 szöveg olvasása a rekord aktuális pozíciójáról.
+     */
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort() & 0xFFFF];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
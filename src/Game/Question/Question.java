@@ -20,6 +20,8 @@ public class Question implements Serializable {
     private final String d; // 'D' válaszlehetőség.
     private final char answer; // A helyes válasz betűjele (pl. 'A').
 
+    private transient long id; // A tartalomból számolt azonosító (0, ha még nincs kiszámolva).
+
     /**
      * Konstruktor, amely inicializálja a kérdést és a hozzá tartozó adatokat.
      *
@@ -41,6 +43,29 @@ public class Question implements Serializable {
         this.answer = answer;
     }
 
+    /**
+     * Visszaadja a kérdés stabil azonosítóját: a kérdés szövegéből, a válaszlehetőségekből és a helyes válaszból
+     * számolt 64 bites FNV-1a hash. Nem függ a kérdés helyétől a bankban, így a kérdésfájl átrendezése
+     * vagy bővítése után is ugyanazt a kérdést azonosítja (például egy mentésben).
+     *
+     * @return a kérdés azonosítója
+     */
+    public long getId() {
+        long h = id;
+        if (h == 0) {
+            h = 0xcbf29ce484222325L;
+            for (String s : new String[]{question, a, b, c, d}) {
+                for (int i = 0; i < s.length(); i++) {
+                    h = (h ^ s.charAt(i)) * 0x100000001b3L;
+                }
+                h = (h ^ 0xFFFF) * 0x100000001b3L; // Elválasztó, hogy a mezőhatárok eltolása más hasht adjon
+            }
+            h = (h ^ Character.toLowerCase(answer)) * 0x100000001b3L;
+            id = h;
+        }
+        return h;
+    }
+
     /**
      * Visszaadja a kérdés nehézségi szintjét.
      *
@@ -0,0 +1,114 @@
+package Game.Question;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Ez az interfész egy kérdésbankot ír le, amely a kérdéseket nehézségi szint szerint csoportosítva tárolja.
+ * A kérdések szintenként 0-tól számozott sorszámmal érhetők el, így a kiválasztás konstans idejű.
+ * Megvalósításai: a JSON fájlból betöltött {@link QuestionsData} és a lefordított bináris fájlt
+ * memóriába képező {@link MappedQuestionsData}.
+ */
+public interface QuestionBank {
+
+    /**
+     * Visszaadja, hogy hány kérdés tartozik a megadott nehézségi szinthez.
+     *
+     * @param difficulty a nehézségi szint
+     * @return a szinthez tartozó kérdések száma (0, ha nincs ilyen szint)
+     */
+    int getQuestionCount(int difficulty);
+
+    /**
+     * Visszaadja a megadott nehézségi szint adott sorszámú kérdését.
+     *
+     * @param difficulty a nehézségi szint
+     * @param index      a kérdés sorszáma a szinten belül (0 és getQuestionCount(difficulty) - 1 között)
+     * @return a kérdés
+     * @throws IndexOutOfBoundsException ha a sorszám érvénytelen
+     */
+    Question getQuestion(int difficulty, int index);
+
+    /**
+     * Visszaadja a megadott azonosítójú kérdést ({@link Question#getId()}).
+     * A megvalósítások betöltéskor azonosító szerinti indexet építenek, így a keresés konstans idejű;
+     * az alapértelmezett megvalósítás végignézi a bankot.
+     *
+     * @param id a kérdés azonosítója
+     * @return a kérdés, vagy null, ha nincs ilyen azonosítójú kérdés a bankban
+     */
+    default Question getById(long id) {
+        for (int d = 0; d < getLevelCount(); d++) {
+            for (int i = 0; i < getQuestionCount(d); i++) {
+                Question q = getQuestion(d, i);
+                if (q.getId() == id) {
+                    return q;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visszaadja a nehézségi szintek számát, vagyis a legnagyobb előforduló szintnél eggyel nagyobb értéket.
+     *
+     * @return a szintek száma (0, ha a bank üres)
+     */
+    int getLevelCount();
+
+    /**
+     * Visszaadja a bankban lévő összes kérdés számát.
+     *
+     * @return a kérdések száma
+     */
+    int size();
+
+    /**
+     * Visszaadja a bank aktuális, a továbbiakban nem változó állapotát.
+     * A nem cserélhető bankok önmagukat adják vissza; a {@link ReloadableQuestionBank} az éppen aktív bankot.
+     *
+     * @return a bank pillanatnyi állapota
+     */
+    default QuestionBank snapshot() {
+        return this;
+    }
+
+    /**
+     * Egy véletlenszerű kérdés lekérése a megadott nehézségi szint alapján.
+     *
+     * @param difficulty a kívánt nehézségi szint
+     * @return egy véletlenszerű kérdés az adott nehézségi szintről, vagy null, ha nincs ilyen kérdés
+     */
+    default Question getQuestion(int difficulty) {
+        int count = getQuestionCount(difficulty);
+        return count == 0 ? null : getQuestion(difficulty, ThreadLocalRandom.current().nextInt(count));
+    }
+
+    /**
+     * Megnyitja a megadott JSON kérdésfájlhoz tartozó kérdésbankot.
+     * Ha a fájl mellett létezik legalább olyan friss lefordított bináris bank
+     * (azonos név, {@value QuestionBankCompiler#EXTENSION} kiterjesztéssel), akkor azt képezi a memóriába,
+     * különben a JSON fájlt tölti be.
+     *
+     * @param json a kérdéseket tartalmazó JSON fájl elérési útja
+     * @return a megnyitott kérdésbank
+     * @throws FileNotFoundException ha egyik fájl sem olvasható
+     */
+    static QuestionBank open(String json) throws FileNotFoundException {
+        File source = new File(json);
+        File compiled = new File(QuestionBankCompiler.compiledPath(json));
+
+        if (compiled.isFile() && (!source.exists() || compiled.lastModified() >= source.lastModified())) {
+            try {
+                return new MappedQuestionsData(compiled.getPath());
+            } catch (IOException e) {
+                // Sérült vagy régi formátumú bináris bank esetén a JSON fájlra esünk vissza.
+                Logger.getLogger(QuestionBank.class.getName()).warning("Ignoring compiled question bank " + compiled + ": " + e.getMessage());
+            }
+        }
+        return new QuestionsData(json);
+    }
+}
@@ -0,0 +1,210 @@
+package Game.Question;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A JSON kérdésfájlt tömör bináris kérdésbankká fordító eszköz, amelyet a {@link MappedQuestionsData} olvas.
+ *
+ * A fájl felépítése (minden szám big-endian):
+ * <pre>
+ * fejléc:        int magic ("LOIQ"), short verzió, short szintek száma (L), int kérdések száma (N),
+ *                int azonosítótábla rekeszszáma (C, kettő hatványa, legalább 2N), int azonosítótábla pozíciója
+ * szinttábla:    L darab (int kérdésszám, int eltolástábla pozíciója)
+ * eltolástáblák: szintenként kérdésszám darab int, a rekord abszolút pozíciója
+ * azonosítótábla: C darab rekesz (long kérdésazonosító, int szint, int sorszám + 1, üres rekeszben 0),
+ *                nyílt címzésű hashtábla lineáris próbálással, az azonosító alsó bitjeivel kezdve
+ * rekordok:      byte helyes válasz, majd 5 szöveg (kérdés, a, b, c, d), mindegyik
+ *                unsigned short bájthossz + UTF-8 bájtok, szintenként és sorszám szerint egymás után
+ * </pre>
+ * Az azonosítótábla a fájlban van, így az olvasónak semmit nem kell felépítenie a saját memóriájában.
+ *
+ * Futtatás: java Game.Question.QuestionBankCompiler [questions.json] [kimeneti fájl]
+ */
+public class QuestionBankCompiler {
+
+    public static final int MAGIC = 0x4C4F4951;   // "LOIQ"
+    public static final short VERSION = 3;        // A formátum verziója (3: azonosítótábla a fájlban).
+    public static final String EXTENSION = ".bin"; // A lefordított bank kiterjesztése.
+
+    static final int HEADER_SIZE = 20;      // A fejléc mérete bájtban.
+    static final int LEVEL_ENTRY_SIZE = 8;  // Egy szinttábla-bejegyzés mérete bájtban.
+    static final int OFFSET_ENTRY_SIZE = 4; // Egy eltolástábla-bejegyzés (a rekord pozíciója) mérete bájtban.
+    static final int ID_ENTRY_SIZE = 16;    // Egy azonosítótábla-rekesz (azonosító, szint, sorszám + 1) mérete bájtban.
+
+    public static void main(String[] args) throws IOException {
+        String json = args.length > 0 ? args[0] : "questions.json";
+        String out = args.length > 1 ? args[1] : compiledPath(json);
+
+        QuestionsData data = new QuestionsData(json);
+        compile(data, Paths.get(out));
+        System.out.println(data.size() + " kérdés lefordítva: " + out);
+    }
+
+    /**
+     * Visszaadja a JSON fájlhoz tartozó lefordított bank alapértelmezett elérési útját
+     * (a ".json" kiterjesztés helyett {@value #EXTENSION}).
+     *
+     * @param json a JSON fájl elérési útja
+     * @return a bináris bank elérési útja
+     */
+    public static String compiledPath(String json) {
+        return (json.endsWith(".json") ? json.substring(0, json.length() - 5) : json) + EXTENSION;
+    }
+
+    /**
+     * Lefordítja a kérdésbankot a megadott fájlba.
+     * Az írás egy ideiglenes fájlba történik, amelyet a végén átnevez, így olvasó soha nem lát félkész fájlt.
+     *
+     * @param bank a lefordítandó kérdésbank
+     * @param out  a kimeneti fájl
+     * @throws IOException ha az írás nem sikerül
+     * @throws IllegalArgumentException ha egy szöveg túl hosszú a formátumhoz
+     */
+    public static void compile(QuestionBank bank, Path out) throws IOException {
+        Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp)) {
+            write(bank, os);
+        }
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A bináris bank kiírása egy adatfolyamba.
+     *
+     * @param bank a kiírandó kérdésbank
+     * @param os   a cél adatfolyam (nem zárja le)
+     * @throws IOException ha az írás nem sikerül
+     */
+    public static void write(QuestionBank bank, OutputStream os) throws IOException {
+        int levels = bank.getLevelCount();
+        if (levels > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many difficulty levels for the binary format: " + levels);
+        }
+
+        // Első menet: a táblák és a rekordok pozícióinak kiszámítása.
+        long position = HEADER_SIZE + (long) levels * LEVEL_ENTRY_SIZE;
+        int total = 0;
+        int[] tableOffsets = new int[levels];
+        for (int d = 0; d < levels; d++) {
+            tableOffsets[d] = (int) position;
+            position += (long) OFFSET_ENTRY_SIZE * bank.getQuestionCount(d);
+            total += bank.getQuestionCount(d);
+        }
+        int idCapacity = idCapacity(total);
+        long idTable = position;
+        position += (long) ID_ENTRY_SIZE * idCapacity;
+
+        // Azonosító szerinti hashtábla (csak a fordításkor épül a memóriában).
+        long[] idKeys = new long[idCapacity];
+        int[] idLevels = new int[idCapacity];
+        int[] idIndexes = new int[idCapacity];
+        for (int d = 0; d < levels; d++) {
+            for (int i = 0; i < bank.getQuestionCount(d); i++) {
+                long id = bank.getQuestion(d, i).getId();
+                int slot = slot(id, idCapacity);
+                while (idIndexes[slot] != 0 && idKeys[slot] != id) {
+                    slot = (slot + 1) & (idCapacity - 1);
+                }
+                if (idIndexes[slot] == 0) { // Azonos tartalmú kérdések közül az első marad a táblában.
+                    idKeys[slot] = id;
+                    idLevels[slot] = d;
+                    idIndexes[slot] = i + 1;
+                }
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(levels);
+        out.writeInt(total);
+        out.writeInt(idCapacity);
+        out.writeInt((int) idTable);
+        for (int d = 0; d < levels; d++) {
+            out.writeInt(bank.getQuestionCount(d));
+            out.writeInt(tableOffsets[d]);
+        }
+
+        // Eltolástáblák: a rekordok az azonosítótábla után, szintenként egymás után következnek.
+        for (int d = 0; d < levels; d++) {
+            for (int i = 0; i < bank.getQuestionCount(d); i++) {
+                if (position > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Question bank is too large for the binary format");
+                }
+                out.writeInt((int) position);
+                position += recordSize(bank.getQuestion(d, i));
+            }
+        }
+
+        for (int slot = 0; slot < idCapacity; slot++) {
+            out.writeLong(idKeys[slot]);
+            out.writeInt(idLevels[slot]);
+            out.writeInt(idIndexes[slot]);
+        }
+
+        // Második menet: a rekordok kiírása.
+        for (int d = 0; d < levels; d++) {
+            for (int i = 0; i < bank.getQuestionCount(d); i++) {
+                Question q = bank.getQuestion(d, i);
+                out.writeByte(q.getAnswer());
+                writeString(out, q.getQuestion());
+                writeString(out, q.getA());
+                writeString(out, q.getB());
+                writeString(out, q.getC());
+                writeString(out, q.getD());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Az azonosítótábla rekeszszáma: legfeljebb félig telt, kettő hatványa méretű tábla.
+     *
+     * @throws IllegalArgumentException ha a kérdések száma túl nagy a formátumhoz
+     */
+    static int idCapacity(int total) {
+        if (total > 1 << 29) {
+            throw new IllegalArgumentException("Too many questions for the binary format: " + total);
+        }
+        return Integer.highestOneBit(Math.max(2, total) * 2 - 1) << 1;
+    }
+
+    /**
+     * Az azonosítóhoz tartozó kezdő rekesz (az azonosító maga is hash, így elég az alsó bitjeit venni).
+     */
+    static int slot(long id, int capacity) {
+        return Long.hashCode(id) & (capacity - 1);
+    }
+
+    /**
+     * Egy kérdésrekord méretének kiszámítása bájtban.
+     */
+    private static long recordSize(Question q) {
+        return 1 + stringSize(q.getQuestion()) + stringSize(q.getA()) + stringSize(q.getB())
+                + stringSize(q.getC()) + stringSize(q.getD());
+    }
+
+    private static int stringSize(String s) {
+        return 2 + s.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Egy szöveg kiírása hosszelőtaggal, UTF-8 kódolással.
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Text is too long for the binary format: " + s.substring(0, 40) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,147 @@
+package Game.Question;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A kérdésfájl változásait figyelő háttérszál.
+ * Ha a JSON fájl (vagy a lefordított bináris bankja) módosul, a háttérben újra betölti,
+ * ellenőrzi, majd a {@link ReloadableQuestionBank} segítségével atomikusan lecseréli a kérdésbankot.
+ * Hibás vagy hiányos fájl esetén a régi bank marad érvényben.
+ */
+public class QuestionBankWatcher implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(QuestionBankWatcher.class.getName());
+
+    private static final long QUIET_PERIOD_MS = 500; // Ennyi ideig nem változhat a fájl az újratöltés előtt.
+
+    private final String json;                  // A figyelt JSON fájl elérési útja.
+    private final ReloadableQuestionBank target; // A lecserélendő kérdésbank.
+    private final int requiredLevels;           // Az 1..requiredLevels szintek mindegyikén kell kérdés.
+    private final String jsonName;              // A JSON fájl neve a könyvtáron belül.
+    private final String compiledName;          // A lefordított bank neve a könyvtáron belül.
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Konstruktor, amely elindítja a kérdésfájl figyelését.
+     *
+     * @param json           a figyelt JSON kérdésfájl elérési útja
+     * @param target         a lecserélendő kérdésbank
+     * @param requiredLevels az újratöltött bankban az 1..requiredLevels szintek mindegyikén lennie kell kérdésnek
+     * @throws IOException ha a könyvtár figyelése nem indítható el
+     */
+    public QuestionBankWatcher(String json, ReloadableQuestionBank target, int requiredLevels) throws IOException {
+        this.json = json;
+        this.target = target;
+        this.requiredLevels = requiredLevels;
+        this.jsonName = Paths.get(json).getFileName().toString();
+        this.compiledName = Paths.get(QuestionBankCompiler.compiledPath(json)).getFileName().toString();
+
+        Path directory = Paths.get(json).toAbsolutePath().getParent();
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        thread = new Thread(this::run, "question-bank-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * A figyelő szál főciklusa: változás esetén megvárja, amíg a fájl írása befejeződik, majd újratölt.
+     */
+    private void run() {
+        try {
+            while (true) {
+                if (!touchesBank(watchService.take())) {
+                    continue;
+                }
+
+                // Amíg a fájl tovább változik (pl. a szerkesztő még ír), várunk.
+                WatchKey next;
+                while ((next = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS)) != null) {
+                    touchesBank(next);
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // A figyelés leállt.
+        }
+    }
+
+    /**
+     * Feldolgozza egy figyelési kulcs eseményeit, és visszaadja, hogy érintették-e a kérdésfájlt.
+     */
+    private boolean touchesBank(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context != null && (context.toString().equals(jsonName) || context.toString().equals(compiledName))) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    /**
+     * A kérdésfájl azonnali újratöltése, ellenőrzése és a bank lecserélése.
+     *
+     * @return true, ha az új bank érvényes volt és a csere megtörtént
+     */
+    public boolean reload() {
+        try {
+            long start = System.nanoTime();
+            QuestionBank replacement = QuestionBank.open(json);
+
+            String problem = validate(replacement);
+            if (problem != null) {
+                LOGGER.warning("Rejected reloaded question bank " + json + ": " + problem);
+                return false;
+            }
+
+            target.swap(replacement);
+            LOGGER.info(String.format("Reloaded %d questions from %s in %d ms",
+                    replacement.size(), json, (System.nanoTime() - start) / 1_000_000));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to reload question bank " + json, e);
+            return false;
+        }
+    }
+
+    /**
+     * Az újratöltött bank ellenőrzése.
+     *
+     * @param bank az ellenőrizendő kérdésbank
+     * @return a hiba leírása, vagy null, ha a bank használható
+     */
+    private String validate(QuestionBank bank) {
+        for (int d = 1; d <= requiredLevels; d++) {
+            if (bank.getQuestionCount(d) == 0) {
+                return "no questions at difficulty " + d;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A figyelés leállítása.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
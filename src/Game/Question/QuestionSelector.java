@@ -0,0 +1,341 @@
+package Game.Question;
+
+import Game.Randomness.RandomSource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Egy játékmenethez (munkamenethez) tartozó, ismétlésmentes kérdésválasztó ("shuffle bag").
+ * Nehézségi szintenként csak a legutóbb kihúzott kérdések sorszámait tartja egy rögzített méretű várakozó
+ * sorban (és ugyanezeket rendezve); egy húzás a még húzható kérdések közül egyenletesen választ úgy, hogy a
+ * véletlen sorszámot a rendezett visszatartott sorszámokon átlépteti. Így egy húzás ideje és a választó
+ * memóriája csak az ablak méretétől függ, a kérdésbank méretétől nem, és a húzás nem foglal memóriát.
+ * A kihúzott kérdések csak akkor húzhatók újra, ha kiszorulnak a sorból; így egy kérdés sem ismétlődik egy
+ * játékon belül, sem a beállított számú legutóbbi játékban.
+ *
+ * A visszatartott kérdések egy {@link History} pillanatképként átvihetők egy új választóba (például ugyanannak
+ * a játékosnak egy későbbi munkamenetébe, lásd {@link RecentQuestions}), így az ablak a munkamenetek között is
+ * megmarad. A szintek sorai csak az első húzáskor jönnek létre. Ha a kérdésbank lecserélődik (újratöltés),
+ * a választó az új bankhoz igazodik; a visszatartott kérdéseket azonosító alapján keresi meg az új bankban,
+ * így az újratöltés után sem ismétlődnek.
+ * Nem szálbiztos: minden játék saját választót használ.
+ */
+public class QuestionSelector {
+
+    /**
+     * Az alapértelmezett ismétlésmentes ablak: ennyi legutóbbi játékban nem ismétlődhet kérdés.
+     */
+    public static final int DEFAULT_RECENT_GAMES = 20;
+
+    /**
+     * Egy játékban szintenként legfeljebb ennyi kérdést látott a játékos (az eredeti és az "új kérdés" segítség
+     * cseréje). Az előre kihúzott, de meg nem mutatott kérdések a {@link #giveBack(Question)} hívással visszakerülnek,
+     * így nem foglalják az ablakot.
+     */
+    private static final int DRAWS_PER_GAME = 2;
+
+    private final QuestionBank source; // A kérdések forrása (lehet cserélhető bank is).
+    private final RandomSource random; // A játék véletlenforrása.
+    private final int recentGames;     // Az ismétlésmentes ablak játékokban.
+
+    private QuestionBank bound;         // A bank pillanatképe, amelyhez a szintek sorszámai tartoznak.
+    private Level[] levels = new Level[0]; // Szintenkénti húzási állapot (lustán létrehozva).
+
+    /**
+     * A visszatartott kérdések változatlan pillanatképe: a bank, amelyhez a sorszámok tartoznak, és szintenként
+     * a sorszámok a húzás sorrendjében. Mérete az ablakkal arányos.
+     */
+    public static final class History {
+        private final QuestionBank bank;
+        private final int[][] held;
+
+        private History(QuestionBank bank, int[][] held) {
+            this.bank = bank;
+            this.held = held;
+        }
+
+        /**
+         * Visszaadja a visszatartott kérdések számát.
+         *
+         * @return a kérdések száma az összes szinten
+         */
+        public int size() {
+            int size = 0;
+            for (int[] level : held) {
+                size += level == null ? 0 : level.length;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Egy nehézségi szint húzási állapota.
+     * A cooling körpuffer a legutóbb kihúzott sorszámokat tartja a húzás sorrendjében, a sorted tömb
+     * ugyanezeket növekvő sorrendben. A többi sorszám húzható.
+     */
+    private static final class Level {
+        final int count;     // A szint kérdéseinek száma.
+        final int[] cooling; // A visszatartott, legutóbb kihúzott sorszámok körpuffere.
+        final int[] sorted;  // A visszatartott sorszámok növekvő sorrendben (az első coolCount érvényes).
+        int coolHead;        // A legrégebben kihúzott elem helye a körpufferben.
+        int coolCount;       // A visszatartott elemek száma.
+
+        Level(int count, int window) {
+            this.count = count;
+            int size = Math.min(window, count - 1); // Legalább egy kérdés mindig húzható marad.
+            cooling = new int[size];
+            sorted = new int[size];
+        }
+
+        /**
+         * A húzható kérdések száma.
+         */
+        int available() {
+            return count - coolCount;
+        }
+
+        /**
+         * A megadott sorszám visszatartása, mintha most húzták volna ki (ha még nincs visszatartva).
+         */
+        void hold(int index) {
+            if (index < count && search(index) < 0) {
+                keep(index);
+            }
+        }
+
+        /**
+         * A visszatartott sorszámok a húzás sorrendjében (a legrégebbivel kezdve).
+         */
+        int[] held() {
+            int[] held = new int[coolCount];
+            for (int i = 0; i < coolCount; i++) {
+                held[i] = cooling[(coolHead + i) % cooling.length];
+            }
+            return held;
+        }
+
+        /**
+         * A visszatartott sorszámok közül a megadott pozíciójú (a legrégebbitől számolva) újra húzhatóvá tétele.
+         * A későbbi elemek egy hellyel előrébb kerülnek, így a körpuffer sorrendje megmarad.
+         */
+        void release(int position) {
+            int index = cooling[(coolHead + position) % cooling.length];
+            for (int i = position; i < coolCount - 1; i++) {
+                cooling[(coolHead + i) % cooling.length] = cooling[(coolHead + i + 1) % cooling.length];
+            }
+            remove(index, coolCount--);
+        }
+
+        /**
+         * A random-adik húzható sorszám kihúzása: a visszatartott sorszámokat növekvő sorrendben átlépi,
+         * majd a kihúzott elemet visszatartja.
+         *
+         * @param random 0 és {@link #available()} közötti véletlen szám
+         */
+        int draw(int random) {
+            int index = random;
+            for (int i = 0; i < coolCount && sorted[i] <= index; i++) {
+                index++;
+            }
+            keep(index);
+            return index;
+        }
+
+        /**
+         * Egy nem visszatartott sorszám felvétele a sorba; teli sornál a legrégebbi elem újra húzható lesz.
+         */
+        private void keep(int index) {
+            if (cooling.length == 0) {
+                return; // Nincs ablak: azonnal újra húzható.
+            }
+            if (coolCount == cooling.length) {
+                remove(cooling[coolHead], coolCount);
+                insert(index, coolCount - 1);
+                cooling[coolHead] = index;
+                coolHead = (coolHead + 1) % cooling.length;
+            } else {
+                insert(index, coolCount);
+                cooling[(coolHead + coolCount++) % cooling.length] = index;
+            }
+        }
+
+        /**
+         * Beszúrás a rendezett tömb első length eleme közé.
+         */
+        private void insert(int index, int length) {
+            int position = -Arrays.binarySearch(sorted, 0, length, index) - 1;
+            System.arraycopy(sorted, position, sorted, position + 1, length - position);
+            sorted[position] = index;
+        }
+
+        /**
+         * Törlés a rendezett tömb első length eleme közül.
+         */
+        private void remove(int index, int length) {
+            int position = Arrays.binarySearch(sorted, 0, length, index);
+            System.arraycopy(sorted, position + 1, sorted, position, length - position - 1);
+        }
+
+        private int search(int index) {
+            return Arrays.binarySearch(sorted, 0, coolCount, index);
+        }
+    }
+
+    /**
+     * Konstruktor az alapértelmezett ismétlésmentes ablakkal.
+     *
+     * @param source a kérdések forrása
+     * @param random a játék véletlenforrása
+     */
+    public QuestionSelector(QuestionBank source, RandomSource random) {
+        this(source, random, DEFAULT_RECENT_GAMES);
+    }
+
+    /**
+     * Konstruktor, amely megadja, hány legutóbbi játékban nem ismétlődhet kérdés.
+     *
+     * @param source      a kérdések forrása
+     * @param random      a játék véletlenforrása
+     * @param recentGames az ismétlésmentes ablak játékokban (legalább 1)
+     */
+    public QuestionSelector(QuestionBank source, RandomSource random, int recentGames) {
+        if (recentGames < 1) {
+            throw new IllegalArgumentException("recentGames must be positive: " + recentGames);
+        }
+        this.source = source;
+        this.random = random;
+        this.recentGames = recentGames;
+    }
+
+    /**
+     * Konstruktor, amely egy korábbi választó visszatartott kérdéseivel folytatja az ismétlésmentes ablakot.
+     *
+     * @param source      a kérdések forrása
+     * @param random      a játék véletlenforrása
+     * @param recentGames az ismétlésmentes ablak játékokban (legalább 1)
+     * @param recent      a korábbi választó pillanatképe ({@link #history()}), vagy null
+     */
+    public QuestionSelector(QuestionBank source, RandomSource random, int recentGames, History recent) {
+        this(source, random, recentGames);
+        if (recent != null && recent.bank != null) {
+            bound = recent.bank; // Ha azóta a bank lecserélődött, az első húzás azonosító alapján átállítja
+            levels = new Level[bound.getLevelCount()];
+            for (int d = 0; d < recent.held.length && d < levels.length; d++) {
+                Level level = recent.held[d] == null ? null : level(d);
+                if (level != null) {
+                    for (int index : recent.held[d]) {
+                        level.hold(index);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A következő kérdés húzása a megadott nehézségi szintről.
+     * Az ablakon belül ugyanaz a kérdés nem húzható ki kétszer (ha a szinten van elég kérdés).
+     *
+     * @param difficulty a nehézségi szint
+     * @return a kihúzott kérdés, vagy null, ha a szinten nincs kérdés
+     */
+    public Question next(int difficulty) {
+        QuestionBank bank = source.snapshot();
+        if (bank != bound) {
+            rebind(bank);
+        }
+
+        Level level = level(difficulty);
+        if (level == null) {
+            return null;
+        }
+
+        int index = level.draw(random.nextInt(level.available()));
+        return bank.getQuestion(difficulty, index);
+    }
+
+    /**
+     * Egy kihúzott, de a játékosnak meg nem mutatott kérdés visszaadása (például egy fel nem használt előre
+     * kihúzott kérdésé). A kérdés újra húzható lesz, és nem foglal helyet az ismétlésmentes ablakban.
+     *
+     * @param question a visszaadott kérdés
+     * @return true, ha a kérdés a visszatartottak között volt
+     */
+    public boolean giveBack(Question question) {
+        if (question == null || bound == null) {
+            return false;
+        }
+        int difficulty = question.getDifficulty();
+        if (difficulty < 0 || difficulty >= levels.length || levels[difficulty] == null) {
+            return false;
+        }
+        Level level = levels[difficulty];
+        int[] held = level.held();
+        for (int i = held.length - 1; i >= 0; i--) { // A legutóbb kihúzottal kezdve
+            if (bound.getQuestion(difficulty, held[i]).getId() == question.getId()) {
+                level.release(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A visszatartott kérdések pillanatképe, amellyel egy új választó folytathatja az ismétlésmentes ablakot.
+     *
+     * @return a pillanatkép (az ablakkal arányos méretű)
+     */
+    public History history() {
+        int[][] held = new int[levels.length][];
+        for (int d = 0; d < levels.length; d++) {
+            if (levels[d] != null && levels[d].coolCount > 0) {
+                held[d] = levels[d].held();
+            }
+        }
+        return new History(bound, held);
+    }
+
+    /**
+     * A szint húzási állapota, szükség esetén létrehozva.
+     *
+     * @return a szint állapota, vagy null, ha a szinten nincs kérdés
+     */
+    private Level level(int difficulty) {
+        int count = bound.getQuestionCount(difficulty);
+        if (count == 0) {
+            return null;
+        }
+        if (levels[difficulty] == null) {
+            levels[difficulty] = new Level(count, recentGames * DRAWS_PER_GAME);
+        }
+        return levels[difficulty];
+    }
+
+    /**
+     * Átállás egy új bankra. A régi sorszámok érvénytelenek, ezért a visszatartott kérdéseket azonosító
+     * alapján keresi meg az új bankban, és ott is visszatartja őket. Újratöltéskor fut, ritkán.
+     */
+    private void rebind(QuestionBank bank) {
+        QuestionBank previous = bound;
+        Level[] old = levels;
+        bound = bank;
+        levels = new Level[bank.getLevelCount()];
+
+        for (int d = 0; d < old.length && d < levels.length; d++) {
+            if (old[d] == null || old[d].coolCount == 0 || bank.getQuestionCount(d) == 0) {
+                continue;
+            }
+            HashMap<Long, Integer> indexes = new HashMap<>(); // Azonosító -> sorszám az új bank szintjén
+            for (int i = 0; i < bank.getQuestionCount(d); i++) {
+                indexes.putIfAbsent(bank.getQuestion(d, i).getId(), i);
+            }
+            Level level = level(d);
+            for (int held : old[d].held()) {
+                Integer index = indexes.get(previous.getQuestion(d, held).getId());
+                if (index != null) {
+                    level.hold(index);
+                }
+            }
+        }
+    }
+}
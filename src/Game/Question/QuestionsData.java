@@ -2,22 +2,39 @@ package Game.Question;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
-import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 /**
  * Ez az osztály a kérdéseket kezeli, JSON fájlból olvassa be azokat,
  * és különböző funkciókat biztosít a kérdések lekéréséhez.
+ * A beolvasás folyamatos (streaming): egyszerre csak egy kérdés JSON objektuma van a memóriában,
+ * így a csúcs memóriaigény nagyjából a kész kérdésbank mérete.
+ * A kérdéseket betöltéskor nehézségi szint és azonosító szerint indexeli, így egy kérdés kiválasztása
+ * és azonosító szerinti keresése konstans idejű, és nem foglal memóriát.
+ * A betöltés után az objektum nem módosítható, ezért több játék és szál is biztonságosan megoszthatja.
  */
-public class QuestionsData {
+public class QuestionsData implements QuestionBank {
 
-    public ArrayList<Question> questionsArray = new ArrayList<>(); // A kérdéseket tároló lista.
+    private final ArrayList<Question> questions = new ArrayList<>(); // A kérdéseket tároló lista.
+    public final List<Question> questionsArray = Collections.unmodifiableList(questions); // Csak olvasható nézet.
+
+    private Question[][] byDifficulty = new Question[0][]; // Nehézségi szintenként csoportosított kérdések.
+    private int[] counts = new int[0];                     // Az egyes szintekhez tartozó kérdések száma.
+    private final HashMap<Long, Question> byId = new HashMap<>(); // Azonosító szerinti index.
 
     /**
      * Konstruktor, amely a megadott JSON fájlból olvassa be a kérdéseket.
@@ -26,63 +43,207 @@ public class QuestionsData {
      * @throws FileNotFoundException ha a fájl nem található
      */
     public QuestionsData(String json) throws FileNotFoundException {
-        try {
-            // A JSON fájl tartalmának beolvasása szövegként.
-            String content = new String(Files.readAllBytes(Paths.get(json)));
-
-            // A fájl tartalmát JSON tömbbé alakítja.
-            JSONArray questionlist = new JSONArray(content);
-
-            // A kérdések feldolgozása és hozzáadása a listához.
-            questionlist.forEach(temp -> createQuestionList((JSONObject) temp));
+        try (Reader reader = Files.newBufferedReader(Paths.get(json), StandardCharsets.UTF_8)) {
+            load(reader); // A kérdések folyamatos beolvasása a fájlból.
         } catch (IOException e) {
             throw new FileNotFoundException("File not found: " + json); // Hibakezelés, ha a fájl nem található.
         }
     }
 
+    /**
+     * Konstruktor, amely egy UTF-8 kódolású bemeneti adatfolyamból olvassa be a kérdéseket.
+     * Az adatfolyamot nem zárja le.
+     *
+     * @param in a kérdéseket tartalmazó JSON tömb adatfolyama
+     */
+    public QuestionsData(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Konstruktor, amely egy karakterfolyamból olvassa be a kérdéseket.
+     * A folyamot nem zárja le.
+     *
+     * @param reader a kérdéseket tartalmazó JSON tömb karakterfolyama
+     */
+    public QuestionsData(Reader reader) {
+        load(reader);
+    }
+
+    /**
+     * A JSON tömb elemeinek egyenkénti feldolgozása.
+     * A teljes tömb helyett mindig csak az aktuális kérdés objektumát építi fel,
+     * és abból rögtön Question objektumot készít.
+     *
+     * @param reader a JSON tömböt tartalmazó karakterfolyam
+     * @throws org.json.JSONException ha a tartalom nem érvényes kérdéstömb
+     */
+    private void load(Reader reader) {
+        JSONTokener tokener = new JSONTokener(reader);
+
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSONArray text must start with '['");
+        }
+
+        char c = tokener.nextClean();
+        if (c != ']') {
+            tokener.back();
+            while (true) {
+                createQuestionList(new JSONObject(tokener)); // Egy kérdés beolvasása és feldolgozása.
+
+                c = tokener.nextClean();
+                if (c == ']') {
+                    break; // A tömb vége.
+                }
+                if (c != ',') {
+                    throw tokener.syntaxError("Expected a ',' or ']'");
+                }
+            }
+        }
+
+        questions.trimToSize();
+        trimIndex(); // A szintenkénti tömbök levágása a pontos méretre.
+    }
+
     /**
      * Egyetlen kérdés objektum létrehozása és hozzáadása a listához.
      *
-     * @param questions egy JSON objektum, amely tartalmazza a kérdés adatait
+     * @param json egy JSON objektum, amely tartalmazza a kérdés adatait
      */
-    public void createQuestionList(JSONObject questions) {
-        String question = questions.getString("question"); // A kérdés szövege.
+    private void createQuestionList(JSONObject json) {
+        String question = json.getString("question"); // A kérdés szövege.
 
         // A válaszlehetőségek beolvasása (üres, ha nem létezik az adott kulcs).
-        String A = questions.optString("a", "");
-        String B = questions.optString("b", "");
-        String C = questions.optString("c", "");
-        String D = questions.optString("d", "");
+        String A = json.optString("a", "");
+        String B = json.optString("b", "");
+        String C = json.optString("c", "");
+        String D = json.optString("d", "");
+
+        String answer = json.getString("answer"); // A helyes válasz betűjele.
+        int difficulty = json.getInt("difficulty"); // A kérdés nehézségi szintje.
+
+        // Új Question objektum létrehozása és hozzáadása a listához és az indexhez.
+        Question q = new Question(difficulty, question, A, B, C, D, answer.charAt(0));
+        questions.add(q);
+        index(q);
+    }
+
+    /**
+     * Egy kérdés felvétele a nehézségi szint szerinti indexbe.
+     * A szintenkénti tömbök szükség esetén duplázódnak, mint egy ArrayList belső tömbje.
+     *
+     * @param q az indexelendő kérdés
+     */
+    private void index(Question q) {
+        int level = q.getDifficulty();
+        if (level < 0) {
+            return; // Negatív szintű kérdést nem lehet lekérni, ezért nem indexeljük.
+        }
+        byId.putIfAbsent(q.getId(), q); // Azonos tartalmú kérdések közül az első marad az indexben.
+
+        if (level >= byDifficulty.length) {
+            int oldLength = byDifficulty.length;
+            byDifficulty = Arrays.copyOf(byDifficulty, level + 1);
+            counts = Arrays.copyOf(counts, level + 1);
+            for (int i = oldLength; i <= level; i++) {
+                byDifficulty[i] = new Question[0];
+            }
+        }
+
+        Question[] bucket = byDifficulty[level];
+        if (counts[level] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, Math.max(8, bucket.length * 2));
+            byDifficulty[level] = bucket;
+        }
+        bucket[counts[level]++] = q;
+    }
+
+    /**
+     * A szintenkénti tömbök méretre vágása a betöltés végén, hogy ne maradjon kihasználatlan hely.
+     */
+    private void trimIndex() {
+        for (int i = 0; i < byDifficulty.length; i++) {
+            if (byDifficulty[i].length != counts[i]) {
+                byDifficulty[i] = Arrays.copyOf(byDifficulty[i], counts[i]);
+            }
+        }
+    }
 
-        String answer = questions.getString("answer"); // A helyes válasz betűjele.
-        int difficulty = questions.getInt("difficulty"); // A kérdés nehézségi szintje.
+    /**
+     * Visszaadja, hogy hány kérdés tartozik a megadott nehézségi szinthez.
+     *
+     * @param difficulty a nehézségi szint
+     * @return a szinthez tartozó kérdések száma (0, ha nincs ilyen szint)
+     */
+    @Override
+    public int getQuestionCount(int difficulty) {
+        return difficulty >= 0 && difficulty < counts.length ? counts[difficulty] : 0;
+    }
 
-        // Új Question objektum létrehozása és hozzáadása a listához.
-        questionsArray.add(new Question(difficulty, question, A, B, C, D, answer.charAt(0)));
+    /**
+     * Visszaadja a megadott nehézségi szint adott sorszámú kérdését.
+     *
+     * @param difficulty a nehézségi szint
+     * @param index      a kérdés sorszáma a szinten belül
+     * @return a kérdés
+     * @throws IndexOutOfBoundsException ha a szint vagy a sorszám érvénytelen
+     */
+    @Override
+    public Question getQuestion(int difficulty, int index) {
+        if (index < 0 || index >= getQuestionCount(difficulty)) {
+            throw new IndexOutOfBoundsException("No question #" + index + " at difficulty " + difficulty);
+        }
+        return byDifficulty[difficulty][index];
+    }
+
+    /**
+     * Visszaadja a megadott azonosítójú kérdést, konstans időben.
+     *
+     * @param id a kérdés azonosítója
+     * @return a kérdés, vagy null, ha nincs ilyen
+     */
+    @Override
+    public Question getById(long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Visszaadja a nehézségi szintek számát (a legnagyobb szint + 1).
+     *
+     * @return a szintek száma
+     */
+    @Override
+    public int getLevelCount() {
+        return counts.length;
+    }
+
+    /**
+     * Visszaadja a betöltött kérdések számát.
+     *
+     * @return a kérdések száma
+     */
+    @Override
+    public int size() {
+        return questions.size();
     }
 
     /**
      * Egy véletlenszerű kérdés lekérése a megadott nehézségi szint alapján.
+     * Konstans idejű: közvetlenül a szinthez tartozó tömbből választ, másolás és új objektum nélkül.
      *
      * @param currentdifficulty a kívánt nehézségi szint
      * @return egy véletlenszerű kérdés az adott nehézségi szintről, vagy null, ha nincs ilyen kérdés
      */
+    @Override
     public Question getQuestion(int currentdifficulty) {
-        List<Question> currentQuestions = new ArrayList<>(); // Lista az aktuális nehézségi szinthez tartozó kérdések tárolására.
-
-        // Az aktuális nehézségi szintű kérdések kiszűrése.
-        questionsArray.forEach(q -> {
-            if (q.getDifficulty() == currentdifficulty) {
-                currentQuestions.add(q);
-            }
-        });
+        int count = getQuestionCount(currentdifficulty);
 
         // Ha nincs kérdés az adott nehézségi szinten, null értéket ad vissza.
-        if (currentQuestions.isEmpty()) {
+        if (count == 0) {
             return null;
         }
 
-        // Véletlenszerű kérdés kiválasztása az adott nehézségi szint listájából.
-        return currentQuestions.get(new Random().nextInt(currentQuestions.size()));
+        // Véletlenszerű kérdés kiválasztása az adott nehézségi szint tömbjéből.
+        return byDifficulty[currentdifficulty][ThreadLocalRandom.current().nextInt(count)];
     }
 }
@@ -0,0 +1,95 @@
+package Game.Question;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A játékosok legutóbb látott kérdéseinek korlátos, közös tára: játékosnév szerint egy-egy
+ * {@link QuestionSelector.History} pillanatkép. Egy új munkamenet választója ebből folytatja a játékos
+ * ismétlésmentes ablakát, a munkamenet végén pedig visszateszi a frissített pillanatképet, így a visszatérő
+ * játékos a legutóbbi játékainak kérdéseit sem kapja meg újra.
+ *
+ * A tár legfeljebb a megadott számú játékost tart meg (a legrégebben használt esik ki), egy bejegyzés mérete
+ * pedig az ablakkal arányos, így a memóriaigény sem a munkamenetek, sem a kérdések számától nem függ.
+ * Ugyanannak a játékosnak egyidejű játékai közül az utoljára befejezett pillanatképe marad meg.
+ * A metódusok szálbiztosak.
+ */
+public class RecentQuestions {
+
+    /**
+     * A megtartott játékosok alapértelmezett legnagyobb száma.
+     */
+    public static final int DEFAULT_PLAYERS = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock(); // Virtuális szálakon sem foglal le platformszálat.
+    private final LinkedHashMap<String, QuestionSelector.History> players; // Használati sorrendben.
+
+    /**
+     * Konstruktor az alapértelmezett méretkorláttal.
+     */
+    public RecentQuestions() {
+        this(DEFAULT_PLAYERS);
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param capacity a megtartott játékosok legnagyobb száma
+     */
+    public RecentQuestions(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        players = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuestionSelector.History> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Visszaadja a játékos legutóbbi kérdéseinek pillanatképét.
+     *
+     * @param player a játékos neve
+     * @return a pillanatkép, vagy null, ha a játékos nem szerepel a tárban
+     */
+    public QuestionSelector.History get(String player) {
+        lock.lock();
+        try {
+            return players.get(player);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A játékos legutóbbi kérdéseinek rögzítése (az előző pillanatkép helyett).
+     *
+     * @param player  a játékos neve
+     * @param history a játékos választójának pillanatképe
+     */
+    public void put(String player, QuestionSelector.History history) {
+        lock.lock();
+        try {
+            players.put(player, history);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Visszaadja a tárban lévő játékosok számát.
+     *
+     * @return a játékosok száma
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return players.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package Game.Question;
+
+/**
+ * Cserélhető kérdésbank, amely minden hívást az éppen aktuális, nem módosítható kérdésbankhoz továbbít.
+ * Az új bank teljes felépítése és ellenőrzése után egyetlen volatile írással kerül a helyére
+ * (copy-on-write), így a lekérdezések soha nem várakoznak, és soha nem látnak félig felépített bankot.
+ *
+ * Egy hívás mindig egyetlen bankot olvas; ha egy hívó több, egymásra épülő hívást végez
+ * (pl. darabszám, majd sorszám szerinti lekérés), a {@link #snapshot()} által visszaadott bankot kell használnia.
+ */
+public class ReloadableQuestionBank implements QuestionBank {
+
+    private volatile QuestionBank current; // Az aktuális kérdésbank.
+
+    /**
+     * Konstruktor, amely a kezdeti kérdésbankkal inicializál.
+     *
+     * @param initial a kezdeti kérdésbank
+     */
+    public ReloadableQuestionBank(QuestionBank initial) {
+        this.current = initial;
+    }
+
+    /**
+     * Az aktuális kérdésbank lecserélése. A már futó lekérdezések a régi bankot használják végig.
+     *
+     * @param replacement az új, teljesen felépített kérdésbank
+     * @return a lecserélt kérdésbank
+     */
+    public QuestionBank swap(QuestionBank replacement) {
+        QuestionBank previous = current;
+        current = replacement;
+        return previous;
+    }
+
+    /**
+     * Visszaadja az éppen aktuális, nem változó kérdésbankot.
+     *
+     * @return az aktuális kérdésbank
+     */
+    @Override
+    public QuestionBank snapshot() {
+        return current;
+    }
+
+    @Override
+    public int getQuestionCount(int difficulty) {
+        return current.getQuestionCount(difficulty);
+    }
+
+    @Override
+    public Question getQuestion(int difficulty, int index) {
+        return current.getQuestion(difficulty, index);
+    }
+
+    @Override
+    public Question getQuestion(int difficulty) {
+        return current.getQuestion(difficulty);
+    }
+
+    @Override
+    public Question getById(long id) {
+        return current.getById(id);
+    }
+
+    @Override
+    public int getLevelCount() {
+        return current.getLevelCount();
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+}
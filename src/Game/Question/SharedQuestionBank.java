@@ -0,0 +1,106 @@
+package Game.Question;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A folyamaton belül közösen használt, nem módosítható kérdésbankok nyilvántartása.
+ * Egy kérdésfájl a folyamat élete során csak egyszer töltődik be, és minden Game példány
+ * ugyanarra a kérdésbankra hivatkozik.
+ *
+ * Életciklus: az első {@link #get(String)} hívás betölti a bankot, a további hívások a már betöltött
+ * példányt adják vissza; a {@link #release(String)} illetve a {@link #shutdown()} elengedi a hivatkozást
+ * (a főprogram leállításkor hívja), a következő lekérés pedig újra betölti.
+ * A visszaadott bank cserélhető: a {@link #watch(String, int)} bekapcsolja a fájl figyelését, és módosításkor
+ * a futó játékok a következő körtől már az újratöltött kérdésekből kapnak.
+ */
+public final class SharedQuestionBank {
+
+    private static final Logger LOGGER = Logger.getLogger(SharedQuestionBank.class.getName());
+
+    private static final ConcurrentHashMap<String, ReloadableQuestionBank> BANKS = new ConcurrentHashMap<>(); // Fájlnév -> bank.
+    private static final ConcurrentHashMap<String, QuestionBankWatcher> WATCHERS = new ConcurrentHashMap<>(); // Fájlnév -> figyelő.
+
+    private SharedQuestionBank() {
+    }
+
+    /**
+     * Visszaadja a megadott kérdésfájl közös kérdésbankját, szükség esetén betöltve azt.
+     * Ha több szál egyszerre kéri ugyanazt a fájlt, a betöltés akkor is csak egyszer történik meg.
+     *
+     * @param json a kérdéseket tartalmazó JSON fájl elérési útja
+     * @return a közös kérdésbank
+     * @throws FileNotFoundException ha a fájl nem található
+     */
+    public static ReloadableQuestionBank get(String json) throws FileNotFoundException {
+        try {
+            return BANKS.computeIfAbsent(json, path -> {
+                try {
+                    long start = System.nanoTime();
+                    QuestionBank bank = QuestionBank.open(path);
+                    LOGGER.info(() -> String.format("Loaded %d questions from %s in %d ms",
+                            bank.size(), path, (System.nanoTime() - start) / 1_000_000));
+                    return new ReloadableQuestionBank(bank);
+                } catch (FileNotFoundException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw (FileNotFoundException) e.getCause();
+        }
+    }
+
+    /**
+     * Bekapcsolja a megadott kérdésfájl figyelését: módosításkor a közös bank a háttérben újratöltődik.
+     * Többszöri hívás esetén is csak egy figyelő indul.
+     *
+     * @param json           a kérdésfájl elérési útja
+     * @param requiredLevels az újratöltött bankban az 1..requiredLevels szintek mindegyikén lennie kell kérdésnek
+     * @throws FileNotFoundException ha a fájl nem található
+     */
+    public static void watch(String json, int requiredLevels) throws FileNotFoundException {
+        ReloadableQuestionBank bank = get(json);
+        WATCHERS.computeIfAbsent(json, path -> {
+            try {
+                return new QuestionBankWatcher(path, bank, requiredLevels);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to watch question bank " + path, e);
+                return null; // Figyelés nélkül is működik, csak újraindításig nem frissül.
+            }
+        });
+    }
+
+    /**
+     * Elengedi a megadott kérdésfájl közös kérdésbankját, és leállítja a figyelését.
+     * A bankot már használó játékok továbbra is elérik, a következő lekérés viszont újra betölti.
+     *
+     * @param json a kérdésfájl elérési útja
+     */
+    public static void release(String json) {
+        stopWatching(WATCHERS.remove(json));
+        BANKS.remove(json);
+    }
+
+    /**
+     * Az összes közös kérdésbank elengedése és a figyelők leállítása. A főprogram leállításkor hívja.
+     */
+    public static void shutdown() {
+        WATCHERS.keySet().forEach(json -> stopWatching(WATCHERS.remove(json)));
+        BANKS.clear();
+    }
+
+    private static void stopWatching(QuestionBankWatcher watcher) {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to stop question bank watcher", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package Game.Randomness;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A játék összes véletlenszerű döntésének (kérdésválasztás, felező, közönségszavazás) közös forrása.
+ * Minden játék saját példányt kap, így a szálak nem versengenek egy közös állapotért,
+ * és azonos kezdőértékkel (seed) a játék pontosan megismételhető.
+ */
+public interface RandomSource {
+
+    /**
+     * A rendszertulajdonság neve, amellyel rögzített kezdőérték adható meg (pl. -Dloim.seed=42).
+     */
+    String SEED_PROPERTY = "loim.seed";
+
+    /**
+     * Egy véletlen egész szám 0 (beleértve) és a felső korlát (kizárva) között.
+     *
+     * @param bound a felső korlát (pozitív)
+     * @return a véletlen szám
+     */
+    int nextInt(int bound);
+
+    /**
+     * Visszaadja a forrás kezdőértékét, amellyel a sorozat megismételhető.
+     *
+     * @return a kezdőérték
+     */
+    long getSeed();
+
+    /**
+     * Új, alapértelmezett véletlenforrás egy játékhoz.
+     * Ha a {@value #SEED_PROPERTY} rendszertulajdonság meg van adva, azzal a kezdőértékkel determinisztikus,
+     * különben véletlen kezdőértékű.
+     *
+     * @return a véletlenforrás
+     */
+    static RandomSource create() {
+        Long seed = Long.getLong(SEED_PROPERTY);
+        return seeded(seed != null ? seed : ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Determinisztikus véletlenforrás a megadott kezdőértékkel (visszajátszáshoz, terheléses tesztekhez).
+     *
+     * @param seed a kezdőérték
+     * @return a véletlenforrás
+     */
+    static RandomSource seeded(long seed) {
+        return new SplittableRandomSource(seed);
+    }
+}
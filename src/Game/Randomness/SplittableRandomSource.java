@@ -0,0 +1,33 @@
+package Game.Randomness;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link RandomSource} alapértelmezett megvalósítása egy játékonkénti SplittableRandom példánnyal.
+ * Gyors, nem használ szinkronizációt, ezért nem szálbiztos: egy játékhoz egy példány tartozik.
+ */
+public class SplittableRandomSource implements RandomSource {
+
+    private final long seed;               // A kezdőérték a visszajátszáshoz.
+    private final SplittableRandom random; // A tényleges véletlengenerátor.
+
+    /**
+     * Konstruktor a megadott kezdőértékkel.
+     *
+     * @param seed a kezdőérték
+     */
+    public SplittableRandomSource(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -1,6 +1,10 @@
 package Game.Score;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Ez az osztály egy eredményt (Highscore) reprezentál,
@@ -8,8 +12,17 @@ import java.io.Serializable;
  */
 public class Highscore implements Comparable<Highscore>, Serializable {
 
+    // A korábban mentett dicsőséglista-fájlok olvashatóságához rögzített verzió.
+    private static final long serialVersionUID = 0x6f8e30d98b38905eL;
+
+    /**
+     * A név és a díj legnagyobb hossza bájtban a dicsőséglisták és a mentések fájljaiban.
+     */
+    public static final int MAX_TEXT = 1024;
+
     private final String name; // A játékos neve.
     private final String prize; // A díj összege szövegként (pl. "1.000 Ft").
+    private transient long amount; // A díj összege forintban, egyszer kiszámítva (nem kerül a fájlba).
 
     /**
      * Az osztály konstruktora, amely inicializálja az eredményt.
@@ -20,6 +33,39 @@ public class Highscore implements Comparable<Highscore>, Serializable {
     public Highscore(String name, String prize) {
         this.name = name;
         this.prize = prize;
+        this.amount = parsePrize(prize);
+    }
+
+    /**
+     * Egy szöveges díj (pl. "1.000 Ft") összegének kiszámítása.
+     * Az " Ft" és a "." karaktereket eltávolítja a szövegből, mielőtt számként értelmezné.
+     *
+     * @param prize a díj szöveg formátumban
+     * @return a díj összege forintban
+     * @throws NumberFormatException ha a szöveg nem díj
+     */
+    public static long parsePrize(String prize) {
+        return Long.parseLong(prize.replace(" Ft", "").replace(".", ""));
+    }
+
+    /**
+     * Egy szöveg UTF-8 kódolása a játék fájljaihoz (dicsőséglisták, mentések), legfeljebb {@value #MAX_TEXT}
+     * bájtra vágva.
+     * A vágás karakterhatáron történik, így a fájlban soha nem marad félbevágott karakter.
+     *
+     * @param s a szöveg
+     * @return a (szükség esetén levágott) UTF-8 bájtok
+     */
+    public static byte[] encodeText(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_TEXT) {
+            return bytes;
+        }
+        int end = MAX_TEXT;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--; // A vágás helyén egy karakter folytatóbájtja áll: a karakter egésze kimarad
+        }
+        return Arrays.copyOf(bytes, end);
     }
 
     /**
@@ -32,13 +78,30 @@ public class Highscore implements Comparable<Highscore>, Serializable {
     }
 
     /**
-     * A díjat szám formátumra (int) konvertálja.
-     * Az " Ft" és a "." karaktereket eltávolítja a szövegből, mielőtt számként értelmezné.
+     * Visszaadja a díjat szöveg formátumban.
+     *
+     * @return a díj (pl. "1.000 Ft")
+     */
+    public String getPrize() {
+        return prize;
+    }
+
+    /**
+     * Visszaadja a díj összegét forintban.
+     *
+     * @return a díj összege
+     */
+    public long getAmount() {
+        return amount;
+    }
+
+    /**
+     * Visszaadja a díj összegét egész számként.
      *
      * @return a díj összege egész számként
      */
     public int getPrizeInt() {
-        return Integer.parseInt(prize.replace(" Ft", "").replace(".", ""));
+        return Math.toIntExact(amount);
     }
 
     /**
@@ -62,6 +125,14 @@ public class Highscore implements Comparable<Highscore>, Serializable {
      */
     @Override
     public int compareTo(Highscore o) {
-        return o.getPrizeInt() - this.getPrizeInt();
+        return Long.compare(o.amount, this.amount);
+    }
+
+    /**
+     * Betöltéskor a nem mentett összeg kiszámítása a szöveges díjból.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        amount = parsePrize(prize);
     }
 }
@@ -0,0 +1,751 @@
+package Game.Score;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A dicsőséglisták tartós tára: minden új eredmény egyetlen kis rekordként a naplófájl végére kerül, így egy
+ * mentés nem függ a lista méretétől, és egy írás közbeni összeomlás legfeljebb az utolsó, félbeszakadt rekordot
+ * veszti el. Induláskor a tár a pillanatképből és a napló azt követő rekordjaiból építi fel a
+ * {@link WindowedLeaderboard} listáit; a félbeszakadt utolsó rekordot levágja.
+ *
+ * Ha a napló {@value #COMPACT_THRESHOLD} rekordnál hosszabbra nő, egy háttérszál új pillanatképet készít:
+ * csak az összesített lista legjobb K eredménye és az utolsó hét eredményei (az időablakokhoz) maradnak meg,
+ * majd a napló a pillanatképbe került rekordok nélkül íródik újra. Minden rekordnak sorszáma van, a pillanatkép
+ * pedig az utolsó benne foglalt sorszámot tárolja, így a tömörítés bármely pontján bekövetkező összeomlás
+ * után sem duplázódik eredmény. A pillanatképből kimaradó rekordok egy csak hozzáfűzéssel írt archívumba
+ * kerülnek, így a tár minden valaha rögzített eredményt megőriz; a {@link #replay} ezekből az összes eredményt
+ * visszajátssza (például a {@link RankedLeaderboard} felépítéséhez). Az archívumot csak ez olvassa, az induláshoz
+ * nem kell beolvasni.
+ *
+ * A fájlok Java sorosítás nélkül olvashatók (minden szám big-endian):
+ * <pre>
+ * rekord:      unsigned short az adat hossza, long sorszám, long befejezési idő (epoch ms),
+ *              unsigned short + UTF-8 játékosnév, unsigned short + UTF-8 díj, int CRC32 a rekord elejétől
+ * pillanatkép: int magic ("LOIL"), byte verzió, long az utolsó benne foglalt sorszám, rekordok
+ * archívum:    rekordok (fejléc nélkül)
+ * </pre>
+ * Az egyidejű beküldések csoportosan kerülnek a naplóba: az első várakozó beküldés után legfeljebb
+ * {@value #GROUP_COMMIT_MILLIS} ms-mal egy írószál az addig összegyűlt rekordokat egyetlen írással és egyetlen
+ * lemezre szinkronizálással rögzíti, így sok párhuzamos játékvégnél sem a szinkronizálások száma korlátozza
+ * az áteresztőképességet. Az eredmény a beküldéskor azonnal felkerül a listákra; a beküldő egy
+ * {@link CompletableFuture}-t kap, amely akkor teljesül, amikor az eredmény már a lemezen van.
+ *
+ * Első induláskor a régi, Java sorosítással mentett dicsőséglista-fájl tartalma egyszer átkerül a tárba.
+ * Írási hiba vagy olvashatatlan fájlok esetén az eredmények csak a memóriában maradnak meg; fájlok nélküli tár
+ * az {@link #inMemory} metódussal is létrehozható. A metódusok szálbiztosak.
+ */
+public class LeaderboardLog implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(LeaderboardLog.class.getName());
+
+    /**
+     * A naplófájl neve.
+     */
+    public static final String LOG_FILE = "leaderboard.log";
+
+    /**
+     * A pillanatkép fájl neve.
+     */
+    public static final String SNAPSHOT_FILE = "leaderboard.snapshot";
+
+    /**
+     * A tömörítéskor a pillanatképből kimaradó eredmények archívumának neve.
+     */
+    public static final String ARCHIVE_FILE = "leaderboard.archive";
+
+    /**
+     * Ennyi naplórekord után indul háttérben a tömörítés.
+     */
+    public static final int COMPACT_THRESHOLD = 1024;
+
+    /**
+     * Az első várakozó beküldés után legfeljebb ennyi ideig gyűlnek a rekordok egy csoportos íráshoz.
+     */
+    public static final int GROUP_COMMIT_MILLIS = 2;
+
+    private static final int MAGIC = 0x4C4F494C; // "LOIL"
+    private static final byte VERSION = 1;
+    private static final int SNAPSHOT_HEADER_SIZE = 13;
+
+    /**
+     * Egy rögzített eredmény.
+     */
+    private static final class Record {
+        final long sequence;
+        final long finishedAt;
+        final String player;
+        final String prize;
+        final long amount;
+
+        Record(long sequence, long finishedAt, String player, String prize) {
+            this.sequence = sequence;
+            this.finishedAt = finishedAt;
+            this.player = player;
+            this.prize = prize;
+            this.amount = Highscore.parsePrize(prize);
+        }
+    }
+
+    /**
+     * Az eredmények visszajátszásának fogadója.
+     */
+    @FunctionalInterface
+    public interface ScoreSink {
+        /**
+         * Egy rögzített eredmény.
+         *
+         * @param player     a játékos neve
+         * @param prize      az elnyert díj
+         * @param finishedAt a játék befejezésének ideje (ms; a régi fájlból átvett eredményeknél 0)
+         */
+        void accept(String player, String prize, long finishedAt);
+    }
+
+    /**
+     * Egy még lemezre nem írt beküldés és a beküldőnek visszaadott eredmény.
+     */
+    private static final class Pending {
+        final Record record;
+        final boolean added; // Felkerült-e az összesített listára.
+        final CompletableFuture<Boolean> durable = new CompletableFuture<>();
+
+        Pending(Record record, boolean added) {
+            this.record = record;
+            this.added = added;
+        }
+    }
+
+    private final Path logFile;       // A naplófájl.
+    private final Path snapshotFile;  // A pillanatkép.
+    private final Path archiveFile;   // A pillanatképből kimaradt eredmények archívuma.
+    private final LongSupplier clock; // Az idő forrása (ms).
+    private final WindowedLeaderboard boards; // A felépített dicsőséglisták.
+    private final ExecutorService compactor;  // A tömörítést végző háttérszál.
+    private final ScheduledExecutorService writer; // A csoportos írásokat végző szál.
+    private final AtomicLong syncs = new AtomicLong(); // A naplóírások (lemezre szinkronizálások) száma.
+
+    private final ReentrantLock lock = new ReentrantLock(); // Virtuális szálakon sem foglal le platformszálat.
+    private final ReentrantLock writeLock = new ReentrantLock(); // A napló írása; mindig a lock előtt foglalandó.
+    private final ReentrantLock compactLock = new ReentrantLock(); // Egyszerre csak egy tömörítés fut.
+    private volatile FileChannel log; // A napló, vagy null, ha az írás kikapcsolt (writeLock alatt változik).
+    private List<Record> live = new ArrayList<>(); // A pillanatkép és a napló rekordjai sorszám szerint.
+    private List<Pending> batch = new ArrayList<>(); // A következő csoportos írás rekordjai.
+    private boolean flushScheduled;   // Van-e már ütemezett csoportos írás.
+    private long nextSequence = 1;
+    private int appended;             // A napló rekordjainak száma a legutóbbi tömörítés óta.
+    private boolean compacting;       // Fut-e tömörítés.
+    private int generation;           // A törlések száma (a közben futó tömörítés eredménye érvénytelen).
+    private long archiveEnd = -1;     // Az archívum ép részének vége, vagy -1, ha még nem ismert.
+
+    /**
+     * Konstruktor, amely a megadott könyvtárban lévő tárat nyitja meg az alapértelmezett listahosszal.
+     *
+     * @param directory a tár könyvtára
+     */
+    public LeaderboardLog(Path directory) {
+        this(directory, Leaderboard.DEFAULT_CAPACITY, System::currentTimeMillis);
+    }
+
+    /**
+     * Konstruktor, amely megnyitja (vagy létrehozza) a tárat, és felépíti belőle a dicsőséglistákat.
+     *
+     * @param directory a tár könyvtára
+     * @param capacity  az összesített lista hossza
+     * @param clock     az idő forrása milliszekundumban
+     */
+    public LeaderboardLog(Path directory, int capacity, LongSupplier clock) {
+        this(Objects.requireNonNull(directory), capacity, clock, true);
+    }
+
+    /**
+     * Egy fájlok nélküli tár: az eredmények csak a memóriában maradnak meg (például ha a tár nem nyitható meg).
+     *
+     * @param capacity az összesített lista hossza
+     * @param clock    az idő forrása milliszekundumban
+     * @return az üres, csak memóriában tartott tár
+     */
+    public static LeaderboardLog inMemory(int capacity, LongSupplier clock) {
+        return new LeaderboardLog(null, capacity, clock, false);
+    }
+
+    private LeaderboardLog(Path directory, int capacity, LongSupplier clock, boolean persistent) {
+        this.logFile = persistent ? directory.resolve(LOG_FILE) : null;
+        this.snapshotFile = persistent ? directory.resolve(SNAPSHOT_FILE) : null;
+        this.archiveFile = persistent ? directory.resolve(ARCHIVE_FILE) : null;
+        this.clock = clock;
+        this.boards = new WindowedLeaderboard(new Leaderboard(capacity), clock);
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "leaderboard-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "leaderboard-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (!persistent) {
+            return; // Napló nélkül az írások kikapcsoltak
+        }
+        try {
+            long snapshotSequence = 0;
+            if (Files.exists(snapshotFile)) {
+                snapshotSequence = readSnapshot(live);
+            } else if (!Files.exists(logFile)) {
+                importLegacy(directory.resolve(Leaderboard.LEADERBOARD_FILE));
+            }
+
+            ByteBuffer data = ByteBuffer.wrap(Files.exists(logFile) ? Files.readAllBytes(logFile) : new byte[0]);
+            List<Record> logged = new ArrayList<>();
+            int validLength = parse(data, logged);
+            for (Record r : logged) {
+                if (r.sequence > snapshotSequence) { // A pillanatképben már benne lévők kimaradnak
+                    live.add(r);
+                    appended++;
+                }
+            }
+            nextSequence = Math.max(snapshotSequence, live.isEmpty() ? 0 : live.getLast().sequence) + 1;
+
+            log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (validLength < log.size()) {
+                LOGGER.warning("Dropping torn tail of " + logFile + " at byte " + validLength);
+                log.truncate(validLength);
+            }
+            log.position(validLength);
+        } catch (IOException e) {
+            disable(e);
+        } catch (RuntimeException e) {
+            disable(new IOException("Unreadable leaderboard files in " + directory, e)); // Például értelmezhetetlen régi fájl
+        }
+
+        for (Record r : live) {
+            boards.addScore(r.player, r.prize, r.finishedAt);
+        }
+    }
+
+    /**
+     * Visszaadja a felépített dicsőséglistákat (csak olvasásra; új eredmény az {@link #addScore}-ral vagy a {@link #submit}-tal rögzíthető).
+     *
+     * @return a dicsőséglisták
+     */
+    public WindowedLeaderboard getBoards() {
+        return boards;
+    }
+
+    /**
+     * Új eredmény rögzítése: felveszi a listákra, és megvárja, amíg a rekord egy csoportos írással a lemezre kerül.
+     * Írási hiba esetén az eredmény csak a memóriában marad meg.
+     *
+     * @param player a játékos neve
+     * @param prize  az elnyert díj (pl. "1.000 Ft")
+     * @return true, ha az eredmény felkerült az összesített listára
+     */
+    public boolean addScore(String player, String prize) {
+        Pending p = enqueue(player, prize);
+        try {
+            p.durable.join();
+        } catch (CompletionException e) {
+            // A hibát az írószál már naplózta
+        }
+        return p.added;
+    }
+
+    /**
+     * Új eredmény rögzítése várakozás nélkül: azonnal felveszi a listákra, a naplóba pedig a következő
+     * csoportos írás viszi.
+     *
+     * @param player a játékos neve
+     * @param prize  az elnyert díj (pl. "1.000 Ft")
+     * @return a lemezre írás után teljesülő eredmény: true, ha az eredmény felkerült az összesített listára;
+     * írási hiba (vagy kikapcsolt napló) esetén {@link IOException}-nel zárul
+     */
+    public CompletableFuture<Boolean> submit(String player, String prize) {
+        return enqueue(player, prize).durable;
+    }
+
+    /**
+     * Visszaadja a naplóba írások (lemezre szinkronizálások) számát; csoportos írásnál ez kisebb a beküldések számánál.
+     *
+     * @return az írások száma
+     */
+    public long getSyncCount() {
+        return syncs.get();
+    }
+
+    /**
+     * Az összes valaha rögzített (és azóta nem törölt) eredmény visszajátszása rögzítési sorrendben:
+     * az archívum, a pillanatkép és a napló eredményei, mindegyik pontosan egyszer. Az archívum beolvasása
+     * alatt az új eredmények lemezre írása vár, ezért induláskor érdemes hívni.
+     *
+     * @param sink az eredmények fogadója
+     */
+    public void replay(ScoreSink sink) {
+        List<Record> all = new ArrayList<>();
+        writeLock.lock();
+        lock.lock();
+        try {
+            if (archiveFile != null && Files.exists(archiveFile)) {
+                parse(ByteBuffer.wrap(Files.readAllBytes(archiveFile)), all);
+            }
+            all.addAll(live);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read leaderboard archive, replaying recent scores only", e);
+            all = new ArrayList<>(live);
+        } finally {
+            lock.unlock();
+            writeLock.unlock();
+        }
+
+        // Egy tömörítés közbeni összeomlás után egy eredmény az archívumban és a pillanatképben is szerepelhet
+        all.sort(Comparator.comparingLong(r -> r.sequence));
+        long previous = 0;
+        for (Record r : all) {
+            if (r.sequence != previous) {
+                sink.accept(r.player, r.prize, r.finishedAt);
+                previous = r.sequence;
+            }
+        }
+    }
+
+    private Pending enqueue(String player, String prize) {
+        Pending p;
+        boolean schedule;
+        boolean compact;
+        lock.lock();
+        try {
+            Record r = new Record(nextSequence++, clock.getAsLong(), player, prize);
+            live.add(r);
+            p = new Pending(r, boards.addScore(r.player, r.prize, r.finishedAt));
+            batch.add(p); // A lock alatt, így a rekordok sorszám szerint kerülnek a naplóba
+            schedule = !flushScheduled;
+            flushScheduled = true;
+            compact = log != null && ++appended >= COMPACT_THRESHOLD && !compacting;
+            compacting |= compact;
+        } finally {
+            lock.unlock();
+        }
+
+        if (schedule) {
+            try {
+                writer.schedule(this::flush, GROUP_COMMIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flush(); // Leállítás után a beküldő szálon
+            }
+        }
+        if (compact) {
+            try {
+                compactor.execute(this::compact);
+            } catch (RejectedExecutionException e) {
+                LOGGER.fine("Leaderboard log is closed, compaction skipped");
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Az összegyűlt rekordok kiírása egyetlen írással és egyetlen lemezre szinkronizálással,
+     * majd a beküldők értesítése (már zárolás nélkül).
+     */
+    private void flush() {
+        List<Pending> commit;
+        IOException failure = null;
+        writeLock.lock();
+        try {
+            lock.lock();
+            try {
+                commit = batch;
+                batch = new ArrayList<>();
+                flushScheduled = false;
+            } finally {
+                lock.unlock();
+            }
+            if (commit.isEmpty()) {
+                return;
+            }
+
+            if (log == null) {
+                failure = new IOException("Leaderboard log is disabled");
+            } else {
+                try {
+                    List<ByteBuffer> frames = new ArrayList<>(commit.size());
+                    int size = 0;
+                    for (Pending p : commit) {
+                        ByteBuffer frame = encode(p.record);
+                        frames.add(frame);
+                        size += frame.remaining();
+                    }
+                    ByteBuffer buf = ByteBuffer.allocate(size);
+                    for (ByteBuffer frame : frames) {
+                        buf.put(frame);
+                    }
+                    writeFully(log, buf.flip());
+                    log.force(false);
+                    syncs.incrementAndGet();
+                } catch (IOException e) {
+                    disable(e);
+                    failure = e;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        for (Pending p : commit) {
+            if (failure == null) {
+                p.durable.complete(p.added);
+            } else {
+                p.durable.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * Új pillanatkép készítése és a napló újraírása a pillanatképbe nem került rekordokkal.
+     * A lemezre írás nagy része zárolás nélkül fut, közben is rögzíthetők eredmények.
+     */
+    public void compact() {
+        compactLock.lock();
+        try {
+            compactOnce();
+        } finally {
+            lock.lock();
+            compacting = false;
+            lock.unlock();
+            compactLock.unlock();
+        }
+    }
+
+    private void compactOnce() {
+        List<Record> records;
+        long upTo;
+        long logPosition;
+        int startGeneration;
+        writeLock.lock();
+        lock.lock();
+        try {
+            if (log == null) {
+                return;
+            }
+            // A még ki nem írt rekordok a pillanatképbe és a napló új végére is bekerülnek;
+            // újraindításkor a pillanatkép sorszáma alapján kimaradnak.
+            records = new ArrayList<>(live);
+            upTo = nextSequence - 1;
+            logPosition = log.position();
+            startGeneration = generation;
+        } catch (IOException e) {
+            disable(e);
+            return;
+        } finally {
+            lock.unlock();
+            writeLock.unlock();
+        }
+
+        Path tmp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try {
+            List<Record> kept = reduce(records);
+            writeSnapshot(tmp, kept, upTo);
+
+            writeLock.lock();
+            lock.lock();
+            try {
+                if (generation != startGeneration || log == null) {
+                    Files.deleteIfExists(tmp); // Közben törölték a listát: ez a pillanatkép elavult
+                    return;
+                }
+                archive(records, kept); // A pillanatkép cseréje előtt, így összeomláskor sem vész el eredmény
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                // A napló újraírása a közben érkezett rekordokkal
+                List<Record> newer = new ArrayList<>(live.subList(records.size(), live.size()));
+                ByteBuffer tail = ByteBuffer.allocate((int) (log.size() - logPosition));
+                while (tail.hasRemaining()) {
+                    if (log.read(tail, logPosition + tail.position()) < 0) {
+                        break;
+                    }
+                }
+                rewriteLog(tail.flip());
+
+                kept.addAll(newer);
+                live = kept;
+                appended = newer.size();
+            } finally {
+                lock.unlock();
+                writeLock.unlock();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Leaderboard compaction failed, the log keeps growing", e);
+        }
+    }
+
+    /**
+     * Az összes eredmény törlése a listákról és a tárból.
+     */
+    public void clear() {
+        writeLock.lock();
+        lock.lock();
+        try {
+            generation++;
+            live = new ArrayList<>();
+            appended = 0;
+            boards.clear();
+            if (log != null) {
+                Files.deleteIfExists(archiveFile);
+                archiveEnd = -1;
+                Path tmp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+                writeSnapshot(tmp, live, nextSequence - 1);
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.truncate(0);
+                log.force(true);
+            }
+        } catch (IOException e) {
+            disable(e);
+        } finally {
+            lock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * A tár lezárása a függő csoportos írások és a folyamatban lévő tömörítés befejezése után.
+     */
+    @Override
+    public void close() {
+        writer.shutdown(); // A már ütemezett (késleltetett) írások még lefutnak
+        compactor.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warning("Leaderboard writer did not finish pending scores");
+            }
+            if (!compactor.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warning("Leaderboard compaction did not finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLock.lock();
+        try {
+            if (log != null) {
+                log.close();
+                log = null;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to close leaderboard log", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * A pillanatképbe kerülő rekordok: az összesített lista legjobb K eredménye (azonos díjnál a korábbi)
+     * és az utolsó hét összes eredménye, az eredeti sorrendben.
+     */
+    private List<Record> reduce(List<Record> records) {
+        List<Record> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparingLong((Record r) -> r.amount).reversed()); // Stabil rendezés
+        Set<Record> top = Collections.newSetFromMap(new IdentityHashMap<>());
+        top.addAll(sorted.subList(0, Math.min(sorted.size(), boards.getAllTime().getCapacity())));
+
+        long since = clock.getAsLong() - WindowedLeaderboard.Window.WEEKLY.getLengthMillis();
+        List<Record> kept = new ArrayList<>();
+        for (Record r : records) {
+            if (top.contains(r) || r.finishedAt > since) {
+                kept.add(r);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * A pillanatképből kimaradó rekordok hozzáfűzése az archívumhoz, lemezre szinkronizálva.
+     * Egy korábbi, félbeszakadt hozzáfűzés ép része után folytatja (az archívumot először csak egyszer olvassa be).
+     */
+    private void archive(List<Record> records, List<Record> kept) throws IOException {
+        Set<Record> keep = Collections.newSetFromMap(new IdentityHashMap<>());
+        keep.addAll(kept);
+        int size = 0;
+        List<ByteBuffer> frames = new ArrayList<>();
+        for (Record r : records) {
+            if (!keep.contains(r)) {
+                ByteBuffer frame = encode(r);
+                frames.add(frame);
+                size += frame.remaining();
+            }
+        }
+        if (frames.isEmpty()) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(archiveFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (archiveEnd < 0) {
+                archiveEnd = parse(ByteBuffer.wrap(Files.readAllBytes(archiveFile)), new ArrayList<>());
+            }
+            channel.truncate(archiveEnd); // A félbeszakadt utolsó hozzáfűzés eldobása
+            ByteBuffer buf = ByteBuffer.allocate(size);
+            for (ByteBuffer frame : frames) {
+                buf.put(frame);
+            }
+            buf.flip();
+            channel.position(archiveEnd);
+            writeFully(channel, buf);
+            channel.force(false);
+            archiveEnd += size;
+        }
+    }
+
+    private void rewriteLog(ByteBuffer tail) throws IOException {
+        Path tmp = logFile.resolveSibling(LOG_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, tail);
+            channel.force(false);
+        }
+        log.close();
+        Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log = FileChannel.open(logFile, StandardOpenOption.WRITE);
+        log.position(log.size());
+    }
+
+    private long readSnapshot(List<Record> out) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+        if (data.remaining() < SNAPSHOT_HEADER_SIZE || data.getInt() != MAGIC) {
+            throw new IOException("Not a leaderboard snapshot: " + snapshotFile);
+        }
+        byte version = data.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported leaderboard snapshot version: " + version);
+        }
+        long sequence = data.getLong();
+        if (parse(data, out) != data.limit()) {
+            throw new IOException("Corrupt leaderboard snapshot: " + snapshotFile);
+        }
+        return sequence;
+    }
+
+    private static void writeSnapshot(Path file, List<Record> records, long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE).putInt(MAGIC).put(VERSION).putLong(sequence).flip());
+            for (Record r : records) {
+                writeFully(channel, encode(r));
+            }
+            channel.force(false);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    /**
+     * A régi, Java sorosítással mentett dicsőséglista egyszeri átvétele (befejezési idő nélkül, így az
+     * időablakokba nem kerül). A régi fájl változatlanul megmarad.
+     */
+    private void importLegacy(Path legacy) throws IOException {
+        if (!Files.exists(legacy)) {
+            return;
+        }
+        try {
+            for (Highscore score : Leaderboard.load(legacy.toString()).snapshot()) {
+                live.add(new Record(nextSequence++, 0, score.getName(), score.getPrize()));
+            }
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not a legacy leaderboard file: " + legacy, e);
+        }
+        Path tmp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        writeSnapshot(tmp, live, nextSequence - 1);
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("Imported " + live.size() + " scores from legacy leaderboard file " + legacy);
+    }
+
+    private static ByteBuffer encode(Record r) {
+        byte[] player = Highscore.encodeText(r.player);
+        byte[] prize = Highscore.encodeText(r.prize);
+        int length = 8 + 8 + 2 + player.length + 2 + prize.length;
+        ByteBuffer frame = ByteBuffer.allocate(2 + length + 4);
+        frame.putShort((short) length).putLong(r.sequence).putLong(r.finishedAt)
+                .putShort((short) player.length).put(player)
+                .putShort((short) prize.length).put(prize);
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), 0, frame.position());
+        return frame.putInt((int) crc.getValue()).flip();
+    }
+
+    /**
+     * A rekordok beolvasása az első hiányos vagy sérült rekordig.
+     *
+     * @return az utolsó ép rekord vége
+     */
+    private static int parse(ByteBuffer data, List<Record> out) {
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 2 + 4) {
+            int start = data.position();
+            int length = data.getShort(start) & 0xFFFF;
+            if (data.remaining() < 2 + length + 4) {
+                break;
+            }
+            crc.reset();
+            crc.update(data.array(), start, 2 + length);
+            if (data.getInt(start + 2 + length) != (int) crc.getValue()) {
+                break;
+            }
+            try {
+                ByteBuffer payload = data.slice(start + 2, length);
+                long sequence = payload.getLong();
+                long finishedAt = payload.getLong();
+                byte[] player = new byte[payload.getShort() & 0xFFFF];
+                payload.get(player);
+                byte[] prize = new byte[payload.getShort() & 0xFFFF];
+                payload.get(prize);
+                out.add(new Record(sequence, finishedAt,
+                        new String(player, StandardCharsets.UTF_8), new String(prize, StandardCharsets.UTF_8)));
+            } catch (RuntimeException e) {
+                break; // Az ellenőrzőösszeg szerint ép, de értelmezhetetlen rekord: itt ér véget az ép rész
+            }
+            data.position(start + 2 + length + 4);
+        }
+        return data.position();
+    }
+
+    private void disable(IOException e) {
+        LOGGER.log(Level.SEVERE, "Leaderboard log failed, scores are kept in memory only", e);
+        try {
+            if (log != null) {
+                log.close();
+            }
+        } catch (IOException ignored) {
+            // A csatorna már használhatatlan
+        }
+        log = null;
+    }
+}
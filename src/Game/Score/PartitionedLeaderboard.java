@@ -0,0 +1,321 @@
+package Game.Score;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Több, egy gépen futó játékfolyamat (például kioszkonként egy) közös dicsőséglistája.
+ * Minden folyamat a saját szeletét (shard) birtokolja: az összesített listáját rendezett szeletfájlként egy
+ * közös könyvtárba teszi közzé. A globális legjobb N eredmény a szeletek k-utas összefésülésével áll elő,
+ * amely a szeletfájlokat az elejükről, folyamatosan olvassa: egy szeletből csak annyi eredmény kerül a
+ * memóriába, amennyi a legjobb N-be bekerülhet.
+ *
+ * A frissítés növekményes: a szeletfájlok fejlécében változatszám van, frissítéskor csak a fejlécek olvasódnak
+ * be, és csak a megváltozott szeletek olvasódnak újra; a változatlan szeletek már beolvasott eleje megmarad.
+ *
+ * A szeletfájl (minden szám big-endian):
+ * <pre>
+ * int magic ("LOIK"), byte verzió, long változatszám,
+ * majd az eredmények csökkenő sorrendben: unsigned short + UTF-8 játékosnév, unsigned short + UTF-8 díj
+ * </pre>
+ * A fájl neve a szelet azonosítójának URL-biztos Base64 kódolása. A közzététel atomi (ideiglenes fájl és
+ * átnevezés), így az olvasók soha nem látnak félkész szeletet. Az osztály nem szálbiztos.
+ */
+public class PartitionedLeaderboard {
+
+    private static final Logger LOGGER = Logger.getLogger(PartitionedLeaderboard.class.getName());
+
+    /**
+     * A szeletfájlok alapértelmezett közös könyvtára.
+     */
+    public static final String DEFAULT_DIR = "shards";
+
+    private static final String EXTENSION = ".shard";
+    private static final int MAGIC = 0x4C4F494B; // "LOIK"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 13;
+
+    /**
+     * Egy szelet: a fájlja, a változatszáma és a már beolvasott eleje.
+     */
+    private static final class Shard {
+        final Path file;
+        final long version;
+        final List<Highscore> loaded = new ArrayList<>(); // A szelet eddig beolvasott eredményei.
+        long offset = HEADER_SIZE; // A beolvasott rész vége a fájlban.
+        boolean exhausted;         // Elfogyott-e a szelet (vagy közben megváltozott).
+        DataInputStream in;        // Csak összefésülés közben nyitott.
+
+        Shard(Path file, long version) {
+            this.file = file;
+            this.version = version;
+        }
+
+        /**
+         * A szelet i-edik eredménye; szükség esetén a fájlból olvassa tovább.
+         *
+         * @return az eredmény, vagy null, ha a szelet ennél rövidebb
+         */
+        Highscore get(int i) {
+            while (loaded.size() <= i && !exhausted) {
+                try {
+                    if (in == null) {
+                        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+                        if (readVersion(in) != version) {
+                            exhausted = true; // Közben újra közzétették: a következő frissítés olvassa be
+                            break;
+                        }
+                        in.skipNBytes(offset - HEADER_SIZE);
+                    }
+                    byte[] player = readText(in);
+                    byte[] prize = readText(in);
+                    loaded.add(new Highscore(new String(player, StandardCharsets.UTF_8),
+                            new String(prize, StandardCharsets.UTF_8)));
+                    offset += 2 + player.length + 2 + prize.length;
+                } catch (EOFException | NoSuchFileException e) {
+                    exhausted = true;
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to read leaderboard shard " + file, e);
+                    exhausted = true;
+                }
+            }
+            return i < loaded.size() ? loaded.get(i) : null;
+        }
+
+        void closeReader() {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // Csak olvasásra volt nyitva
+                }
+                in = null;
+            }
+        }
+    }
+
+    private final Path directory; // A szeletfájlok közös könyvtára.
+    private final String shardId; // A saját szelet azonosítója.
+    private final int limit;      // A globális lista hossza (N).
+    private final TreeMap<String, Shard> shards = new TreeMap<>(); // Azonosító szerint: azonos díjnál ez a sorrend.
+    private long published;       // A saját szelet utolsó közzétett változatszáma.
+    private List<Highscore> top = List.of();
+
+    /**
+     * Konstruktor.
+     *
+     * @param directory a szeletfájlok közös könyvtára (az első közzétételkor jön létre)
+     * @param shardId   a saját szelet azonosítója (például a kioszk neve)
+     * @param limit     a globális lista hossza
+     */
+    public PartitionedLeaderboard(Path directory, String shardId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.directory = directory;
+        this.shardId = shardId;
+        this.limit = limit;
+    }
+
+    /**
+     * A saját szelet közzététele: a dicsőséglista aktuális pillanatképe a szeletfájlba kerül.
+     *
+     * @param board a folyamat saját (összesített) dicsőséglistája
+     * @throws IOException ha a fájl írása nem sikerül
+     */
+    public void publish(Leaderboard board) throws IOException {
+        Path file = file(shardId);
+        if (published == 0 && Files.exists(file)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                published = readVersion(in); // Újraindítás után az előző változatszámtól folytatja
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Overwriting unreadable leaderboard shard " + file, e);
+            }
+        }
+        published = Math.max(published + 1, System.currentTimeMillis());
+        Files.createDirectories(directory);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(published);
+            for (Highscore score : board.snapshot()) {
+                writeText(out, score.getName());
+                writeText(out, score.getPrize());
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A szeletek változásainak átvétele. Csak a fejléceket olvassa be; ha egy szelet megjelent, eltűnt vagy
+     * megváltozott, a globális listát újra összefésüli (a változatlan szeletek beolvasott elejéből).
+     *
+     * @return true, ha a szeletek változtak
+     */
+    public boolean refresh() {
+        Map<String, Shard> current = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String id = id(file);
+                if (id == null) {
+                    continue;
+                }
+                try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                    long version = readVersion(in);
+                    Shard known = shards.get(id);
+                    current.put(id, known != null && known.version == version ? known : new Shard(file, version));
+                } catch (NoSuchFileException e) {
+                    // Közben törölték
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Skipping unreadable leaderboard shard " + file, e);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Még senki nem tett közzé szeletet
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to list leaderboard shards in " + directory, e);
+            return false;
+        }
+
+        if (current.equals(shards)) {
+            return false;
+        }
+        shards.clear();
+        shards.putAll(current);
+        merge();
+        return true;
+    }
+
+    /**
+     * Visszaadja a globális legjobb eredményeket csökkenő sorrendben (a legutóbbi frissítés szerint).
+     *
+     * @return a legjobb legfeljebb N eredmény, nem módosítható listában
+     */
+    public List<Highscore> top() {
+        return top;
+    }
+
+    /**
+     * A globális lista szöveges formája, a {@link Leaderboard#listLeaderboard()} formájában.
+     *
+     * @return a lista formázott szöveges változata
+     */
+    public String listLeaderboard() {
+        return Leaderboard.format(top);
+    }
+
+    /**
+     * Visszaadja az ismert szeletek számát.
+     *
+     * @return a szeletek száma
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Visszaadja a szeletekből a memóriába beolvasott eredmények számát.
+     *
+     * @return a beolvasott eredmények száma
+     */
+    public int getLoadedCount() {
+        return shards.values().stream().mapToInt(s -> s.loaded.size()).sum();
+    }
+
+    /**
+     * K-utas összefésülés: a kupacban minden szeletből a következő, még ki nem vett eredmény pozíciója.
+     * Egy szeletből csak a kivett eredmények és egy előreolvasott eredmény kerül a memóriába.
+     */
+    private void merge() {
+        List<Shard> list = new ArrayList<>(shards.values());
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            int c = list.get(a[0]).get(a[1]).compareTo(list.get(b[0]).get(b[1]));
+            return c != 0 ? c : Integer.compare(a[0], b[0]);
+        });
+        List<Highscore> result = new ArrayList<>(limit);
+        try {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i).get(0) != null) {
+                    heads.add(new int[]{i, 0});
+                }
+            }
+            while (result.size() < limit && !heads.isEmpty()) {
+                int[] head = heads.poll();
+                Shard shard = list.get(head[0]);
+                result.add(shard.get(head[1]));
+                if (shard.get(++head[1]) != null) {
+                    heads.add(head);
+                }
+            }
+        } finally {
+            for (Shard shard : list) {
+                shard.closeReader();
+            }
+        }
+        top = List.copyOf(result);
+    }
+
+    private static long readVersion(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a leaderboard shard");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported leaderboard shard version: " + version);
+        }
+        return in.readLong();
+    }
+
+    private static byte[] readText(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException();
+        }
+        return bytes;
+    }
+
+    private static void writeText(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = Highscore.encodeText(s);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private Path file(String id) {
+        String name = Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(name + EXTENSION);
+    }
+
+    /**
+     * A szelet azonosítója a fájlnévből, vagy null, ha a név nem szeletfájlé.
+     */
+    private static String id(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            byte[] id = Base64.getUrlDecoder().decode(name.substring(0, name.length() - EXTENSION.length()));
+            return new String(id, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
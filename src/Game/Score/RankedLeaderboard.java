@@ -0,0 +1,251 @@
+package Game.Score;
+
+import Game.Randomness.RandomSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Minden eredményt megtartó ranglista, amely helyezés szerinti lekérdezéseket is kiszolgál.
+ * Az eredmények egy rendezett, részfa-méretekkel kiegészített véletlen kiegyensúlyozott fában (treap) vannak,
+ * így a beszúrás, egy eredmény helyezésének lekérdezése és egy helyezés-tartomány (pl. 5000-5020.)
+ * kilistázásának eleje is várhatóan O(log n) lépés, több millió eredménynél is.
+ *
+ * A sorrend a díj szerint csökkenő; azonos díjnál a korábban befejezett játék áll előrébb, azonos
+ * időpontnál pedig a korábban rögzített. A helyezések 1-től számozódnak.
+ * Az osztály nem szálbiztos.
+ */
+public class RankedLeaderboard {
+
+    /**
+     * A fa egy csúcsa: egy eredmény és a részfa mérete.
+     */
+    private static final class Node {
+        final Highscore score;   // Az eredmény.
+        final long finishedAt;   // A játék befejezésének ideje (ms).
+        final long sequence;     // A rögzítés sorszáma az azonos időpontok sorrendjéhez.
+        final int priority;      // A véletlen prioritás, amely kiegyensúlyozva tartja a fát.
+        Node left;
+        Node right;
+        int size = 1;            // A részfa csúcsainak száma.
+
+        Node(Highscore score, long finishedAt, long sequence, int priority) {
+            this.score = score;
+            this.finishedAt = finishedAt;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+
+    private final RandomSource random;                     // A csúcsok prioritásainak forrása.
+    private final HashMap<String, Node> best = new HashMap<>(); // Játékos neve -> a legjobb eredménye.
+    private Node root;
+    private long sequence;
+
+    /**
+     * Konstruktor egy üres ranglistához.
+     */
+    public RankedLeaderboard() {
+        this(RandomSource.create());
+    }
+
+    /**
+     * Konstruktor egy üres ranglistához a megadott véletlenforrással (megismételhető fa-alakhoz).
+     *
+     * @param random a csúcsok prioritásainak forrása
+     */
+    public RankedLeaderboard(RandomSource random) {
+        this.random = random;
+    }
+
+    /**
+     * Új eredmény rögzítése.
+     *
+     * @param player     a játékos neve
+     * @param prize      az elnyert díj (pl. "1.000 Ft")
+     * @param finishedAt a játék befejezésének ideje (ms)
+     * @return az eredmény helyezése közvetlenül a rögzítés után
+     */
+    public int addScore(String player, String prize, long finishedAt) {
+        Node node = new Node(new Highscore(player, prize), finishedAt, sequence++, random.nextInt(Integer.MAX_VALUE));
+        root = insert(root, node);
+        Node previous = best.get(player);
+        if (previous == null || compare(node, previous) < 0) {
+            best.put(player, node);
+        }
+        return rank(node);
+    }
+
+    /**
+     * Visszaadja a rögzített eredmények számát.
+     *
+     * @return az eredmények száma
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Visszaadja egy játékos legjobb eredményének helyezését.
+     *
+     * @param player a játékos neve
+     * @return a helyezés, vagy 0, ha a játékosnak nincs eredménye
+     */
+    public int rankOf(String player) {
+        Node node = best.get(player);
+        return node == null ? 0 : rank(node);
+    }
+
+    /**
+     * Visszaadja a megadott helyezésű eredményt.
+     *
+     * @param rank a helyezés (1-től)
+     * @return az eredmény
+     * @throws IndexOutOfBoundsException ha nincs ilyen helyezés
+     */
+    public Highscore get(int rank) {
+        if (rank < 1 || rank > size()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of 1.." + size());
+        }
+        Node t = root;
+        while (true) {
+            int left = size(t.left);
+            if (rank <= left) {
+                t = t.left;
+            } else if (rank == left + 1) {
+                return t.score;
+            } else {
+                rank -= left + 1;
+                t = t.right;
+            }
+        }
+    }
+
+    /**
+     * Egy helyezés-tartomány eredményei sorrendben. A tartomány elejét O(log n) lépésben találja meg,
+     * utána eredményenként halad tovább.
+     *
+     * @param from az első helyezés (1-től, beleértve)
+     * @param to   az utolsó helyezés (beleértve); a lista végénél nagyobb érték esetén a végéig listáz
+     * @return az eredmények (üres, ha a tartomány üres)
+     */
+    public List<Highscore> range(int from, int to) {
+        from = Math.max(from, 1);
+        to = Math.min(to, size());
+        List<Highscore> result = new ArrayList<>(Math.max(0, to - from + 1));
+        if (from > to) {
+            return result;
+        }
+
+        // Az út a from-adik csúcsig; a veremben azok az ősök maradnak, amelyek utána következnek.
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        int k = from;
+        while (true) {
+            int left = size(t.left);
+            if (k <= left) {
+                stack.push(t);
+                t = t.left;
+            } else if (k == left + 1) {
+                stack.push(t);
+                break;
+            } else {
+                k -= left + 1;
+                t = t.right;
+            }
+        }
+
+        // Sorrendi bejárás a veremből
+        while (result.size() < to - from + 1) {
+            Node next = stack.pop();
+            result.add(next.score);
+            for (Node c = next.right; c != null; c = c.left) {
+                stack.push(c);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Az összes eredmény törlése.
+     */
+    public void clear() {
+        root = null;
+        best.clear();
+    }
+
+    /**
+     * Egy csúcs helyezése: a nála előrébb álló csúcsok száma a gyökértől lefelé haladva összeszámolva.
+     */
+    private int rank(Node node) {
+        int rank = 0;
+        Node t = root;
+        while (t != null) {
+            int c = compare(node, t);
+            if (c < 0) {
+                t = t.left;
+            } else {
+                rank += size(t.left) + 1;
+                if (c == 0) {
+                    return rank;
+                }
+                t = t.right;
+            }
+        }
+        throw new IllegalStateException("Score is not on the leaderboard");
+    }
+
+    private Node insert(Node t, Node node) {
+        if (t == null) {
+            return node;
+        }
+        if (compare(node, t) < 0) {
+            t.left = insert(t.left, node);
+            if (t.left.priority > t.priority) {
+                t = rotateRight(t);
+            }
+        } else {
+            t.right = insert(t.right, node);
+            if (t.right.priority > t.priority) {
+                t = rotateLeft(t);
+            }
+        }
+        t.size = size(t.left) + size(t.right) + 1;
+        return t;
+    }
+
+    private static Node rotateRight(Node t) {
+        Node l = t.left;
+        t.left = l.right;
+        l.right = t;
+        t.size = size(t.left) + size(t.right) + 1;
+        l.size = size(l.left) + t.size + 1;
+        return l;
+    }
+
+    private static Node rotateLeft(Node t) {
+        Node r = t.right;
+        t.right = r.left;
+        r.left = t;
+        t.size = size(t.left) + size(t.right) + 1;
+        r.size = t.size + size(r.right) + 1;
+        return r;
+    }
+
+    private static int size(Node t) {
+        return t == null ? 0 : t.size;
+    }
+
+    /**
+     * A ranglista sorrendje: nagyobb díj, majd korábbi befejezés, majd korábbi rögzítés áll előrébb.
+     */
+    private static int compare(Node a, Node b) {
+        int c = a.score.compareTo(b.score);
+        if (c == 0) {
+            c = Long.compare(a.finishedAt, b.finishedAt);
+        }
+        return c != 0 ? c : Long.compare(a.sequence, b.sequence);
+    }
+}
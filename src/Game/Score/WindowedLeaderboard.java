@@ -0,0 +1,248 @@
+package Game.Score;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Egyszerre vezetett összesített, óránkénti, napi és heti dicsőséglista.
+ * Az összesített lista a mentett {@link Leaderboard}; az időablakok gördülő időrekeszekből állnak
+ * (például a napi lista az utolsó 24 óra egy-egy órás rekeszeiből), és minden rekesz a saját legjobb
+ * K eredményét tartja. Egy rekesz lejárata O(1): a körkörös tömbben a helyére lépő új rekesz egyszerűen
+ * felülírja, újraszámolás és újrarendezés nélkül. Az ablak legjobb eredményei a rekeszek rendezett
+ * listáinak összefésülésével állnak elő, lekérdezéskor.
+ *
+ * Az eredmény abba a rekeszbe kerül, amelybe a befejezés ideje esik; az ablakon már kívül eső eredményt az
+ * ablak figyelmen kívül hagyja. Az osztály zárolás nélkül szálbiztos.
+ */
+public class WindowedLeaderboard {
+
+    /**
+     * Az időablakok: a rekeszek hossza és száma.
+     */
+    public enum Window {
+        HOURLY(TimeUnit.MINUTES.toMillis(1), 60),
+        DAILY(TimeUnit.HOURS.toMillis(1), 24),
+        WEEKLY(TimeUnit.HOURS.toMillis(1), 24 * 7);
+
+        private final long bucketMillis; // Egy rekesz hossza (ms).
+        private final int buckets;       // A rekeszek száma.
+
+        Window(long bucketMillis, int buckets) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = buckets;
+        }
+
+        /**
+         * Visszaadja az ablak hosszát.
+         *
+         * @return az ablak hossza milliszekundumban
+         */
+        public long getLengthMillis() {
+            return bucketMillis * buckets;
+        }
+    }
+
+    /**
+     * Egy időrekesz: a sorszáma (a befejezési idő és a rekeszhossz hányadosa) és a legjobb eredményei.
+     */
+    private static final class Bucket {
+        final long index;
+        final Leaderboard board;
+
+        Bucket(long index, int capacity) {
+            this.index = index;
+            this.board = new Leaderboard(capacity);
+        }
+    }
+
+    /**
+     * Egy időablak rekeszeinek körkörös tömbje.
+     */
+    private final class Ring {
+        final Window window;
+        final AtomicReferenceArray<Bucket> buckets;
+
+        Ring(Window window) {
+            this.window = window;
+            this.buckets = new AtomicReferenceArray<>(window.buckets);
+        }
+
+        void add(Highscore score, long finishedAt, long now) {
+            long index = Math.floorDiv(finishedAt, window.bucketMillis);
+            if (index <= Math.floorDiv(now, window.bucketMillis) - window.buckets) {
+                return; // Már az ablakon kívül esik
+            }
+            int slot = (int) Math.floorMod(index, (long) window.buckets);
+            while (true) {
+                Bucket bucket = buckets.get(slot);
+                if (bucket != null && bucket.index == index) {
+                    bucket.board.add(score);
+                    return;
+                }
+                if (bucket != null && bucket.index > index) {
+                    return; // A helyet már egy újabb rekesz foglalja: az eredmény lejárt
+                }
+                // Üres vagy lejárt rekesz: az új rekesz a helyére lép (O(1) lejárat)
+                buckets.compareAndSet(slot, bucket, new Bucket(index, capacity));
+            }
+        }
+
+        /**
+         * Az ablak legjobb eredményei a még érvényes rekeszek listáinak összefésülésével.
+         * Azonos díjnál a korábbi rekesz eredménye áll előrébb. Legfeljebb K eredményt ad: ennél
+         * hátrébb az összefésült lista már hiányos lehetne, mert minden rekesz csak a saját K legjobbját tartja.
+         */
+        List<Highscore> top(int n, long now) {
+            n = Math.min(n, capacity);
+            long newest = Math.floorDiv(now, window.bucketMillis);
+            List<List<Highscore>> lists = new ArrayList<>();
+            List<Long> indexes = new ArrayList<>();
+            for (int i = 0; i < window.buckets; i++) {
+                Bucket bucket = buckets.get(i);
+                if (bucket != null && bucket.index > newest - window.buckets && bucket.index <= newest) {
+                    lists.add(bucket.board.snapshot());
+                    indexes.add(bucket.index);
+                }
+            }
+
+            // Összefésülés: a kupacban minden listából a következő, még ki nem vett eredmény pozíciója
+            PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+                int c = lists.get(a[0]).get(a[1]).compareTo(lists.get(b[0]).get(b[1]));
+                return c != 0 ? c : Long.compare(indexes.get(a[0]), indexes.get(b[0]));
+            });
+            for (int i = 0; i < lists.size(); i++) {
+                if (!lists.get(i).isEmpty()) {
+                    heads.add(new int[]{i, 0});
+                }
+            }
+            List<Highscore> result = new ArrayList<>(n);
+            while (result.size() < n && !heads.isEmpty()) {
+                int[] head = heads.poll();
+                List<Highscore> list = lists.get(head[0]);
+                result.add(list.get(head[1]));
+                if (++head[1] < list.size()) {
+                    heads.add(head);
+                }
+            }
+            return result;
+        }
+    }
+
+    private final Leaderboard allTime;   // Az összesített (mentett) dicsőséglista.
+    private final int capacity;          // Az időablakok listáinak hossza.
+    private final LongSupplier clock;    // Az idő forrása (ms).
+    private final EnumMap<Window, Ring> windows = new EnumMap<>(Window.class);
+
+    /**
+     * Konstruktor, amely az összesített listához időablakokat vezet, az összesített lista hosszával.
+     *
+     * @param allTime az összesített dicsőséglista
+     */
+    public WindowedLeaderboard(Leaderboard allTime) {
+        this(allTime, System::currentTimeMillis);
+    }
+
+    /**
+     * Konstruktor a megadott időforrással.
+     *
+     * @param allTime az összesített dicsőséglista
+     * @param clock   az idő forrása milliszekundumban
+     */
+    public WindowedLeaderboard(Leaderboard allTime, LongSupplier clock) {
+        this.allTime = allTime;
+        this.capacity = allTime.getCapacity();
+        this.clock = clock;
+        for (Window window : Window.values()) {
+            windows.put(window, new Ring(window));
+        }
+    }
+
+    /**
+     * Visszaadja az összesített dicsőséglistát.
+     *
+     * @return az összesített lista
+     */
+    public Leaderboard getAllTime() {
+        return allTime;
+    }
+
+    /**
+     * Új eredmény rögzítése most befejezett játékként.
+     *
+     * @param player a játékos neve
+     * @param prize  az elnyert díj (pl. "1.000 Ft")
+     * @return true, ha az eredmény felkerült az összesített listára
+     */
+    public boolean addScore(String player, String prize) {
+        return addScore(player, prize, clock.getAsLong());
+    }
+
+    /**
+     * Új eredmény rögzítése a befejezés idejével (például egy napló visszajátszásakor).
+     *
+     * @param player     a játékos neve
+     * @param prize      az elnyert díj (pl. "1.000 Ft")
+     * @param finishedAt a játék befejezésének ideje (ms)
+     * @return true, ha az eredmény felkerült az összesített listára
+     */
+    public boolean addScore(String player, String prize, long finishedAt) {
+        Highscore score = new Highscore(player, prize);
+        long now = clock.getAsLong();
+        for (Ring ring : windows.values()) {
+            ring.add(score, finishedAt, now);
+        }
+        return allTime.add(score);
+    }
+
+    /**
+     * Egy időablak legjobb eredményei csökkenő sorrendben.
+     *
+     * @param window az időablak
+     * @param n      a visszaadott eredmények legnagyobb száma (legfeljebb az összesített lista hossza)
+     * @return a legjobb legfeljebb n eredmény
+     */
+    public List<Highscore> top(Window window, int n) {
+        return windows.get(window).top(Math.max(n, 0), clock.getAsLong());
+    }
+
+    /**
+     * Egy időablak szöveges listája, a {@link Leaderboard#listLeaderboard()} formájában.
+     *
+     * @param window az időablak
+     * @return a lista formázott szöveges változata
+     */
+    public String listLeaderboard(Window window) {
+        return Leaderboard.format(top(window, Leaderboard.DISPLAY_LIMIT));
+    }
+
+    /**
+     * Az összesített, a napi és a heti lista együtt, címekkel (a dicsőséglista ablakhoz).
+     *
+     * @return a listák formázott szöveges változata
+     */
+    public String listLeaderboard() {
+        StringJoiner joiner = new StringJoiner("\n\n");
+        joiner.add("Összesített:\n" + allTime.listLeaderboard());
+        joiner.add("Az elmúlt 24 óra:\n" + listLeaderboard(Window.DAILY));
+        joiner.add("Az elmúlt 7 nap:\n" + listLeaderboard(Window.WEEKLY));
+        return joiner.toString();
+    }
+
+    /**
+     * Az összes lista törlése.
+     */
+    public void clear() {
+        allTime.clear();
+        for (Ring ring : windows.values()) {
+            for (int i = 0; i < ring.buckets.length(); i++) {
+                ring.buckets.set(i, null);
+            }
+        }
+    }
+}
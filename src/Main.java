@@ -1,12 +1,96 @@
 import Display.MainGameDisplay;
+import Game.Game;
+import Game.Question.SharedQuestionBank;
+import Game.Score.Leaderboard;
+import Game.Score.LeaderboardLog;
+import Game.Score.PartitionedLeaderboard;
+import Server.GameServer;
+
+import javax.swing.SwingUtilities;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A főprogram, amely elindítja a játékot.
+ * A "--server [port]" argumentummal a grafikus felület helyett a többjátékos HTTP szervert indítja.
+ * A "--kiosk név [könyvtár]" argumentummal több, egy gépen futó játék közös ranglistát vezet: mindegyik a saját
+ * ranglistáját teszi közzé a közös könyvtárban (alapértelmezés szerint "shards").
  */
 public class Main {
 
+    private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+
     public static void main(String[] args) {
-        // Létrehozza és megjeleníti a fő játék grafikus felületét (JFrame).
-        new MainGameDisplay().setVisible(true);
+        // Leállításkor a közös kérdésbankok elengedése.
+        Runtime.getRuntime().addShutdownHook(new Thread(SharedQuestionBank::shutdown));
+
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? parsePort(args[1]) : GameServer.DEFAULT_PORT;
+            if (port < 0) {
+                System.err.println("Érvénytelen port: " + args[1]);
+                System.err.println("Használat: java Main --server [port (0-65535)]");
+                System.exit(2);
+            }
+            watchQuestions();
+            startServer(port);
+            return;
+        }
+
+        PartitionedLeaderboard shards = args.length > 1 && args[0].equals("--kiosk")
+                ? new PartitionedLeaderboard(Paths.get(args.length > 2 ? args[2] : PartitionedLeaderboard.DEFAULT_DIR),
+                        args[1], Leaderboard.DISPLAY_LIMIT)
+                : null;
+
+        // Létrehozza és megjeleníti a fő játék grafikus felületét (JFrame) az eseménykezelő szálon.
+        // Az ablak azonnal megjelenik; a kérdéseket, a mentést és a dicsőséglistát a felület a háttérben tölti be.
+        SwingUtilities.invokeLater(() -> new MainGameDisplay(shards).setVisible(true));
+        watchQuestions(); // A felület betöltésével közös bankot figyel: a fájl csak egyszer töltődik be
+    }
+
+    /**
+     * A port értelmezése a parancssori argumentumból.
+     *
+     * @return a port, vagy -1, ha az argumentum nem érvényes port
+     */
+    private static int parsePort(String arg) {
+        try {
+            int port = Integer.parseInt(arg);
+            return port <= 0xFFFF ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A kérdésfájl figyelésének bekapcsolása: módosításkor a kérdések újraindítás nélkül frissülnek.
+     */
+    private static void watchQuestions() {
+        try {
+            SharedQuestionBank.watch(Game.QUESTIONS_FILE, Game.ROUNDS);
+        } catch (FileNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "Failed to load json file", e);
+        }
+    }
+
+    /**
+     * A többjátékos szerver indítása. A dicsőséglisták tárát induláskor megnyitja, leállításkor lezárja.
+     *
+     * @param port a port, amelyen a szerver figyel
+     */
+    private static void startServer(int port) {
+        LeaderboardLog scoretable = new LeaderboardLog(Paths.get(""));
+        try {
+            GameServer server = new GameServer(port, SharedQuestionBank.get(Game.QUESTIONS_FILE), scoretable);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                scoretable.close();
+            }));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to start game server", e);
+            scoretable.close();
+        }
     }
 }
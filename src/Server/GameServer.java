@@ -0,0 +1,422 @@
+package Server;
+
+import Game.Clock.TimingWheel;
+import Game.Engine.Lifeline;
+import Game.GameSave.GameState;
+import Game.GameSave.SessionStore;
+import Game.Question.QuestionBank;
+import Game.Question.RecentQuestions;
+import Game.Score.Highscore;
+import Game.Score.Leaderboard;
+import Game.Score.LeaderboardLog;
+import Game.Score.RankedLeaderboard;
+import Game.Score.WindowedLeaderboard;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Több egyidejű játékmenetet kiszolgáló HTTP/JSON szerver.
+ * Minden kérés saját virtuális szálon fut, így több ezer munkamenet is kiszolgálható egy folyamatban
+ * anélkül, hogy a blokkoló műveletek platformszálakat foglalnának le.
+ * A munkamenetek a közös kérdésbankot és a közös dicsőséglistát használják, a kérdések idejét pedig
+ * egyetlen közös időzítő kerék méri. A szüneteltetett játékok egy {@link SessionStore} mentéstárba kerülnek,
+ * és ugyanazzal az azonosítóval folytathatók. A befejezett munkamenetek rövid ideig még lekérdezhetők (az eredményükkel),
+ * utána törlődnek; a megadott ideig kérés nélkül maradt (elhagyott) munkamenetek játékát a szerver lezárja és
+ * törli. Így a munkamenetek száma a ténylegesen aktív játékosokkal arányos marad.
+ *
+ * Végpontok:
+ * <pre>
+ * POST   /sessions                  új munkamenet ({"name": "..."} opcionális)
+ * GET    /sessions/{id}             az aktuális kérdés és állapot
+ * POST   /sessions/{id}/answer      válasz ({"option": "a"})
+ * POST   /sessions/{id}/lifeline    segítség ({"lifeline": "FIFTY_FIFTY" | "NEW_QUESTION" | "CROWD_VOTE"})
+ * POST   /sessions/{id}/finish      a játék befejezése
+ * POST   /sessions/{id}/pause       a játék szüneteltetése (a munkamenet a mentéstárba kerül)
+ * POST   /sessions/{id}/resume      a szüneteltetett játék folytatása
+ * DELETE /sessions/{id}             a munkamenet törlése
+ * GET    /leaderboard               a dicsőséglista (?window=HOURLY | DAILY | WEEKLY: az időablak listája)
+ * GET    /leaderboard?from=..&to=.. az összes eredmény a megadott helyezések között
+ * GET    /leaderboard?player=...    a játékos legjobb helyezése az összes eredmény között
+ * </pre>
+ */
+public class GameServer implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(GameServer.class.getName());
+
+    /**
+     * Az alapértelmezett port.
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Az alapértelmezett idő, amely után egy kérés nélkül maradt munkamenet elhagyottnak számít.
+     */
+    public static final long DEFAULT_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final long RESULT_MILLIS = TimeUnit.MINUTES.toMillis(1); // Ennyi ideig kérdezhető le a befejezett játék.
+    private static final long SWEEP_MILLIS = TimeUnit.MINUTES.toMillis(1);  // Az elhagyott munkamenetek keresésének gyakorisága.
+
+    private final HttpServer server;          // A HTTP szerver.
+    private final ExecutorService executor;   // A kéréseket futtató virtuális szálak.
+    private final QuestionBank questions;     // A munkamenetek közös kérdésbankja.
+    private final RecentQuestions recent = new RecentQuestions(); // A játékosok legutóbbi kérdései, korlátos számú játékosra.
+    private final LeaderboardLog scoretable;  // A munkamenetek közös dicsőséglistái és azok tára.
+    private final RankedLeaderboard rankings = new RankedLeaderboard(); // Az összes eredmény a helyezésekhez (induláskor a tárból).
+    private final TimingWheel timers = new TimingWheel("game-server-timers"); // A munkamenetek visszaszámlálói.
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>(); // Azonosító -> munkamenet.
+    private final SessionStore paused;        // A szüneteltetett munkamenetek.
+    private final long idleMillis;            // Ennyi kérés nélküli idő után elhagyott egy munkamenet.
+
+    /**
+     * Konstruktor, amely elindítja a szervert a megadott porton.
+     *
+     * @param port       a port (0 esetén szabad portot választ)
+     * @param questions  a közös kérdésbank
+     * @param scoretable a közös dicsőséglisták tára (a hívó zárja le)
+     * @throws IOException ha a port nem nyitható meg
+     */
+    public GameServer(int port, QuestionBank questions, LeaderboardLog scoretable) throws IOException {
+        this(port, questions, scoretable, new SessionStore(Paths.get(SessionStore.DEFAULT_DIR), questions));
+    }
+
+    /**
+     * Konstruktor, amely elindítja a szervert a megadott porton és mentéstárral.
+     *
+     * @param port       a port (0 esetén szabad portot választ)
+     * @param questions  a közös kérdésbank
+     * @param scoretable a közös dicsőséglisták tára (a hívó zárja le)
+     * @param paused     a szüneteltetett munkamenetek tára (a szerver leállításakor lezárja)
+     * @throws IOException ha a port nem nyitható meg
+     */
+    public GameServer(int port, QuestionBank questions, LeaderboardLog scoretable, SessionStore paused) throws IOException {
+        this(port, questions, scoretable, paused, DEFAULT_IDLE_MILLIS);
+    }
+
+    /**
+     * Konstruktor, amely elindítja a szervert a megadott porton, mentéstárral és tétlenségi idővel.
+     *
+     * @param port       a port (0 esetén szabad portot választ)
+     * @param questions  a közös kérdésbank
+     * @param scoretable a közös dicsőséglisták tára (a hívó zárja le)
+     * @param paused     a szüneteltetett munkamenetek tára (a szerver leállításakor lezárja)
+     * @param idleMillis ennyi kérés nélküli idő után a munkamenet elhagyottnak számít és törlődik
+     * @throws IOException ha a port nem nyitható meg
+     */
+    public GameServer(int port, QuestionBank questions, LeaderboardLog scoretable, SessionStore paused,
+                      long idleMillis) throws IOException {
+        if (idleMillis <= 0) {
+            throw new IllegalArgumentException("idleMillis must be positive");
+        }
+        this.questions = questions;
+        this.scoretable = scoretable;
+        this.paused = paused;
+        this.idleMillis = idleMillis;
+        scoretable.replay(rankings::addScore); // A helyezésekhez az összes korábbi eredmény
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/sessions", this::handleSessions);
+        server.createContext("/leaderboard", this::handleLeaderboard);
+        server.start();
+        scheduleSweep();
+        LOGGER.info("Game server listening on port " + getPort());
+    }
+
+    /**
+     * Visszaadja a port számát, amelyen a szerver figyel.
+     *
+     * @return a port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Visszaadja az aktív munkamenetek számát.
+     *
+     * @return a munkamenetek száma
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * A szerver leállítása; a folyamatban lévő kérések legfeljebb egy másodpercig még befejeződhetnek.
+     * A szüneteltetett munkamenetek lemezre kerülnek.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+        timers.close();
+        paused.close();
+    }
+
+    /**
+     * Egy munkamenet játéka véget ért: az eredmény még rövid ideig lekérdezhető, utána a munkamenet törlődik.
+     * A munkamenet zárolása alatt hívódik, ezért csak ütemez.
+     */
+    private void finished(GameSession session) {
+        try {
+            timers.schedule(() -> sessions.remove(session.getId(), session),
+                    Math.min(idleMillis, RESULT_MILLIS), TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            sessions.remove(session.getId(), session); // A szerver leáll
+        }
+    }
+
+    /**
+     * A következő takarítás ütemezése a közös időzítő keréken. A takarítás a kérések szálain fut,
+     * mert a játék lezárása a kerék szálához képest hosszú művelet.
+     */
+    private void scheduleSweep() {
+        try {
+            timers.schedule(() -> {
+                try {
+                    executor.execute(this::sweep);
+                } catch (RejectedExecutionException e) {
+                    // A szerver leáll
+                }
+            }, Math.min(idleMillis, SWEEP_MILLIS), TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // A szerver leáll
+        }
+    }
+
+    /**
+     * Az elhagyott munkamenetek törlése: a még futó játékuk úgy zárul le, mintha a játékos befejezte volna.
+     * A mentéstár régóta nem használt mentései is ekkor kerülnek lemezre, akkor is, ha közben nem érkezik kérés.
+     */
+    private void sweep() {
+        paused.evictIdle();
+        long now = System.currentTimeMillis();
+        for (GameSession session : sessions.values()) {
+            if (now - session.getLastAccess() >= idleMillis && sessions.remove(session.getId(), session)) {
+                session.finish();
+                LOGGER.fine(() -> "Removed abandoned session " + session.getId());
+            }
+        }
+        scheduleSweep();
+    }
+
+    /**
+     * A /sessions alatti kérések kezelése.
+     */
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/"); // "", "sessions", id, művelet
+            String method = exchange.getRequestMethod();
+
+            if (path.length == 2 && method.equals("POST")) {
+                String name = readBody(exchange).optString("name", "");
+                GameSession session = new GameSession(UUID.randomUUID().toString(),
+                        name.isEmpty() ? "Anonymous" : name, questions, recent, scoretable, rankings, timers, this::finished);
+                sessions.put(session.getId(), session);
+                send(exchange, 201, session.state());
+                return;
+            }
+            if (path.length < 3) {
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            String action = path.length > 3 ? path[3] : "";
+            GameSession running = sessions.get(path[2]);
+            if (method.equals("POST") && action.equals("resume") && (running == null || running.isPaused())) {
+                // A szüneteltetés a munkamenet zárolása alatt tárol, így a szüneteltetett munkamenet állapota már a tárban van
+                SessionStore.Entry entry = paused.take(path[2]);
+                if (entry == null) {
+                    sendError(exchange, 404, "No paused session: " + path[2]);
+                    return;
+                }
+                GameSession session = new GameSession(path[2], entry.getPlayer(), questions, recent, scoretable,
+                        rankings, timers, this::finished, entry.getState());
+                sessions.put(session.getId(), session);
+                send(exchange, 200, session.state());
+                return;
+            }
+
+            GameSession session = running;
+            if (session == null) {
+                sendError(exchange, 404, "Unknown session: " + path[2]);
+                return;
+            }
+
+            switch (method + " " + action) {
+                case "GET " -> send(exchange, 200, session.state());
+                case "DELETE " -> {
+                    sessions.remove(session.getId());
+                    send(exchange, 200, session.finish());
+                }
+                case "POST answer" -> send(exchange, 200, session.answer(parseOption(readBody(exchange).getString("option"))));
+                case "POST lifeline" -> send(exchange, 200, session.useLifeline(Lifeline.valueOf(readBody(exchange).getString("lifeline"))));
+                case "POST finish" -> send(exchange, 200, session.finish());
+                case "POST pause" -> {
+                    GameState state;
+                    synchronized (session) { // A közben érkező folytatás csak a már tárolt állapotot láthatja
+                        state = session.pause();
+                        if (state != null) {
+                            paused.put(session.getId(), session.getPlayer(), state);
+                        }
+                    }
+                    if (state == null) {
+                        sendError(exchange, 409, "Game is not running");
+                        return;
+                    }
+                    sessions.remove(session.getId(), session); // Egy közben folytatott munkamenet marad
+                    send(exchange, 200, new JSONObject().put("id", session.getId()).put("paused", true));
+                }
+                case "POST resume" -> send(exchange, 200, session.state()); // Már fut
+                default -> sendError(exchange, 405, "Method not allowed");
+            }
+        } catch (JSONException | IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to handle request " + exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Internal server error");
+        }
+    }
+
+    /**
+     * A /leaderboard kérés kezelése.
+     */
+    private void handleLeaderboard(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+
+        try {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (query.containsKey("player")) {
+                sendRank(exchange, query.get("player"));
+                return;
+            }
+            if (query.containsKey("window")) {
+                WindowedLeaderboard.Window window = WindowedLeaderboard.Window.valueOf(query.get("window").toUpperCase());
+                send(exchange, 200, new JSONObject()
+                        .put("window", window.name())
+                        .put("leaderboard", toJson(scoretable.getBoards().top(window, Leaderboard.DISPLAY_LIMIT))));
+                return;
+            }
+            if (query.containsKey("from")) {
+                int from = Integer.parseInt(query.get("from"));
+                int to = query.containsKey("to") ? Integer.parseInt(query.get("to")) : from + 9;
+                sendRange(exchange, from, to);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        send(exchange, 200, new JSONObject().put("leaderboard", toJson(scoretable.getBoards().getAllTime().snapshot())));
+    }
+
+    private static JSONArray toJson(List<Highscore> scores) {
+        JSONArray entries = new JSONArray();
+        scores.forEach(score -> entries.put(new JSONObject()
+                .put("name", score.getName())
+                .put("prize", score.getAmount())));
+        return entries;
+    }
+
+    private void sendRank(HttpExchange exchange, String player) throws IOException {
+        int rank;
+        int total;
+        synchronized (rankings) {
+            rank = rankings.rankOf(player);
+            total = rankings.size();
+        }
+        if (rank == 0) {
+            sendError(exchange, 404, "No result for player: " + player);
+            return;
+        }
+        send(exchange, 200, new JSONObject().put("name", player).put("rank", rank).put("total", total));
+    }
+
+    private void sendRange(HttpExchange exchange, int from, int to) throws IOException {
+        if (from < 1 || to < from || to - from >= 1000) {
+            throw new IllegalArgumentException("Invalid rank range: " + from + "-" + to);
+        }
+        JSONArray entries = new JSONArray();
+        int total;
+        synchronized (rankings) {
+            int rank = from;
+            for (Highscore score : rankings.range(from, to)) {
+                entries.put(new JSONObject()
+                        .put("rank", rank++)
+                        .put("name", score.getName())
+                        .put("prize", score.getAmount()));
+            }
+            total = rankings.size();
+        }
+        send(exchange, 200, new JSONObject().put("total", total).put("ranks", entries));
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return params;
+    }
+
+    private static char parseOption(String option) {
+        char c = option.length() == 1 ? Character.toLowerCase(option.charAt(0)) : 0;
+        if (c < 'a' || c > 'd') {
+            throw new IllegalArgumentException("Invalid option: " + option);
+        }
+        return c;
+    }
+
+    private static JSONObject readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return body.isBlank() ? new JSONObject() : new JSONObject(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new JSONObject().put("error", message));
+    }
+
+    private static void send(HttpExchange exchange, int status, JSONObject json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
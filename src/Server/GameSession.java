@@ -0,0 +1,300 @@
+package Server;
+
+import Game.Clock.Countdown;
+import Game.Clock.TimingWheel;
+import Game.Engine.AnswerResult;
+import Game.Engine.GameEngine;
+import Game.Engine.GameListener;
+import Game.Engine.GameResult;
+import Game.Engine.Lifeline;
+import Game.Game;
+import Game.GameSave.GameState;
+import Game.Question.Question;
+import Game.Question.QuestionBank;
+import Game.Question.RecentQuestions;
+import Game.Randomness.RandomSource;
+import Game.Score.LeaderboardLog;
+import Game.Score.RankedLeaderboard;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.function.Consumer;
+
+/**
+ * Egy szerveren futó, önálló játékmenet (munkamenet).
+ * Saját Game példányt és GameEngine motort használ a közös kérdésbankkal, mentési fájl nélkül,
+ * így tetszőleges számú munkamenet futhat egy folyamatban egymástól függetlenül. A kérdésválasztó a játékos
+ * legutóbbi kérdéseit a szerver közös tárából veszi át, és a játék végén (vagy szüneteltetéskor) oda adja vissza.
+ *
+ * A kérdések idejét a szerver közös időzítő kerekén futó visszaszámláló méri; lejáratkor a munkamenet
+ * kérés nélkül is lezárja a játékot. A játék végét a szervernek is jelzi, amely így eltávolíthatja a munkamenetet.
+ * A metódusai szinkronizáltak, mert ugyanarra a munkamenetre egyszerre több kérés is érkezhet.
+ */
+public class GameSession implements GameListener {
+
+    private final String id;              // A munkamenet azonosítója.
+    private final String player;          // A játékos neve a dicsőséglistához.
+    private final RecentQuestions recent; // A játékosok legutóbbi kérdései (az ismétlésmentes ablakhoz).
+    private final GameEngine engine;      // A játék menetét vezérlő motor.
+    private final LeaderboardLog scoretable; // A szerver közös dicsőséglistái és azok tára.
+    private final RankedLeaderboard rankings; // A szerver összes eredménye a helyezésekhez.
+
+    private final Countdown countdown;    // Az aktuális kérdés visszaszámlálója.
+    private final Consumer<GameSession> onFinished; // A játék végének jelzése a szervernek.
+    private volatile long lastAccess = System.currentTimeMillis(); // Az utolsó kérés ideje (ms).
+
+    private JSONObject lifeline;     // A legutóbb használt segítség eredménye.
+    private long latency;            // A legutóbbi válasz ideje a kör kezdetétől (ms).
+    private GameResult result;       // A játék eredménye, ha véget ért.
+    private int rank;                // Az eredmény helyezése az összes eredmény között (0, ha nincs díj).
+    private boolean paused;          // Szüneteltették-e a játékot (a folytatás már egy új munkamenetben fut).
+
+    /**
+     * Konstruktor, amely létrehozza és elindítja a munkamenet játékát.
+     *
+     * @param id         a munkamenet azonosítója
+     * @param player     a játékos neve
+     * @param questions  a közös kérdésbank
+     * @param recent     a játékosok legutóbbi kérdéseinek közös tára
+     * @param scoretable a szerver közös dicsőséglistáinak tára
+     * @param rankings   a szerver összes eredménye a helyezésekhez
+     * @param timers     a szerver közös időzítő kereke
+     * @param onFinished a játék végekor hívódik (a munkamenet zárolása alatt, ezért rövid legyen)
+     */
+    public GameSession(String id, String player, QuestionBank questions, RecentQuestions recent,
+                       LeaderboardLog scoretable, RankedLeaderboard rankings, TimingWheel timers,
+                       Consumer<GameSession> onFinished) {
+        this(id, player, questions, recent, scoretable, rankings, timers, onFinished, null);
+    }
+
+    /**
+     * Konstruktor, amely egy szüneteltetett játékot folytat a mentett körrel, segítségekkel és hátralévő idővel.
+     *
+     * @param id         a munkamenet azonosítója
+     * @param player     a játékos neve
+     * @param questions  a közös kérdésbank
+     * @param recent     a játékosok legutóbbi kérdéseinek közös tára
+     * @param scoretable a szerver közös dicsőséglistáinak tára
+     * @param rankings   a szerver összes eredménye a helyezésekhez
+     * @param timers     a szerver közös időzítő kereke
+     * @param onFinished a játék végekor hívódik (a munkamenet zárolása alatt, ezért rövid legyen)
+     * @param saved      a szüneteltetett játék állapota (null esetén új játék indul)
+     */
+    public GameSession(String id, String player, QuestionBank questions, RecentQuestions recent,
+                       LeaderboardLog scoretable, RankedLeaderboard rankings, TimingWheel timers,
+                       Consumer<GameSession> onFinished, GameState saved) {
+        this.id = id;
+        this.player = player;
+        this.recent = recent;
+        this.scoretable = scoretable;
+        this.rankings = rankings;
+        this.onFinished = onFinished;
+        this.countdown = new Countdown(timers, this::expired);
+        this.engine = new GameEngine(new Game(questions, RandomSource.create(), recent.get(player)));
+        engine.addListener(this);
+        if (saved == null) {
+            engine.start();
+        } else {
+            engine.getGame().restore(saved);
+            engine.resume();
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    /**
+     * Visszaadja a munkamenet utolsó kérésének idejét.
+     *
+     * @return az idő milliszekundumban (System.currentTimeMillis szerint)
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Válasz megadása az aktuális kérdésre.
+     *
+     * @param option a válasz betűjele ('a'-'d')
+     * @return a válasz eredménye és a munkamenet új állapota
+     */
+    public synchronized JSONObject answer(char option) {
+        access();
+        AnswerResult answer = engine.answer(option);
+        JSONObject json = toJson().put("answer", answer.name());
+        if (answer != AnswerResult.NOT_RUNNING) {
+            json.put("latencyMillis", latency);
+        }
+        return json;
+    }
+
+    /**
+     * Egy segítség felhasználása.
+     *
+     * @param help a segítség
+     * @return a segítség eredménye (ha felhasználható volt) és a munkamenet új állapota
+     */
+    public synchronized JSONObject useLifeline(Lifeline help) {
+        access();
+        lifeline = null;
+        boolean used = engine.useLifeline(help);
+        JSONObject json = toJson().put("used", used);
+        if (lifeline != null) {
+            json.put("lifeline", lifeline);
+        }
+        return json;
+    }
+
+    /**
+     * A játék befejezése a játékos kérésére.
+     *
+     * @return a munkamenet végső állapota
+     */
+    public synchronized JSONObject finish() {
+        access();
+        engine.finish();
+        return toJson();
+    }
+
+    /**
+     * A játék szüneteltetése: a visszaszámláló és a motor megáll, és a folytatáshoz szükséges állapot mentésre kész.
+     * A munkamenet ezután nem módosítja a játékot: a később érkező válaszok és segítségek NOT_RUNNING választ kapnak,
+     * így egyetlen lépés sem veszhet el a mentett állapot után.
+     *
+     * @return a játékállapot, vagy null, ha a játék már véget ért
+     */
+    public synchronized GameState pause() {
+        access();
+        if (!engine.isRunning()) {
+            return null;
+        }
+        Game game = engine.getGame();
+        game.setTimeLeftMillis(countdown.pause());
+        recent.put(player, game.getRecentQuestions()); // A folytatás új választója innen veszi át
+        paused = true;
+        return engine.suspend();
+    }
+
+    /**
+     * Visszaadja, hogy a játékot szüneteltették-e.
+     *
+     * @return true, ha a munkamenet játéka szüneteltetve van
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * A munkamenet aktuális állapota: a kör, a kérdés (a helyes válasz nélkül), a hátralévő idő és a segítségek.
+     *
+     * @return az állapot JSON formában
+     */
+    public synchronized JSONObject state() {
+        access();
+        return toJson();
+    }
+
+    /**
+     * Egy kérés kezdete: a tétlenségi idő újraindul, és a lejárt visszaszámláló feldolgozódik.
+     */
+    private void access() {
+        lastAccess = System.currentTimeMillis();
+        expired();
+    }
+
+    /**
+     * A visszaszámláló lejártának feldolgozása: a kerék száláról, illetve minden kérés elején hívódik,
+     * így a lejárt kérdésre érkező válasz már nem fogadható el. Ha közben új kör indult, a jelzés érvénytelen.
+     */
+    private synchronized void expired() {
+        if (countdown.isExpired()) {
+            engine.timeout();
+        }
+    }
+
+    private JSONObject toJson() {
+        Game game = engine.getGame();
+        JSONObject json = new JSONObject()
+                .put("id", id)
+                .put("running", engine.isRunning());
+
+        if (engine.isRunning()) {
+            game.setTimeLeftMillis(countdown.getRemainingMillis());
+            Question q = game.getQuestion();
+            json.put("round", game.getRound())
+                    .put("prize", game.getPrize(game.getRound()))
+                    .put("timeLeft", game.getTimeLeft())
+                    .put("timeLeftMillis", game.getTimeLeftMillis())
+                    .put("question", new JSONObject()
+                            .put("id", Long.toHexString(q.getId()))
+                            .put("question", q.getQuestion())
+                            .put("a", q.getA())
+                            .put("b", q.getB())
+                            .put("c", q.getC())
+                            .put("d", q.getD()));
+
+            JSONObject lifelines = new JSONObject();
+            for (Lifeline help : Lifeline.values()) {
+                lifelines.put(help.name(), !engine.isUsed(help));
+            }
+            json.put("lifelines", lifelines);
+        }
+
+        if (result != null) {
+            json.put("result", new JSONObject()
+                    .put("outcome", result.getOutcome().name())
+                    .put("round", result.getRound())
+                    .put("questionId", Long.toHexString(result.getQuestionId()))
+                    .put("correctAnswer", String.valueOf(result.getCorrectAnswer()))
+                    .put("prize", result.getPrize() == null ? JSONObject.NULL : result.getPrize())
+                    .put("rank", rank == 0 ? JSONObject.NULL : rank));
+        }
+        return json;
+    }
+
+    @Override
+    public void roundStarted(Question question, int round) {
+        countdown.start(engine.getGame().getTimeLeftMillis()); // Az új kör időzítője most indul
+    }
+
+    @Override
+    public void answered(int round, char option, boolean correct, long latencyMillis) {
+        latency = latencyMillis;
+    }
+
+    @Override
+    public void answersRemoved(char first, char second) {
+        lifeline = new JSONObject().put("removed", new JSONArray()
+                .put(String.valueOf(first))
+                .put(String.valueOf(second)));
+    }
+
+    @Override
+    public void crowdVoted(int[] votes) {
+        lifeline = new JSONObject().put("votes", new JSONArray(votes));
+    }
+
+    @Override
+    public void questionReplaced(Question question) {
+        lifeline = new JSONObject().put("replaced", true);
+    }
+
+    @Override
+    public void gameFinished(GameResult result) {
+        countdown.cancel();
+        this.result = result;
+        recent.put(player, engine.getGame().getRecentQuestions());
+        if (result.getPrize() != null) {
+            scoretable.submit(player, result.getPrize()); // Azonnal a listákra kerül; a lemezre írást nem várja meg
+            synchronized (rankings) {
+                rank = rankings.addScore(player, result.getPrize(), System.currentTimeMillis());
+            }
+        }
+        onFinished.accept(this);
+    }
+}
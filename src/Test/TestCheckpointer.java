@@ -0,0 +1,80 @@
+package Test;
+
+import Game.Engine.GameEngine;
+import Game.Engine.Lifeline;
+import Game.Game;
+import Game.GameSave.Checkpointer;
+import Game.GameSave.GameState;
+import Game.GameSave.GameStateCodec;
+import Game.Question.QuestionBank;
+import Game.Question.SharedQuestionBank;
+import Game.Randomness.RandomSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A háttérben futó automatikus mentés egységtesztjei.
+ * Ellenőrzik, hogy a gyors változások egy írásba olvadnak, a mentés a legfrissebb állapotot tartalmazza,
+ * és a játék végén törlődik.
+ */
+public class TestCheckpointer {
+
+    @TempDir
+    Path dir;
+
+    QuestionBank questions;
+    Game game;
+    GameEngine engine;
+    Checkpointer checkpointer;
+    Path file;
+
+    /**
+     * Minden teszt előtt egy elindított játék automatikus mentéssel.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        questions = SharedQuestionBank.get(Game.QUESTIONS_FILE);
+        file = dir.resolve("autosave.sav");
+        game = new Game(questions, RandomSource.seeded(3));
+        engine = new GameEngine(game);
+        checkpointer = new Checkpointer(game, file);
+        engine.addListener(checkpointer);
+        engine.start();
+    }
+
+    /**
+     * Teszteli, hogy a gyors egymásutáni változások összevonódnak, és a legfrissebb állapot kerül a fájlba.
+     */
+    @Test
+    public void testBurstIsCoalesced() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            engine.answer(game.getCorrectAnswer());
+        }
+        engine.useLifeline(Lifeline.CROWD_VOTE);
+        checkpointer.close();
+
+        assertTrue(checkpointer.getWriteCount() < 7, "7 changes should not need 7 writes: " + checkpointer.getWriteCount());
+        GameState state = GameStateCodec.read(file, questions);
+        assertEquals(6, state.getRound());
+        assertTrue(state.isCrowdVoteUsed());
+        assertEquals(game.getQuestion().getId(), state.getCurrentQuestion().getId());
+    }
+
+    /**
+     * Teszteli, hogy a befejezett játék mentése törlődik.
+     */
+    @Test
+    public void testFinishedGameIsDeleted() {
+        engine.answer(game.getCorrectAnswer());
+        engine.finish();
+        checkpointer.close();
+
+        assertFalse(Files.exists(file), "A finished game must not be resumed");
+    }
+}
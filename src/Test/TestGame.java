@@ -1,9 +1,23 @@
 package Test;
 
 import Game.Game;
+import Game.GameSave.GameState;
+import Game.GameSave.GameStateCodec;
+import Game.GameSave.SavedGame;
+import Game.Question.Question;
+import Game.Question.QuestionsData;
+import Game.Randomness.RandomSource;
 import org.junit.jupiter.api.*;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.StringJoiner;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -119,6 +133,181 @@ public class TestGame {
         assertNotNull(loadedGame.getQuestion());
     }
 
+    /**
+     * Teszteli, hogy a hátralévő idő milliszekundumra pontosan kerül a mentésbe.
+     */
+    @Test
+    public void testSaveKeepsExactTimeLeft() throws FileNotFoundException {
+        game.setTimeLeftMillis(12_345);
+        assertEquals(13, game.getTimeLeft(), "Whole seconds are rounded up for display");
+
+        game.saveGameState();
+        Game loadedGame = new Game();
+        assertEquals(12_345, loadedGame.getTimeLeftMillis());
+        game.resetGameState();
+    }
+
+    /**
+     * Teszteli, hogy a mentés tömör, és a kérdést azonosító alapján ugyanarra a kérdésre tölti vissza.
+     */
+    @Test
+    public void testSaveIsCompact() throws IOException {
+        game.setCrowdvote(true);
+        game.saveGameState();
+        assertEquals(GameStateCodec.SIZE, Files.size(Paths.get(Game.SAVE_FILE)));
+
+        Game loadedGame = new Game();
+        assertTrue(loadedGame.isRestored());
+        assertTrue(loadedGame.isCrowdvote());
+        assertEquals(game.getQuestion().getId(), loadedGame.getQuestion().getId());
+        assertEquals(game.getQuestion().getQuestion(), loadedGame.getQuestion().getQuestion());
+        game.resetGameState();
+    }
+
+    /**
+     * Teszteli, hogy a kérdésbank nélkül beolvasott mentésből (például párhuzamos induláskor) ugyanaz a játék áll vissza.
+     */
+    @Test
+    public void testSaveReadSeparatelyFromQuestionBank() throws IOException {
+        game.newRound();
+        game.setNewquestion(true);
+        game.saveGameState();
+
+        SavedGame saved = Game.readSave();
+        assertFalse(saved.isEmpty());
+        assertArrayEquals(Files.readAllBytes(Paths.get(Game.SAVE_FILE)), saved.getSave());
+
+        Game loadedGame = new Game(saved);
+        assertTrue(loadedGame.isRestored());
+        assertEquals(2, loadedGame.getRound());
+        assertTrue(loadedGame.isNewquestion());
+        assertEquals(game.getQuestion().getId(), loadedGame.getQuestion().getId());
+        game.resetGameState();
+    }
+
+    /**
+     * Teszteli, hogy a régi, Java sorosítással írt mentés betöltődik, és új formátumra alakul.
+     */
+    @Test
+    public void testLegacySaveIsUpgraded() throws IOException {
+        Path legacy = Paths.get(Game.LEGACY_SAVE_FILE);
+        try (OutputStream out = Files.newOutputStream(legacy);
+             ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(new GameState(3, game.getQuestion(), true, false, false, 17_000));
+        }
+
+        Game loadedGame = new Game();
+        assertTrue(loadedGame.isRestored());
+        assertEquals(3, loadedGame.getRound());
+        assertTrue(loadedGame.isFiftyfifty());
+        assertEquals(17_000, loadedGame.getTimeLeftMillis());
+        assertEquals(game.getQuestion().getQuestion(), loadedGame.getQuestion().getQuestion());
+        assertFalse(Files.exists(legacy), "The legacy save should be replaced");
+        assertTrue(Files.exists(Paths.get(Game.SAVE_FILE)));
+        loadedGame.resetGameState();
+    }
+
+    /**
+     * Teszteli, hogy sérült mentés esetén új játék indul.
+     */
+    @Test
+    public void testCorruptSaveStartsNewGame() throws IOException {
+        game.newRound();
+        game.saveGameState();
+        byte[] data = Files.readAllBytes(Paths.get(Game.SAVE_FILE));
+        data[6] ^= 1; // A segítségek bájtja
+        Files.write(Paths.get(Game.SAVE_FILE), data);
+
+        Game loadedGame = new Game();
+        assertFalse(loadedGame.isRestored());
+        assertEquals(1, loadedGame.getRound());
+        game.resetGameState();
+    }
+
+    /**
+     * Teszteli, hogy a játékok a folyamaton belül közös kérdésbankot használnak.
+     * Ellenőrzi, hogy egy újabb játék nem tölti be újra a kérdéseket.
+     */
+    @Test
+    public void testQuestionBankIsShared() throws FileNotFoundException {
+        Game other = new Game();
+        assertSame(game.getQuestionsData(), other.getQuestionsData(), "Games should share one question bank");
+
+        Game headless = new Game(game.getQuestionsData());
+        assertEquals(1, headless.getRound());
+        assertNotNull(headless.getQuestion());
+    }
+
+    /**
+     * Teszteli a rögzített kezdőértékű játékok visszajátszhatóságát.
+     * Ellenőrzi, hogy azonos kezdőértékkel minden körben ugyanaz a kérdés jelenik meg.
+     */
+    @Test
+    public void testSeededGamesAreReproducible() {
+        Game first = new Game(game.getQuestionsData(), RandomSource.seeded(2024));
+        Game second = new Game(game.getQuestionsData(), RandomSource.seeded(2024));
+
+        for (int i = 1; i < 12; i++) {
+            assertEquals(first.getQuestion().getQuestion(), second.getQuestion().getQuestion(), "Round " + i + " should match");
+            assertEquals(first.drawQuestion(i).getQuestion(), second.drawQuestion(i).getQuestion());
+            first.newRound();
+            second.newRound();
+        }
+    }
+
+    /**
+     * Teszteli a következő kör és a tartalékkérdés előzetes kihúzását.
+     * Ellenőrzi, hogy a körváltás és az "új kérdés" az előre kihúzott kérdést veszi át,
+     * a tartalékkérdés nem az aktuális kérdés, és a kör váltásával a tartalék elavul.
+     */
+    @Test
+    public void testPrefetchedQuestionsAreUsed() {
+        Game prefetching = new Game(game.getQuestionsData(), RandomSource.seeded(5));
+        prefetching.prefetch();
+        var next = prefetching.getNextQuestion();
+        var spare = prefetching.getSpareQuestion();
+        assertNotNull(next);
+        assertNotNull(spare);
+        assertNotEquals(prefetching.getQuestion().getId(), spare.getId());
+
+        assertSame(spare, prefetching.drawQuestion(1));
+        assertNull(prefetching.getSpareQuestion());
+
+        prefetching.prefetch();
+        assertSame(next, prefetching.getNextQuestion(), "Already prefetched question should be kept");
+        prefetching.newRound();
+        assertSame(next, prefetching.getQuestion());
+        assertNull(prefetching.getNextQuestion());
+        assertNull(prefetching.getSpareQuestion());
+    }
+
+    /**
+     * Teszteli, hogy a fel nem használt előre kihúzott kérdések visszakerülnek a választóhoz:
+     * két kérdéses szinten is újra ugyanaz a kérdés húzható elő, ha a játékos nem látta.
+     */
+    @Test
+    public void testUnusedPrefetchedQuestionsAreGivenBack() {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int d = 1; d <= 2; d++) {
+            for (int i = 0; i < 2; i++) {
+                json.add("{\"difficulty\": " + d + ", \"question\": \"Kérdés " + d + "/" + i
+                        + "?\", \"a\": \"1\", \"b\": \"2\", \"c\": \"3\", \"d\": \"4\", \"answer\": \"a\"}");
+            }
+        }
+        Game prefetching = new Game(new QuestionsData(new StringReader(json.toString())), RandomSource.seeded(3));
+
+        boolean repeated = false;
+        long previous = -1;
+        for (int i = 0; i < 20 && !repeated; i++) {
+            prefetching.prefetch();
+            long next = prefetching.getNextQuestion().getId();
+            repeated = next == previous; // Visszatartva ez soha nem fordulhatna elő
+            previous = next;
+            prefetching.beginGame();
+        }
+        assertTrue(repeated, "An unused prefetched question should be drawable again");
+    }
+
     /**
      * Teszteli a nyeremények helyes visszaadását.
      * Ellenőrzi az első és az utolsó kör nyereményét.
@@ -131,4 +320,22 @@ public class TestGame {
         prize = game.getPrize(12);
         assertEquals("10.000.000 Ft", prize);
     }
+
+    /**
+     * Teszteli, hogy az új játék nem húzza újra a még meg nem mutatott első kérdést,
+     * a már látott kérdés helyett viszont újat húz.
+     */
+    @Test
+    public void testUnshownFirstQuestionIsKept() {
+        Game fresh = new Game(game.getQuestionsData(), RandomSource.seeded(11));
+        Question first = fresh.getQuestion();
+
+        fresh.resetGameState();
+        assertSame(first, fresh.getQuestion(), "An unshown first question should be kept");
+
+        fresh.markQuestionShown();
+        fresh.beginGame();
+        assertNotEquals(first.getId(), fresh.getQuestion().getId(), "A shown question should be replaced");
+        assertEquals(1, fresh.getQuestion().getDifficulty());
+    }
 }
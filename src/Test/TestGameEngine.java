@@ -0,0 +1,208 @@
+package Test;
+
+import Game.Engine.AnswerResult;
+import Game.Engine.GameEngine;
+import Game.Engine.GameListener;
+import Game.Engine.GameResult;
+import Game.Engine.Lifeline;
+import Game.Game;
+import Game.GameSave.GameState;
+import Game.Question.Question;
+import Game.Question.SharedQuestionBank;
+import Game.Randomness.RandomSource;
+import org.junit.jupiter.api.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A grafikus felület nélküli GameEngine egységtesztjei.
+ * A tesztek a motort egy eseményeket rögzítő figyelővel hajtják végre, és ellenőrzik
+ * a válaszok, a segítségek, az időzítő és a játék befejezésének eredményét.
+ */
+public class TestGameEngine {
+
+    GameEngine engine;
+    Recorder events;
+
+    /**
+     * Eseményeket rögzítő figyelő.
+     */
+    static class Recorder implements GameListener {
+        final List<Integer> rounds = new ArrayList<>();
+        final List<Lifeline> lifelines = new ArrayList<>();
+        char[] removed;
+        int[] votes;
+        Question replaced;
+        GameResult result;
+
+        @Override
+        public void roundStarted(Question question, int round) {
+            rounds.add(round);
+        }
+
+        @Override
+        public void questionReplaced(Question question) {
+            replaced = question;
+        }
+
+        @Override
+        public void answersRemoved(char first, char second) {
+            removed = new char[]{first, second};
+        }
+
+        @Override
+        public void crowdVoted(int[] votes) {
+            this.votes = votes;
+        }
+
+        @Override
+        public void lifelineUsed(Lifeline lifeline) {
+            lifelines.add(lifeline);
+        }
+
+        @Override
+        public void gameFinished(GameResult result) {
+            this.result = result;
+        }
+    }
+
+    /**
+     * Minden teszt előtt egy rögzített kezdőértékű játékot és egy elindított motort hoz létre.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException {
+        engine = new GameEngine(new Game(SharedQuestionBank.get(Game.QUESTIONS_FILE), RandomSource.seeded(7)));
+        events = new Recorder();
+        engine.addListener(events);
+        engine.start();
+    }
+
+    /**
+     * Teszteli, hogy a helyes válaszok sorra új köröket indítanak, és az utolsó után a játékos nyer.
+     */
+    @Test
+    public void testWinningGame() {
+        for (int round = 1; round < Game.ROUNDS; round++) {
+            assertEquals(AnswerResult.CORRECT, engine.answer(engine.getGame().getCorrectAnswer()));
+        }
+        assertEquals(AnswerResult.WON, engine.answer(engine.getGame().getCorrectAnswer()));
+
+        assertEquals(Game.ROUNDS, events.rounds.size(), "Every round should be announced");
+        assertTrue(events.result.isWon());
+        assertEquals("10.000.000 Ft", events.result.getPrize());
+        assertFalse(engine.isRunning());
+        assertEquals(AnswerResult.NOT_RUNNING, engine.answer('a'), "No answers are accepted after the game ended");
+    }
+
+    /**
+     * Teszteli a válaszidő mérését: minden megválaszolt kérdés ideje a kör kezdetétől számít.
+     */
+    @Test
+    public void testAnswerLatency() throws InterruptedException {
+        Thread.sleep(50);
+        engine.answer(engine.getGame().getCorrectAnswer());
+        engine.answer(engine.getGame().getCorrectAnswer());
+
+        long[] latencies = engine.finish().getAnswerLatencies();
+        assertEquals(2, latencies.length);
+        assertTrue(latencies[0] >= 50, "The first answer took at least 50 ms: " + latencies[0]);
+        assertTrue(latencies[1] < latencies[0], "The second round started after the first answer: " + latencies[1]);
+    }
+
+    /**
+     * Teszteli a rossz választ: a játék véget ér, és a játékos az előző kör nyereményét viszi.
+     */
+    @Test
+    public void testWrongAnswer() {
+        engine.answer(engine.getGame().getCorrectAnswer());
+        char wrong = engine.getGame().getCorrectAnswer() == 'a' ? 'b' : 'a';
+        char correct = engine.getGame().getCorrectAnswer();
+
+        assertEquals(AnswerResult.WRONG, engine.answer(wrong));
+        assertEquals(GameResult.Outcome.WRONG_ANSWER, events.result.getOutcome());
+        assertEquals(2, events.result.getRound());
+        assertEquals(correct, events.result.getCorrectAnswer());
+        assertEquals("1.000 Ft", events.result.getPrize());
+    }
+
+    /**
+     * Teszteli a segítségeket: mindegyik egyszer használható, és a megfelelő esemény érkezik.
+     */
+    @Test
+    public void testLifelines() {
+        char correct = engine.getGame().getCorrectAnswer();
+        assertTrue(engine.useLifeline(Lifeline.FIFTY_FIFTY));
+        assertNotEquals(correct, events.removed[0], "The correct answer must not be removed");
+        assertNotEquals(correct, events.removed[1], "The correct answer must not be removed");
+        assertNotEquals(events.removed[0], events.removed[1]);
+        assertFalse(engine.useLifeline(Lifeline.FIFTY_FIFTY), "A lifeline can be used only once");
+
+        assertTrue(engine.useLifeline(Lifeline.CROWD_VOTE));
+        assertEquals(4, events.votes.length);
+        assertTrue(events.votes[correct - 'a'] >= 40, "The correct answer should get at least 40%");
+
+        assertTrue(engine.useLifeline(Lifeline.NEW_QUESTION));
+        assertSame(events.replaced, engine.getGame().getQuestion());
+
+        assertEquals(List.of(Lifeline.FIFTY_FIFTY, Lifeline.CROWD_VOTE, Lifeline.NEW_QUESTION), events.lifelines);
+    }
+
+    /**
+     * Teszteli, hogy az idő lejártakor a játék véget ér.
+     */
+    @Test
+    public void testTimeout() {
+        engine.updateTimeLeft(1000);
+        assertTrue(engine.isRunning());
+        assertEquals(1, engine.getGame().getTimeLeft());
+
+        assertNotNull(engine.timeout());
+        assertFalse(engine.isRunning());
+        assertNull(engine.timeout(), "A finished game cannot time out again");
+
+        assertEquals(GameResult.Outcome.TIMEOUT, events.result.getOutcome());
+        assertNull(events.result.getPrize(), "Nothing is won in the first round");
+    }
+
+    /**
+     * Teszteli a játék befejezését a játékos kérésére.
+     */
+    @Test
+    public void testFinish() {
+        engine.answer(engine.getGame().getCorrectAnswer());
+        engine.answer(engine.getGame().getCorrectAnswer());
+
+        GameResult result = engine.finish();
+        assertEquals(GameResult.Outcome.STOPPED, result.getOutcome());
+        assertEquals("5.000 Ft", result.getPrize());
+        assertTrue(engine.getGame().isGameEnd());
+        assertNull(engine.finish(), "A finished game cannot be finished again");
+    }
+
+    /**
+     * Teszteli a felfüggesztést: a játék eredmény nélkül áll le, és a visszaadott állapotból folytatható.
+     */
+    @Test
+    public void testSuspendAndResume() {
+        engine.answer(engine.getGame().getCorrectAnswer());
+        engine.useLifeline(Lifeline.FIFTY_FIFTY);
+        Question question = engine.getGame().getQuestion();
+
+        GameState state = engine.suspend();
+        assertNotNull(state);
+        assertFalse(engine.isRunning());
+        assertNull(events.result, "A suspended game has no result");
+        assertNull(engine.suspend(), "Only a running game can be suspended");
+
+        engine.getGame().restore(state);
+        engine.resume();
+        assertTrue(engine.isRunning());
+        assertEquals(2, engine.getGame().getRound());
+        assertSame(question, engine.getGame().getQuestion());
+        assertTrue(engine.isUsed(Lifeline.FIFTY_FIFTY));
+    }
+}
@@ -0,0 +1,170 @@
+package Test;
+
+import Game.Engine.GameEngine;
+import Game.Engine.Lifeline;
+import Game.Game;
+import Game.GameSave.GameJournal;
+import Game.GameSave.GameState;
+import Game.Question.QuestionBank;
+import Game.Question.SharedQuestionBank;
+import Game.Randomness.RandomSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A játéknapló egységtesztjei.
+ * A tesztek egy motor eseményeit naplózzák egy ideiglenes könyvtárba, majd ellenőrzik a félbemaradt játék
+ * visszaállítását, a lezárt játékok kihagyását, a sérült vég kezelését, a pillanatképek gyakoriságát és a régi
+ * szegmensek törlését. A napló a háttérben ír, ezért olvasás előtt a tesztek megvárják a függő írásokat.
+ */
+public class TestGameJournal {
+
+    @TempDir
+    Path dir;
+
+    QuestionBank questions;
+    Game game;
+    GameEngine engine;
+    GameJournal journal;
+
+    /**
+     * Minden teszt előtt egy naplózott, elindított játék.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        questions = SharedQuestionBank.get(Game.QUESTIONS_FILE);
+        game = new Game(questions, RandomSource.seeded(11));
+        engine = new GameEngine(game);
+        journal = new GameJournal(dir, game);
+        engine.addListener(journal);
+        engine.start();
+    }
+
+    /**
+     * Teszteli, hogy a bezárás nélkül félbemaradt (összeomlott) játék a napló alapján pontosan visszaáll.
+     */
+    @Test
+    public void testRecoverUnfinishedGame() throws IOException {
+        engine.answer(game.getCorrectAnswer());
+        engine.useLifeline(Lifeline.FIFTY_FIFTY);
+        engine.updateTimeLeft(17_400);
+        journal.flush();
+        // Nincs close(): a folyamat "összeomlik"
+
+        GameState state = GameJournal.recover(dir, questions);
+        assertNotNull(state, "An unfinished game should be recovered");
+        assertEquals(2, state.getRound());
+        assertTrue(state.isFiftyfiftyUsed());
+        assertFalse(state.isCrowdVoteUsed());
+        assertEquals(17_400, state.getTimeLeftMillis());
+        assertEquals(game.getQuestion().getId(), state.getCurrentQuestion().getId());
+    }
+
+    /**
+     * Teszteli, hogy a lezárt játék nem állítható vissza, a napló viszont elemzésre olvasható marad.
+     */
+    @Test
+    public void testFinishedGameIsAnalyticsData() throws IOException {
+        long first = game.getQuestion().getId();
+        engine.answer(game.getCorrectAnswer());
+        engine.finish();
+        journal.flush();
+
+        assertNull(GameJournal.recover(dir, questions), "A finished game must not be resumed");
+
+        List<Path> segments = GameJournal.segments(dir);
+        assertEquals(1, segments.size());
+        List<GameJournal.Entry> entries = GameJournal.read(segments.get(0));
+        assertEquals(GameJournal.Type.STARTED, entries.get(0).getType());
+        assertEquals(11, entries.get(0).getSeed());
+        assertEquals(GameJournal.Type.QUESTION, entries.get(1).getType());
+        assertEquals(first, entries.get(1).getQuestionId());
+        assertEquals(GameJournal.Type.ANSWER, entries.get(2).getType());
+        assertTrue(entries.get(2).isCorrect());
+        assertEquals(GameJournal.Type.FINISHED, entries.get(entries.size() - 1).getType());
+    }
+
+    /**
+     * Teszteli, hogy a félbeszakadt utolsó keret nem rontja el a visszaállítást, és folytatáskor levágódik.
+     */
+    @Test
+    public void testTornTailIsDropped() throws IOException {
+        engine.updateTimeLeft(20_000);
+        journal.flush();
+        Path segment = GameJournal.segments(dir).get(0);
+        Files.write(segment, new byte[]{0, 5, 5, 0}, StandardOpenOption.APPEND); // Félbeszakadt írás
+
+        GameState state = GameJournal.recover(dir, questions);
+        assertEquals(20_000, state.getTimeLeftMillis());
+
+        // Újraindítás: a mentett játék folytatódik ugyanabban a szegmensben
+        Game restored = new Game(questions, RandomSource.seeded(12));
+        restored.setQuestion(state.getCurrentQuestion());
+        restored.setTimeLeftMillis(state.getTimeLeftMillis());
+        GameEngine resumed = new GameEngine(restored);
+        GameJournal resumedJournal = new GameJournal(dir, restored);
+        resumed.addListener(resumedJournal);
+        resumed.resume();
+        resumed.updateTimeLeft(19_000);
+        resumedJournal.flush();
+
+        assertEquals(1, GameJournal.segments(dir).size(), "The resumed game should continue its segment");
+        List<GameJournal.Entry> entries = GameJournal.read(segment);
+        assertTrue(entries.stream().anyMatch(e -> e.getType() == GameJournal.Type.RESUMED));
+        assertEquals(19_000, entries.get(entries.size() - 1).getMillis());
+        assertEquals(19_000, GameJournal.recover(dir, questions).getTimeLeftMillis());
+    }
+
+    /**
+     * Teszteli, hogy a pillanatképek korlátozzák a visszaállításkor lejátszandó események számát.
+     */
+    @Test
+    public void testSnapshotsBoundReplay() throws IOException {
+        for (int i = 0; i < 200; i++) {
+            engine.updateTimeLeft(30_000 - i * 100);
+        }
+        journal.flush();
+
+        List<GameJournal.Entry> entries = GameJournal.read(GameJournal.segments(dir).get(0));
+        int sinceSnapshot = 0;
+        for (GameJournal.Entry e : entries) {
+            sinceSnapshot = e.getType() == GameJournal.Type.SNAPSHOT ? 0 : sinceSnapshot + 1;
+            assertTrue(sinceSnapshot <= GameJournal.SNAPSHOT_INTERVAL, "Too many events without a snapshot");
+        }
+        assertEquals(30_000 - 199 * 100, GameJournal.recover(dir, questions).getTimeLeftMillis());
+        journal.close();
+    }
+
+    /**
+     * Teszteli, hogy csak a beállított számú legutóbbi szegmens marad meg, és a mutató a legutóbbira mutat.
+     */
+    @Test
+    public void testOldSegmentsAreDeleted() throws IOException, InterruptedException {
+        engine.finish();
+        journal.close();
+
+        GameJournal limited = new GameJournal(dir, game, 2);
+        engine.addListener(limited);
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(2); // Különböző kezdési idő: különböző szegmensnév
+            engine.start();
+            engine.finish();
+        }
+        limited.flush();
+
+        List<Path> segments = GameJournal.segments(dir);
+        assertEquals(2, segments.size(), "Only the retained segments should be kept");
+        assertEquals(segments.get(1), GameJournal.latest(dir));
+        assertEquals(segments.get(1).getFileName().toString(),
+                Files.readString(dir.resolve(GameJournal.LATEST_FILE)));
+        limited.close();
+    }
+}
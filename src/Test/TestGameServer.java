@@ -0,0 +1,281 @@
+package Test;
+
+import Game.Clock.TimingWheel;
+import Game.Engine.Lifeline;
+import Game.Game;
+import Game.GameSave.SessionStore;
+import Game.Question.RecentQuestions;
+import Game.Question.SharedQuestionBank;
+import Game.Score.LeaderboardLog;
+import Game.Score.RankedLeaderboard;
+import Server.GameServer;
+import Server.GameSession;
+import org.json.JSONObject;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A többjátékos HTTP szerver egységtesztjei.
+ * A tesztek egy szabad porton elindított szerveren ellenőrzik a munkamenetek létrehozását,
+ * a válaszadást, a segítségeket, a dicsőséglistát, a szüneteltetést és a párhuzamos munkamenetek függetlenségét.
+ */
+public class TestGameServer {
+
+    @TempDir
+    Path dir;
+
+    GameServer server;
+    LeaderboardLog scoretable;
+    HttpClient client;
+
+    /**
+     * Minden teszt előtt elindít egy szervert üres dicsőséglistával.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        scoretable = new LeaderboardLog(dir);
+        server = startServer();
+        client = HttpClient.newHttpClient();
+    }
+
+    /**
+     * A szerver leállítása.
+     */
+    @AfterEach
+    public void tearDown() {
+        server.close();
+        scoretable.close();
+    }
+
+    /**
+     * Teszteli egy munkamenet teljes életútját: létrehozás, lekérdezés, segítség és befejezés.
+     */
+    @Test
+    public void testSessionLifecycle() throws Exception {
+        JSONObject created = request("POST", "/sessions", "{\"name\": \"Teszt\"}", 201);
+        String id = created.getString("id");
+        assertEquals(1, created.getInt("round"));
+        assertEquals(30, created.getInt("timeLeft"));
+        assertFalse(created.getJSONObject("question").has("answer"), "The correct answer must not be exposed");
+
+        JSONObject fifty = request("POST", "/sessions/" + id + "/lifeline", "{\"lifeline\": \"FIFTY_FIFTY\"}", 200);
+        assertTrue(fifty.getBoolean("used"));
+        assertEquals(2, fifty.getJSONObject("lifeline").getJSONArray("removed").length());
+        assertFalse(request("GET", "/sessions/" + id, null, 200).getJSONObject("lifelines").getBoolean("FIFTY_FIFTY"));
+
+        JSONObject finished = request("POST", "/sessions/" + id + "/finish", null, 200);
+        assertFalse(finished.getBoolean("running"));
+        assertEquals("STOPPED", finished.getJSONObject("result").getString("outcome"));
+
+        request("DELETE", "/sessions/" + id, null, 200);
+        request("GET", "/sessions/" + id, null, 404);
+    }
+
+    /**
+     * Teszteli a válaszadást: egy rossz válasz lezárja a játékot, és a hibás kérések 400-as választ kapnak.
+     */
+    @Test
+    public void testAnswer() throws Exception {
+        String id = request("POST", "/sessions", null, 201).getString("id");
+        request("POST", "/sessions/" + id + "/answer", "{\"option\": \"x\"}", 400);
+        request("POST", "/sessions/" + id + "/lifeline", "{\"lifeline\": \"PHONE\"}", 400);
+
+        // Helyes válasz után a játék fut tovább, rossz válasz után véget ér.
+        JSONObject state = request("POST", "/sessions/" + id + "/answer", "{\"option\": \"a\"}", 200);
+        String answer = state.getString("answer");
+        assertTrue(answer.equals("CORRECT") || answer.equals("WRONG"));
+        assertEquals(answer.equals("CORRECT"), state.getBoolean("running"));
+    }
+
+    /**
+     * Teszteli, hogy a szüneteltetett játék a szerver újraindítása után is ugyanonnan folytatható.
+     */
+    @Test
+    public void testPauseAndResume() throws Exception {
+        JSONObject created = request("POST", "/sessions", "{\"name\": \"Teszt\"}", 201);
+        String id = created.getString("id");
+        request("POST", "/sessions/" + id + "/lifeline", "{\"lifeline\": \"FIFTY_FIFTY\"}", 200);
+
+        assertTrue(request("POST", "/sessions/" + id + "/pause", null, 200).getBoolean("paused"));
+        request("GET", "/sessions/" + id, null, 404);
+        assertEquals(0, server.getSessionCount());
+
+        server.close(); // A szüneteltetett játék lemezre kerül
+        server = startServer();
+
+        JSONObject resumed = request("POST", "/sessions/" + id + "/resume", null, 200);
+        assertTrue(resumed.getBoolean("running"));
+        assertEquals(1, resumed.getInt("round"));
+        assertEquals(created.getJSONObject("question").getString("id"), resumed.getJSONObject("question").getString("id"));
+        assertFalse(resumed.getJSONObject("lifelines").getBoolean("FIFTY_FIFTY"));
+        assertTrue(resumed.getInt("timeLeft") <= 30);
+
+        request("POST", "/sessions/" + id + "/finish", null, 200);
+        request("POST", "/sessions/" + id + "/pause", null, 409);
+        request("POST", "/sessions/unknown/resume", null, 404);
+    }
+
+    /**
+     * Teszteli, hogy a szüneteltetés után a munkamenet már nem módosítja a játékot, és a szüneteltetéssel
+     * egyidejű folytatás sem kap 404-et.
+     */
+    @Test
+    public void testPauseStopsSessionAndRacesWithResume() throws Exception {
+        try (TimingWheel timers = new TimingWheel("test-timers")) {
+            GameSession session = new GameSession("s", "Teszt", SharedQuestionBank.get(Game.QUESTIONS_FILE),
+                    new RecentQuestions(), scoretable, new RankedLeaderboard(), timers, s -> {
+            });
+            assertNotNull(session.pause());
+            assertTrue(session.isPaused());
+            assertEquals("NOT_RUNNING", session.answer('a').getString("answer"), "A late answer must not change the game");
+            assertFalse(session.useLifeline(Lifeline.FIFTY_FIFTY).getBoolean("used"));
+            assertNull(session.pause(), "A paused session cannot be paused again");
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                String id = request("POST", "/sessions", null, 201).getString("id");
+                Future<JSONObject> pause = executor.submit(() -> request("POST", "/sessions/" + id + "/pause", null, 200));
+                Future<JSONObject> resume = executor.submit(() -> request("POST", "/sessions/" + id + "/resume", null, 200));
+                pause.get();
+                resume.get();
+                // Akár a szüneteltetés előtt, akár utána érkezett a folytatás, a játék megvan
+                assertEquals(200, status("POST", "/sessions/" + id + "/resume"));
+            }
+        }
+    }
+
+    /**
+     * Teszteli, hogy egyszerre sok munkamenet hozható létre, és mindegyik önállóan működik.
+     */
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(clients.submit(() -> {
+                    String id = request("POST", "/sessions", null, 201).getString("id");
+                    request("POST", "/sessions/" + id + "/lifeline", "{\"lifeline\": \"CROWD_VOTE\"}", 200);
+                    ids.add(id);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(200, ids.size());
+        assertEquals(200, server.getSessionCount());
+    }
+
+    /**
+     * Teszteli, hogy a befejezett és az elhagyott munkamenetek a tétlenségi idő után törlődnek.
+     */
+    @Test
+    public void testFinishedAndIdleSessionsAreRemoved() throws Exception {
+        server.close();
+        server = new GameServer(0, SharedQuestionBank.get(Game.QUESTIONS_FILE), scoretable,
+                new SessionStore(dir, SharedQuestionBank.get(Game.QUESTIONS_FILE)), 200);
+
+        String finished = request("POST", "/sessions", null, 201).getString("id");
+        String idle = request("POST", "/sessions", null, 201).getString("id");
+        assertFalse(request("POST", "/sessions/" + finished + "/finish", null, 200).getBoolean("running"));
+        assertFalse(request("GET", "/sessions/" + finished, null, 200).getBoolean("running"), "The result should stay readable");
+        assertEquals(2, server.getSessionCount());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getSessionCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, server.getSessionCount());
+        request("GET", "/sessions/" + finished, null, 404);
+        request("GET", "/sessions/" + idle, null, 404);
+    }
+
+    /**
+     * Teszteli, hogy a szerver a közös dicsőséglistát adja vissza.
+     */
+    @Test
+    public void testLeaderboard() throws Exception {
+        scoretable.addScore("Régi", "5.000 Ft");
+        JSONObject board = request("GET", "/leaderboard", null, 200);
+        assertEquals(1, board.getJSONArray("leaderboard").length());
+        assertEquals(5000, board.getJSONArray("leaderboard").getJSONObject(0).getInt("prize"));
+
+        assertEquals(0, request("GET", "/leaderboard?from=1&to=20", null, 200).getJSONArray("ranks").length());
+        request("GET", "/leaderboard?from=0", null, 400);
+        request("GET", "/leaderboard?player=R%C3%A9gi", null, 404);
+        assertEquals(1, request("GET", "/leaderboard?window=daily", null, 200).getJSONArray("leaderboard").length());
+        request("GET", "/leaderboard?window=yearly", null, 400);
+
+        server.close(); // Újraindításkor a helyezések a tár összes eredményéből épülnek fel
+        server = startServer();
+        assertEquals(1, request("GET", "/leaderboard?player=R%C3%A9gi", null, 200).getInt("rank"));
+    }
+
+    /**
+     * Teszteli, hogy sok párhuzamos munkamenet mellett a visszatérő játékos új munkamenete sem ismétli
+     * a korábbi játékainak kérdéseit (az ismétlésmentes ablak a munkamenetek között is megmarad).
+     */
+    @Test
+    public void testReturningPlayersDoNotRepeatQuestions() throws Exception {
+        List<Future<Set<String>>> players = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < 20; p++) {
+                String body = "{\"name\": \"Visszatérő " + p + "\"}";
+                players.add(executor.submit(() -> {
+                    Set<String> questions = new HashSet<>();
+                    for (int game = 0; game < 10; game++) {
+                        JSONObject created = request("POST", "/sessions", body, 201);
+                        assertTrue(questions.add(created.getJSONObject("question").getString("id")),
+                                "A returning player got a question of a recent game");
+                        request("POST", "/sessions/" + created.getString("id") + "/finish", null, 200);
+                    }
+                    return questions;
+                }));
+            }
+            for (Future<Set<String>> player : players) {
+                assertEquals(10, player.get().size());
+            }
+        }
+    }
+
+    private GameServer startServer() throws IOException {
+        return new GameServer(0, SharedQuestionBank.get(Game.QUESTIONS_FILE), scoretable,
+                new SessionStore(dir, SharedQuestionBank.get(Game.QUESTIONS_FILE)));
+    }
+
+    private int status(String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private JSONObject request(String method, String path, String body, int expectedStatus) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), response.body());
+        return new JSONObject(response.body());
+    }
+}
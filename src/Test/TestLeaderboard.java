@@ -3,8 +3,14 @@ package Test;
 import Game.Score.Leaderboard;
 import Game.Score.Highscore;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,10 +20,15 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Pontok hozzáadását és sorrendbe állítását.
  * - A ranglista formázott listázását.
  * - A ranglista maximális méretének kezelését.
+ * - A régi dicsőséglista-fájl betöltését és a mentést.
+ * - A párhuzamos beküldéseket.
  * - A ranglista törlését.
  */
 public class TestLeaderboard {
 
+    @TempDir
+    Path dir;
+
     Leaderboard leaderboard;
 
     /**
@@ -85,6 +96,128 @@ public class TestLeaderboard {
         assertEquals("Player6", scores.get(9).getName(), "Player6 should have the lowest score in the top 10.");
     }
 
+    /**
+     * Teszteli, hogy a megtelt ranglistára a gyengébb eredmény nem kerül fel, és a lista nem nő tovább.
+     */
+    @Test
+    public void testWeakerScoreDoesNotGrowFullLeaderboard() {
+        for (int i = 1; i <= 10; i++) {
+            leaderboard.addScore("Player" + i, (i * 1_000) + " Ft");
+        }
+
+        assertFalse(leaderboard.addScore("Weak", "500 Ft"), "A weaker score must not enter a full leaderboard.");
+        assertFalse(leaderboard.addScore("Tied", "1000 Ft"), "A tie with the last entry must not replace it.");
+        assertEquals(10, leaderboard.getLeaderboard().size(), "Leaderboard must not grow past its capacity.");
+        assertEquals("Player1", leaderboard.getLeaderboard().getLast().getName());
+    }
+
+    /**
+     * Teszteli a nagy kapacitású ranglistát: a sorrendet és a legjobb eredmények lekérdezését.
+     */
+    @Test
+    public void testLargeCapacity() {
+        leaderboard = new Leaderboard(5_000);
+        for (int i = 0; i < 20_000; i++) {
+            leaderboard.addScore("Player" + i, ((i * 7_919) % 20_000) + " Ft");
+        }
+
+        ArrayList<Highscore> scores = leaderboard.getLeaderboard();
+        assertEquals(5_000, scores.size());
+        for (int i = 1; i < scores.size(); i++) {
+            assertTrue(scores.get(i - 1).getAmount() >= scores.get(i).getAmount(), "Leaderboard must stay sorted.");
+        }
+        List<Highscore> top = leaderboard.top(3);
+        assertEquals(3, top.size());
+        assertEquals(19_999, top.getFirst().getAmount());
+    }
+
+    /**
+     * Teszteli, hogy a korábbi változattal mentett dicsőséglista-fájl betölthető, és rendezett marad.
+     */
+    @Test
+    public void testLoadLegacyFile() throws Exception {
+        Leaderboard loaded = Leaderboard.load(Leaderboard.LEADERBOARD_FILE);
+
+        assertEquals(Leaderboard.DEFAULT_CAPACITY, loaded.getCapacity());
+        assertFalse(loaded.getLeaderboard().isEmpty());
+        assertEquals(5_000, loaded.getLeaderboard().getFirst().getAmount());
+        assertTrue(loaded.addScore("Új", "2.000 Ft"));
+        assertEquals("Új", loaded.getLeaderboard().get(1).getName());
+    }
+
+    /**
+     * Teszteli, hogy a mentett dicsőséglista a kapacitással és a sorrenddel együtt tölthető vissza.
+     */
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        leaderboard = new Leaderboard(3);
+        leaderboard.addScore("Player1", "5.000 Ft");
+        leaderboard.addScore("Player2", "10.000 Ft");
+        String file = dir.resolve("leaderboard").toString();
+        leaderboard.save(file);
+
+        Leaderboard loaded = Leaderboard.load(file);
+        assertEquals(3, loaded.getCapacity());
+        assertEquals(leaderboard.listLeaderboard(), loaded.listLeaderboard());
+    }
+
+    /**
+     * Teszteli, hogy sok szál egyidejű beküldése után a ranglista pontosan a legjobb eredményeket tartalmazza,
+     * és a közben készült pillanatképek mindig rendezettek.
+     */
+    @Test
+    public void testConcurrentSubmissions() throws Exception {
+        leaderboard = new Leaderboard(100);
+        int threads = 8;
+        int perThread = 20_000;
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads + 1)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        leaderboard.addScore("P" + offset, (i * threads + offset) + " Ft");
+                    }
+                }));
+            }
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    List<Highscore> snapshot = leaderboard.snapshot();
+                    for (int j = 1; j < snapshot.size(); j++) {
+                        assertTrue(snapshot.get(j - 1).getAmount() >= snapshot.get(j).getAmount());
+                    }
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        List<Highscore> top = leaderboard.snapshot();
+        assertEquals(100, top.size());
+        long best = (long) threads * perThread - 1;
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(best - i, top.get(i).getAmount(), "Every top score must be kept exactly once.");
+        }
+    }
+
+    /**
+     * Teszteli, hogy a pillanatkép módosításig ugyanaz marad, a módosítás után pedig az új állapotot mutatja.
+     */
+    @Test
+    public void testSnapshotIsPublishedLazily() {
+        leaderboard.addScore("Player1", "5.000 Ft");
+        List<Highscore> before = leaderboard.snapshot();
+        assertEquals(before, leaderboard.snapshot());
+
+        leaderboard.addScore("Player2", "10.000 Ft");
+        assertEquals(1, before.size(), "An earlier snapshot must not change");
+        List<Highscore> after = leaderboard.snapshot();
+        assertEquals(2, after.size());
+        assertEquals("Player2", after.get(0).getName());
+        assertEquals(after, leaderboard.top(10));
+    }
+
     /**
      * Teszteli a ranglista törlését.
      * Ellenőrzi:
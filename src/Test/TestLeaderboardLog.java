@@ -0,0 +1,208 @@
+package Test;
+
+import Game.Score.Highscore;
+import Game.Score.Leaderboard;
+import Game.Score.LeaderboardLog;
+import Game.Score.WindowedLeaderboard.Window;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A dicsőséglisták naplóalapú tárának egységtesztjei.
+ * A tesztek ellenőrzik az újraindítás utáni visszatöltést, a félbeszakadt utolsó rekord levágását,
+ * a tömörítést, a csoportos írást, a régi dicsőséglista-fájl egyszeri átvételét és a fájlok nélküli tárat.
+ */
+public class TestLeaderboardLog {
+
+    static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @TempDir
+    Path dir;
+
+    AtomicLong now = new AtomicLong(1_000 * DAY); // A tár órája
+
+    /**
+     * Teszteli, hogy az eredmények és az időablakok az újranyitás után is megvannak.
+     */
+    @Test
+    public void testScoresSurviveRestart() {
+        LeaderboardLog log = open(3);
+        log.addScore("Player1", "5.000 Ft");
+        log.addScore("Player2", "10.000 Ft");
+        String expected = log.getBoards().listLeaderboard();
+        // Nincs close(): a folyamat "összeomlik"
+
+        LeaderboardLog reopened = open(3);
+        assertEquals(expected, reopened.getBoards().listLeaderboard());
+        assertEquals(List.of("Player2", "Player1"), names(reopened.getBoards().top(Window.DAILY, 10)));
+        reopened.close();
+    }
+
+    /**
+     * Teszteli, hogy a félbeszakadt utolsó rekord induláskor levágódik, és utána a napló tovább írható.
+     */
+    @Test
+    public void testTornTailIsRecovered() throws IOException {
+        LeaderboardLog log = open(3);
+        log.addScore("Player1", "5.000 Ft");
+        log.close();
+        Files.write(dir.resolve(LeaderboardLog.LOG_FILE), new byte[]{0, 40, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        LeaderboardLog reopened = open(3);
+        assertEquals(1, reopened.getBoards().getAllTime().snapshot().size());
+        reopened.addScore("Player2", "1.000 Ft");
+        reopened.close();
+
+        assertEquals(List.of("Player1", "Player2"), names(open(3).getBoards().getAllTime().snapshot()));
+    }
+
+    /**
+     * Teszteli, hogy a tömörítés után csak a legjobb eredmények és az utolsó hét eredményei maradnak meg,
+     * a listák pedig változatlanok.
+     */
+    @Test
+    public void testCompactionKeepsBoards() throws IOException {
+        LeaderboardLog log = open(3);
+        for (int i = 1; i <= 50; i++) {
+            log.addScore("Old" + i, i * 1_000 + " Ft");
+        }
+        now.addAndGet(8 * DAY);
+        for (int i = 1; i <= 5; i++) {
+            log.addScore("New" + i, i * 100 + " Ft");
+        }
+        long logSize = Files.size(dir.resolve(LeaderboardLog.LOG_FILE));
+        String expected = log.getBoards().listLeaderboard();
+
+        log.compact();
+        log.addScore("After", "200 Ft");
+        log.close();
+
+        assertTrue(Files.size(dir.resolve(LeaderboardLog.LOG_FILE)) < logSize / 10, "The log should be rewritten");
+        LeaderboardLog reopened = open(3);
+        assertEquals(List.of("Old50", "Old49", "Old48"), names(reopened.getBoards().getAllTime().snapshot()));
+        assertEquals(List.of("New5", "New4", "New3"), names(reopened.getBoards().top(Window.WEEKLY, 10)));
+        assertEquals(expected, reopened.getBoards().listLeaderboard());
+        reopened.close();
+    }
+
+    /**
+     * Teszteli, hogy a tömörítéskor kimaradó eredmények is megmaradnak, és a visszajátszás mindegyiket
+     * pontosan egyszer, rögzítési sorrendben adja vissza.
+     */
+    @Test
+    public void testReplayIncludesCompactedScores() {
+        LeaderboardLog log = open(3);
+        for (int i = 1; i <= 20; i++) {
+            log.addScore("Old" + i, i * 1_000 + " Ft");
+        }
+        now.addAndGet(8 * DAY);
+        log.compact();
+        log.addScore("New", "100 Ft");
+        log.compact(); // A második tömörítés az archívum végéhez fűz
+        log.close();
+
+        LeaderboardLog reopened = open(3);
+        List<String> replayed = new ArrayList<>();
+        reopened.replay((player, prize, finishedAt) -> replayed.add(player));
+        assertEquals(21, replayed.size());
+        assertEquals("Old1", replayed.get(0));
+        assertEquals("New", replayed.get(20));
+        reopened.close();
+    }
+
+    /**
+     * Teszteli, hogy a párhuzamos beküldések csoportosan, kevesebb lemezre szinkronizálással kerülnek a naplóba,
+     * és újranyitás után mind megvannak.
+     */
+    @Test
+    public void testConcurrentSubmissionsAreGroupCommitted() {
+        int threads = 8;
+        int perThread = 500;
+        LeaderboardLog log = open(threads * perThread);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<List<CompletableFuture<Boolean>>>> submitted = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                submitted.add(pool.submit(() -> {
+                    List<CompletableFuture<Boolean>> own = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        own.add(log.submit("Player" + id + "-" + i, (i + 1) * 1_000 + " Ft"));
+                    }
+                    return own;
+                }));
+            }
+            for (Future<List<CompletableFuture<Boolean>>> f : submitted) {
+                futures.addAll(f.get());
+            }
+        } catch (Exception e) {
+            fail(e);
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        assertTrue(futures.stream().allMatch(CompletableFuture::join), "Every score fits on the board");
+        assertTrue(log.getSyncCount() < threads * perThread, "Submissions should share syncs");
+        log.close(); // Megvárja a közben indult tömörítést
+
+        LeaderboardLog reopened = open(threads * perThread);
+        assertEquals(threads * perThread, reopened.getBoards().getAllTime().snapshot().size());
+        reopened.close();
+    }
+
+    /**
+     * Teszteli, hogy első induláskor a régi, sorosított dicsőséglista-fájl átkerül a tárba, és csak egyszer.
+     */
+    @Test
+    public void testLegacyFileIsImported() throws Exception {
+        Files.copy(Paths.get(Leaderboard.LEADERBOARD_FILE), dir.resolve(Leaderboard.LEADERBOARD_FILE));
+        Leaderboard legacy = Leaderboard.load(Leaderboard.LEADERBOARD_FILE);
+
+        LeaderboardLog log = open(Leaderboard.DEFAULT_CAPACITY);
+        assertEquals(legacy.listLeaderboard(), log.getBoards().getAllTime().listLeaderboard());
+        assertTrue(log.getBoards().top(Window.WEEKLY, 10).isEmpty(), "Legacy scores have no finish time");
+        log.addScore("Új", "2.000 Ft");
+        log.close();
+
+        LeaderboardLog reopened = open(Leaderboard.DEFAULT_CAPACITY);
+        assertEquals(legacy.snapshot().size() + 1, reopened.getBoards().getAllTime().snapshot().size());
+        reopened.close();
+    }
+
+    /**
+     * Teszteli, hogy a fájlok nélküli tár a memóriában felveszi az eredményeket, a lemezre írás pedig hibával zárul.
+     */
+    @Test
+    public void testInMemoryStoreKeepsScores() {
+        LeaderboardLog log = LeaderboardLog.inMemory(3, now::get);
+        CompletableFuture<Boolean> durable = log.submit("Player1", "5.000 Ft");
+        CompletionException e = assertThrows(CompletionException.class, durable::join);
+        assertInstanceOf(IOException.class, e.getCause());
+        assertEquals(List.of("Player1"), names(log.getBoards().top(Window.DAILY, 10)));
+        log.close();
+    }
+
+    private LeaderboardLog open(int capacity) {
+        return new LeaderboardLog(dir, capacity, now::get);
+    }
+
+    private static List<String> names(List<Highscore> scores) {
+        return scores.stream().map(Highscore::getName).toList();
+    }
+}
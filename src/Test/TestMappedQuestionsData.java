@@ -0,0 +1,168 @@
+package Test;
+
+import Game.Question.MappedQuestionsData;
+import Game.Question.Question;
+import Game.Question.QuestionBankCompiler;
+import Game.Question.QuestionsData;
+import org.junit.jupiter.api.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A bináris kérdésbank fordítójának és a memóriába képező MappedQuestionsData osztálynak az egységtesztjei.
+ * A tesztek a teljes kérdésfájlt lefordítják, és ellenőrzik, hogy a bináris bank
+ * ugyanazokat a kérdéseket adja vissza, mint a JSON-ból betöltött.
+ */
+public class TestMappedQuestionsData {
+
+    static final String BINARY_FILE = "test_questions" + QuestionBankCompiler.EXTENSION;
+
+    static QuestionsData source;
+    static MappedQuestionsData mapped;
+
+    /**
+     * A kérdésfájl betöltése és lefordítása a tesztek előtt.
+     *
+     * @throws IOException, ha a fordítás vagy a megnyitás nem sikerül.
+     */
+    @BeforeAll
+    public static void setUpClass() throws IOException {
+        source = new QuestionsData("questions.json");
+        QuestionBankCompiler.compile(source, Paths.get(BINARY_FILE));
+        mapped = new MappedQuestionsData(BINARY_FILE);
+    }
+
+    /**
+     * A lefordított fájl törlése a tesztek után.
+     */
+    @AfterAll
+    public static void tearDownClass() throws IOException {
+        Files.deleteIfExists(Path.of(BINARY_FILE));
+    }
+
+    /**
+     * Teszteli, hogy a bináris bank szintenként ugyanannyi kérdést tartalmaz, mint a forrás.
+     */
+    @Test
+    public void testCounts() {
+        assertEquals(source.size(), mapped.size(), "The compiled bank should hold every question");
+        assertEquals(source.getLevelCount(), mapped.getLevelCount(), "The number of levels should match");
+        for (int d = 0; d < source.getLevelCount(); d++) {
+            assertEquals(source.getQuestionCount(d), mapped.getQuestionCount(d), "Count mismatch at difficulty " + d);
+        }
+        assertEquals(0, mapped.getQuestionCount(99), "Unknown difficulty should be empty");
+        assertNull(mapped.getQuestion(99), "No question should be returned for an unknown difficulty");
+    }
+
+    /**
+     * Teszteli, hogy minden rekord pontosan visszaadja a forrás kérdését (ékezetes szövegekkel együtt).
+     */
+    @Test
+    public void testRecordsMatchSource() {
+        for (int d = 0; d < source.getLevelCount(); d++) {
+            for (int i = 0; i < source.getQuestionCount(d); i++) {
+                Question expected = source.getQuestion(d, i);
+                Question actual = mapped.getQuestion(d, i);
+                assertEquals(expected.getDifficulty(), actual.getDifficulty());
+                assertEquals(expected.getQuestion(), actual.getQuestion());
+                assertEquals(expected.getA(), actual.getA());
+                assertEquals(expected.getB(), actual.getB());
+                assertEquals(expected.getC(), actual.getC());
+                assertEquals(expected.getD(), actual.getD());
+                assertEquals(expected.getAnswer(), actual.getAnswer());
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> mapped.getQuestion(1, mapped.getQuestionCount(1)));
+    }
+
+    /**
+     * Teszteli, hogy a kérdések azonosítója mindkét bankban ugyanaz, és azonosító alapján visszakereshetők.
+     */
+    @Test
+    public void testLookupById() {
+        for (int d = 0; d < source.getLevelCount(); d++) {
+            for (int i = 0; i < source.getQuestionCount(d); i++) {
+                Question expected = source.getQuestion(d, i);
+                assertEquals(expected.getId(), mapped.getQuestion(d, i).getId(), "Ids should not depend on the bank");
+                assertEquals(expected.getQuestion(), source.getById(expected.getId()).getQuestion());
+                assertEquals(expected.getQuestion(), mapped.getById(expected.getId()).getQuestion());
+            }
+        }
+        assertNull(source.getById(42));
+        assertNull(mapped.getById(42));
+    }
+
+    /**
+     * Teszteli a hiányzó és az érvénytelen fájlok kezelését.
+     */
+    @Test
+    public void testInvalidFiles() {
+        assertThrows(FileNotFoundException.class, () -> new MappedQuestionsData("invalid_file.bin"),
+                "Opening a missing file should throw FileNotFoundException");
+        assertThrows(IOException.class, () -> new MappedQuestionsData("questions.json"),
+                "A JSON file should not be accepted as a compiled bank");
+    }
+
+    /**
+     * Teszteli, hogy a csonka fájl már megnyitáskor hibát ad, a sérült rekordpozíció pedig a rekord
+     * dekódolásakor, és nem a fájlon kívüli adatot olvas.
+     */
+    @Test
+    public void testCorruptRecordsAreRejected() throws IOException {
+        byte[] bytes = Files.readAllBytes(Path.of(BINARY_FILE));
+        Path broken = Path.of("broken_questions" + QuestionBankCompiler.EXTENSION);
+        try {
+            Files.write(broken, Arrays.copyOf(bytes, bytes.length - 3)); // Az utolsó rekord vége hiányzik
+            assertThrows(IOException.class, () -> new MappedQuestionsData(broken.toString()));
+
+            byte[] corrupt = bytes.clone();
+            int table = ByteBuffer.wrap(bytes).getInt(20 + 8 + 4); // Az 1. szint táblája (fejléc, majd a 0. szint bejegyzése)
+            ByteBuffer.wrap(corrupt).putInt(table, Integer.MAX_VALUE); // Az első rekord pozíciója
+            Files.write(broken, corrupt);
+            MappedQuestionsData opened = new MappedQuestionsData(broken.toString());
+            assertThrows(IllegalStateException.class, () -> opened.getQuestion(1, 0));
+            assertNotNull(opened.getQuestion(1, 1), "The other records stay readable");
+        } finally {
+            Files.deleteIfExists(broken);
+        }
+    }
+
+    /**
+     * Teszteli, hogy a sérült fejléc (kérdésszám, szinttábla, azonosítótábla) megnyitáskor IOException-t ad,
+     * így a hívó a JSON fájlra térhet vissza, és a megnyitás nem akad el.
+     */
+    @Test
+    public void testCorruptHeaderIsRejectedAtOpen() throws IOException {
+        byte[] bytes = Files.readAllBytes(Path.of(BINARY_FILE));
+        Path broken = Path.of("broken_questions" + QuestionBankCompiler.EXTENSION);
+        int[][] patches = {
+                {8, 1},                  // A kérdések száma nem egyezik a szintek összegével
+                {8, Integer.MAX_VALUE},  // Túl nagy kérdésszám
+                {12, 1},                 // Az azonosítótábla kisebb a kérdések számánál
+                {16, Integer.MAX_VALUE}, // Az azonosítótábla a fájlon kívül van
+                {20, -1},                // Negatív kérdésszám a 0. szinten
+                {24, -8},                // Negatív táblapozíció a 0. szinten
+        };
+        try {
+            for (int[] patch : patches) {
+                byte[] corrupt = bytes.clone();
+                ByteBuffer.wrap(corrupt).putInt(patch[0], patch[1]);
+                Files.write(broken, corrupt);
+                assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                        assertThrows(IOException.class, () -> new MappedQuestionsData(broken.toString()),
+                                "Patching byte " + patch[0] + " should be rejected"));
+            }
+        } finally {
+            Files.deleteIfExists(broken);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package Test;
+
+import Game.Score.Highscore;
+import Game.Score.Leaderboard;
+import Game.Score.PartitionedLeaderboard;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A kioszkok közös, szeletekre osztott dicsőséglistájának egységtesztjei.
+ * A tesztek ellenőrzik a szeletek összefésülését, a növekményes frissítést, a hosszú nevek levágását és azt,
+ * hogy egy szeletből csak a szükséges eredmények töltődnek be.
+ */
+public class TestPartitionedLeaderboard {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Teszteli, hogy a közös lista a szeletek legjobb N eredménye csökkenő sorrendben.
+     */
+    @Test
+    public void testShardsAreMerged() throws IOException {
+        publish("kiosk1", "A", "10.000 Ft", "B", "1.000 Ft");
+        publish("kiosk2", "C", "50.000 Ft", "D", "5.000 Ft", "E", "500 Ft");
+        publish("kiosk3", "F", "20.000 Ft");
+
+        PartitionedLeaderboard merged = new PartitionedLeaderboard(dir, "kiosk1", 4);
+        assertTrue(merged.refresh());
+        assertEquals(3, merged.getShardCount());
+        assertEquals(List.of("C", "F", "A", "D"), names(merged.top()));
+    }
+
+    /**
+     * Teszteli, hogy frissítéskor csak a megváltozott szelet olvasódik újra, az eltűnt szelet pedig kimarad.
+     */
+    @Test
+    public void testRefreshIsIncremental() throws IOException {
+        PartitionedLeaderboard own = publish("kiosk1", "A", "10.000 Ft");
+        publish("kiosk2", "B", "5.000 Ft");
+        assertTrue(own.refresh());
+        assertFalse(own.refresh(), "Nothing changed");
+        assertEquals(List.of("A", "B"), names(own.top()));
+
+        publish("kiosk2", "C", "20.000 Ft", "B", "5.000 Ft");
+        assertTrue(own.refresh());
+        assertEquals(List.of("C", "A", "B"), names(own.top()));
+
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                if (!file.equals(dir.resolve("a2lvc2sx.shard"))) { // A "kiosk1" szelet marad
+                    Files.delete(file);
+                }
+            }
+        }
+        assertTrue(own.refresh());
+        assertEquals(List.of("A"), names(own.top()));
+    }
+
+    /**
+     * Teszteli, hogy egy hosszú szeletből csak annyi eredmény töltődik be, amennyi a közös listába kerülhet.
+     */
+    @Test
+    public void testMergeReadsOnlyShardHeads() throws IOException {
+        Leaderboard big = new Leaderboard(10_000);
+        for (int i = 1; i <= 10_000; i++) {
+            big.addScore("Player" + i, i * 10 + " Ft");
+        }
+        new PartitionedLeaderboard(dir, "big", 5).publish(big);
+        publish("small", "X", "99.995 Ft");
+
+        PartitionedLeaderboard merged = new PartitionedLeaderboard(dir, "small", 5);
+        merged.refresh();
+        assertEquals(List.of("Player10000", "X", "Player9999", "Player9998", "Player9997"), names(merged.top()));
+        assertTrue(merged.getLoadedCount() <= 5 + 2, "Only the heads of the shards should be loaded");
+    }
+
+    /**
+     * Teszteli, hogy a túl hosszú név karakterhatáron vágódik le, félbevágott ékezetes karakter nélkül.
+     */
+    @Test
+    public void testLongNameIsCutOnCharacterBoundary() throws IOException {
+        String name = "a" + "ő".repeat(600); // 1201 bájt: a 1024. bájtnál egy kétbájtos karakter közepe van
+        PartitionedLeaderboard own = publish("kiosk1", name, "1.000 Ft");
+        own.refresh();
+        assertEquals(name.substring(0, 1 + 511), own.top().get(0).getName());
+    }
+
+    private PartitionedLeaderboard publish(String shard, String... scores) throws IOException {
+        Leaderboard board = new Leaderboard(Leaderboard.DEFAULT_CAPACITY);
+        for (int i = 0; i < scores.length; i += 2) {
+            board.addScore(scores[i], scores[i + 1]);
+        }
+        PartitionedLeaderboard partitioned = new PartitionedLeaderboard(dir, shard, Leaderboard.DISPLAY_LIMIT);
+        partitioned.publish(board);
+        return partitioned;
+    }
+
+    private static List<String> names(List<Highscore> scores) {
+        return scores.stream().map(Highscore::getName).toList();
+    }
+}
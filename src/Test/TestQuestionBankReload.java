@@ -0,0 +1,92 @@
+package Test;
+
+import Game.Question.QuestionBank;
+import Game.Question.QuestionBankWatcher;
+import Game.Question.QuestionsData;
+import Game.Question.ReloadableQuestionBank;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A kérdésbank újratöltésének egységtesztjei.
+ * A tesztek biztosítják, hogy az érvényes új bank atomikusan lecserélődjön,
+ * a hibás fájl ne írja felül a régi bankot, és a korábban lekért pillanatkép ne változzon.
+ */
+public class TestQuestionBankReload {
+
+    Path directory;
+    Path file;
+    ReloadableQuestionBank bank;
+    QuestionBankWatcher watcher;
+
+    /**
+     * Minden teszt előtt egy ideiglenes kérdésfájlt és egy azt figyelő, cserélhető bankot hoz létre.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("loim-reload");
+        file = directory.resolve("questions.json");
+        write(question(1, "Első kérdés?") + "," + question(2, "Második kérdés?"));
+
+        bank = new ReloadableQuestionBank(new QuestionsData(file.toString()));
+        watcher = new QuestionBankWatcher(file.toString(), bank, 2);
+    }
+
+    /**
+     * A figyelő leállítása és az ideiglenes fájlok törlése.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        watcher.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Teszteli az érvényes fájl újratöltését.
+     * Ellenőrzi, hogy az új kérdések megjelennek, a régi pillanatkép viszont változatlan marad.
+     */
+    @Test
+    public void testReloadSwapsBank() throws IOException {
+        QuestionBank before = bank.snapshot();
+
+        write(question(1, "Első kérdés?") + "," + question(1, "Új kérdés?") + "," + question(2, "Második kérdés?"));
+        assertTrue(watcher.reload(), "A valid file should be reloaded");
+
+        assertEquals(2, bank.getQuestionCount(1), "The reloaded bank should be visible");
+        assertEquals(1, before.getQuestionCount(1), "An earlier snapshot should not change");
+        assertNotSame(before, bank.snapshot());
+    }
+
+    /**
+     * Teszteli, hogy hiányos vagy hibás fájl esetén a régi bank marad érvényben.
+     */
+    @Test
+    public void testInvalidReloadIsRejected() throws IOException {
+        QuestionBank before = bank.snapshot();
+
+        write(question(1, "Csak első szint?"));
+        assertFalse(watcher.reload(), "A bank without difficulty 2 should be rejected");
+        assertSame(before, bank.snapshot());
+
+        Files.writeString(file, "[{\"difficulty\": 1,", StandardCharsets.UTF_8);
+        assertFalse(watcher.reload(), "A truncated file should be rejected");
+        assertSame(before, bank.snapshot());
+        assertNotNull(bank.getQuestion(2), "Questions should still be served from the old bank");
+    }
+
+    private void write(String questions) throws IOException {
+        Files.writeString(file, "[" + questions + "]", StandardCharsets.UTF_8);
+    }
+
+    private static String question(int difficulty, String text) {
+        return "{\"difficulty\": " + difficulty + ", \"question\": \"" + text
+                + "\", \"a\": \"1\", \"b\": \"2\", \"c\": \"3\", \"d\": \"4\", \"answer\": \"a\"}";
+    }
+}
@@ -3,12 +3,16 @@ package Test;
 import Game.Question.Question;
 import Game.Question.QuestionsData;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.jupiter.api.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -106,6 +110,23 @@ public class TestQuestionData {
         assertNull(question3, "No question should be returned for difficulty 3");
     }
 
+    /**
+     * Teszteli a nehézségi szint szerinti indexet.
+     * Ellenőrzi:
+     * - Az egyes szintekhez tartozó kérdések számát.
+     * - Hogy a nem létező (negatív vagy túl nagy) szintek üresek.
+     */
+    @Test
+    public void testQuestionCountByDifficulty() throws Exception {
+        questionsData = new QuestionsData(TEST_JSON_FILE);
+
+        assertEquals(2, questionsData.getQuestionCount(1), "Difficulty 1 should have 2 questions");
+        assertEquals(1, questionsData.getQuestionCount(2), "Difficulty 2 should have 1 question");
+        assertEquals(0, questionsData.getQuestionCount(3), "Difficulty 3 should be empty");
+        assertEquals(0, questionsData.getQuestionCount(-1), "Negative difficulty should be empty");
+        assertNull(questionsData.getQuestion(-1), "No question should be returned for a negative difficulty");
+    }
+
     /**
      * Teszteli a betöltött kérdések listájának helyességét.
      * Ellenőrzi:
@@ -123,6 +144,33 @@ public class TestQuestionData {
         assertEquals('a', question.getAnswer(), "The correct answer should be 'A'");
     }
 
+    /**
+     * Teszteli a kérdések folyamatos beolvasását karakter- és bájtfolyamból.
+     * Ellenőrzi:
+     * - A tördelt, szóközökkel tagolt tömb helyes feldolgozását.
+     * - Az ékezetes szövegek UTF-8 szerinti dekódolását.
+     * - Az üres tömb és a hibás tartalom kezelését.
+     */
+    @Test
+    public void testLoadFromStream() {
+        String json = """
+                [ {"difficulty": 1, "question": "Mi Magyarország fővárosa?", "a": "Budapest", "b": "Bécs",
+                   "c": "Prága", "d": "Pozsony", "answer": "a"} ,
+                  {"difficulty": 3, "question": "Mennyi 3*3?", "a": "6", "b": "9", "c": "12", "d": "3", "answer": "b"} ]""";
+
+        questionsData = new QuestionsData(new StringReader(json));
+        assertEquals(2, questionsData.questionsArray.size(), "2 questions should be read from the reader");
+        assertEquals(1, questionsData.getQuestionCount(3), "Difficulty 3 should have 1 question");
+
+        questionsData = new QuestionsData(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("Mi Magyarország fővárosa?", questionsData.questionsArray.getFirst().getQuestion(),
+                "Accented text should be decoded as UTF-8");
+
+        assertEquals(0, new QuestionsData(new StringReader(" [ ] ")).questionsArray.size(), "An empty array should load no questions");
+        assertThrows(JSONException.class, () -> new QuestionsData(new StringReader("{}")),
+                "A non-array document should be rejected");
+    }
+
     /**
      * Teszteli egy hibás fájl betöltését.
      * Ellenőrzi, hogy hibás fájl esetén megfelelő kivétel keletkezik.
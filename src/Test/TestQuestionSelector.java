@@ -0,0 +1,214 @@
+package Test;
+
+import Game.Game;
+import Game.Question.Question;
+import Game.Question.QuestionBank;
+import Game.Question.QuestionsData;
+import Game.Question.QuestionSelector;
+import Game.Question.RecentQuestions;
+import Game.Question.ReloadableQuestionBank;
+import Game.Question.SharedQuestionBank;
+import Game.Randomness.RandomSource;
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A QuestionSelector ismétlésmentes kérdésválasztó egységtesztjei.
+ * A tesztek biztosítják, hogy az ablakon belül ne ismétlődjön kérdés,
+ * a kevés kérdést tartalmazó szinteken is működjön a húzás, a bank cseréje után is helyes kérdést adjon, és
+ * az ablak a játékosok közös, korlátos tárán keresztül a következő játékokban is megmaradjon.
+ */
+public class TestQuestionSelector {
+
+    /**
+     * Teszteli, hogy a teljes szint kihúzásáig egyetlen kérdés sem ismétlődik.
+     */
+    @Test
+    public void testNoRepeatsUntilExhausted() {
+        QuestionSelector selector = new QuestionSelector(bank(50), RandomSource.create(), 100);
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(seen.add(selector.next(1).getQuestion()), "Question repeated after " + i + " draws");
+        }
+    }
+
+    /**
+     * Teszteli az ismétlésmentes ablakot: 3 játék (6 húzás) alatt nem lehet ismétlés,
+     * a kérdések viszont a visszatartás után újra sorra kerülnek.
+     */
+    @Test
+    public void testRecentWindow() {
+        QuestionSelector selector = new QuestionSelector(bank(10), RandomSource.create(), 3);
+
+        String[] history = new String[1000];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = selector.next(1).getQuestion();
+            for (int j = Math.max(0, i - 6); j < i; j++) {
+                assertNotEquals(history[j], history[i], "Question repeated within the window at draw " + i);
+            }
+        }
+
+        Set<String> all = new HashSet<>(Arrays.asList(history));
+        assertEquals(10, all.size(), "Every question should eventually be drawn again");
+    }
+
+    /**
+     * Teszteli a kevés kérdést tartalmazó és a hiányzó szinteket.
+     */
+    @Test
+    public void testSmallLevels() {
+        QuestionSelector selector = new QuestionSelector(bank(2), RandomSource.create());
+
+        Question first = selector.next(1);
+        for (int i = 0; i < 10; i++) {
+            Question next = selector.next(1);
+            assertNotEquals(first.getQuestion(), next.getQuestion(), "Two questions should alternate");
+            first = next;
+        }
+        assertNull(selector.next(5), "A missing level should return null");
+    }
+
+    /**
+     * Teszteli, hogy a bank cseréje után a választó az új bank kérdéseit adja.
+     */
+    @Test
+    public void testFollowsReloadedBank() {
+        ReloadableQuestionBank reloadable = new ReloadableQuestionBank(bank(3));
+        QuestionSelector selector = new QuestionSelector(reloadable, RandomSource.create());
+        selector.next(1);
+
+        reloadable.swap(bank(1));
+        assertEquals("Kérdés 0?", selector.next(1).getQuestion(), "The only question of the new bank should be drawn");
+    }
+
+    /**
+     * Teszteli, hogy a bank újratöltése után a visszatartott kérdések (azonosító alapján) továbbra sem ismétlődnek.
+     */
+    @Test
+    public void testWindowSurvivesReload() {
+        ReloadableQuestionBank reloadable = new ReloadableQuestionBank(bank(10));
+        QuestionSelector selector = new QuestionSelector(reloadable, RandomSource.create(), 2);
+
+        String[] history = new String[40];
+        for (int i = 0; i < history.length; i++) {
+            if (i % 5 == 4) {
+                reloadable.swap(bank(10)); // Ugyanazok a kérdések, új bankban
+            }
+            history[i] = selector.next(1).getQuestion();
+            for (int j = Math.max(0, i - 4); j < i; j++) {
+                assertNotEquals(history[j], history[i], "Question repeated across a reload at draw " + i);
+            }
+        }
+    }
+
+    /**
+     * Teszteli, hogy azonos kezdőértékkel a húzások sorozata pontosan megismételhető.
+     */
+    @Test
+    public void testSeededSelectionIsReproducible() {
+        QuestionsData questions = bank(30);
+        QuestionSelector first = new QuestionSelector(questions, RandomSource.seeded(42));
+        QuestionSelector second = new QuestionSelector(questions, RandomSource.seeded(42));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.next(1).getQuestion(), second.next(1).getQuestion(), "Seeded draws should match at " + i);
+        }
+    }
+
+    /**
+     * Teszteli, hogy a visszaadott kérdés újra húzható, és nem szorítja ki az ablakból a ténylegesen kihúzottakat.
+     */
+    @Test
+    public void testGiveBack() {
+        QuestionSelector selector = new QuestionSelector(bank(3), RandomSource.seeded(7), 1);
+
+        Question shown = selector.next(1);
+        Question prefetched = selector.next(1);
+        assertTrue(selector.giveBack(prefetched), "A held question should be given back");
+        assertFalse(selector.giveBack(prefetched), "A question can only be given back once");
+        assertFalse(selector.giveBack(null));
+
+        Set<String> drawn = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            Question next = selector.next(1);
+            assertNotEquals(shown.getQuestion(), next.getQuestion(), "The shown question should stay held");
+            drawn.add(next.getQuestion());
+            selector.giveBack(next);
+        }
+        assertTrue(drawn.contains(prefetched.getQuestion()), "The given back question should be drawable again");
+    }
+
+    /**
+     * Teszteli, hogy a pillanatképből létrehozott választó folytatja az előző választó ismétlésmentes ablakát.
+     */
+    @Test
+    public void testHistoryContinuesWindow() {
+        QuestionsData questions = bank(10);
+        QuestionSelector first = new QuestionSelector(questions, RandomSource.create(), 3);
+        List<String> history = new ArrayList<>();
+        for (int i = 0; i < 6; i++) { // 3 játék, játékonként 2 húzás: az egész ablak
+            history.add(first.next(1).getQuestion());
+        }
+        assertEquals(6, first.history().size());
+
+        QuestionSelector second = new QuestionSelector(questions, RandomSource.create(), 3, first.history());
+        for (int i = 6; i < 100; i++) {
+            String question = second.next(1).getQuestion();
+            assertFalse(history.subList(i - 6, i).contains(question), "Question repeated within the window at draw " + i);
+            history.add(question);
+        }
+    }
+
+    /**
+     * Teszteli, hogy sok párhuzamos játék mellett a közös tár mérete a beállított korlátnál marad, és egy
+     * pillanatkép mérete csak az ablaktól függ, a kérdésbank méretétől nem.
+     */
+    @Test
+    public void testRecentQuestionsStayBounded() throws Exception {
+        QuestionBank questions = SharedQuestionBank.get(Game.QUESTIONS_FILE);
+        RecentQuestions recent = new RecentQuestions(50);
+        int window = questions.getLevelCount() * QuestionSelector.DEFAULT_RECENT_GAMES * 2;
+
+        List<Future<QuestionSelector.History>> games = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                String player = "Játékos " + i % 200;
+                games.add(executor.submit(() -> {
+                    Game game = new Game(questions, RandomSource.create(), recent.get(player));
+                    QuestionSelector.History history = game.getRecentQuestions();
+                    recent.put(player, history);
+                    return history;
+                }));
+            }
+            for (Future<QuestionSelector.History> game : games) {
+                assertTrue(game.get().size() <= window, "A snapshot should only depend on the window");
+            }
+        }
+        assertEquals(50, recent.size(), "Only the most recent players should be kept");
+    }
+
+    /**
+     * Egy n kérdést tartalmazó, csak 1-es szintű kérdésbank előállítása.
+     */
+    private static QuestionsData bank(int n) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < n; i++) {
+            json.add("{\"difficulty\": 1, \"question\": \"Kérdés " + i
+                    + "?\", \"a\": \"1\", \"b\": \"2\", \"c\": \"3\", \"d\": \"4\", \"answer\": \"a\"}");
+        }
+        return new QuestionsData(new StringReader(json.toString()));
+    }
+}
@@ -0,0 +1,92 @@
+package Test;
+
+import Game.Randomness.RandomSource;
+import Game.Score.Highscore;
+import Game.Score.RankedLeaderboard;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A helyezéseket kiszolgáló ranglista egységtesztjei.
+ * A tesztek ellenőrzik a holtversenyek befejezési idő szerinti eldöntését, a játékosok helyezését,
+ * valamint a helyezés-tartományokat egy nagy, véletlen eredményhalmazon egy rendezett listához mérve.
+ */
+public class TestRankedLeaderboard {
+
+    RankedLeaderboard rankings;
+
+    /**
+     * Minden teszt előtt egy üres, rögzített kezdőértékű ranglista.
+     */
+    @BeforeEach
+    public void setUp() {
+        rankings = new RankedLeaderboard(RandomSource.seeded(7));
+    }
+
+    /**
+     * Teszteli, hogy azonos díjnál a korábban befejezett játék áll előrébb, a rögzítés sorrendjétől függetlenül.
+     */
+    @Test
+    public void testTiesAreBrokenByFinishTime() {
+        assertEquals(1, rankings.addScore("Later", "10.000 Ft", 2_000));
+        assertEquals(1, rankings.addScore("Earlier", "10.000 Ft", 1_000));
+        assertEquals(3, rankings.addScore("Low", "1.000 Ft", 500));
+        assertEquals(1, rankings.addScore("High", "50.000 Ft", 3_000));
+
+        assertEquals(List.of("High", "Earlier", "Later", "Low"),
+                rankings.range(1, 10).stream().map(Highscore::getName).toList());
+        assertEquals(3, rankings.rankOf("Later"));
+    }
+
+    /**
+     * Teszteli, hogy egy játékos helyezése a legjobb eredménye szerint számít.
+     */
+    @Test
+    public void testPlayerRankUsesBestResult() {
+        rankings.addScore("Player", "5.000 Ft", 1);
+        rankings.addScore("Other", "20.000 Ft", 2);
+        assertEquals(2, rankings.rankOf("Player"));
+
+        rankings.addScore("Player", "100.000 Ft", 3);
+        rankings.addScore("Player", "1.000 Ft", 4);
+        assertEquals(1, rankings.rankOf("Player"));
+        assertEquals(0, rankings.rankOf("Nobody"));
+        assertEquals(4, rankings.size());
+    }
+
+    /**
+     * Teszteli a helyezéseket és a tartományokat sok eredményen, egy rendezett listával összevetve.
+     */
+    @Test
+    public void testRangesMatchSortedOrder() {
+        record Result(String name, long amount, long finishedAt) {
+        }
+        SplittableRandom random = new SplittableRandom(3);
+        List<Result> expected = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            Result r = new Result("P" + i, random.nextInt(200) * 1_000L, random.nextInt(1_000));
+            expected.add(r);
+            rankings.addScore(r.name(), r.amount() + " Ft", r.finishedAt());
+        }
+        expected.sort(Comparator.comparingLong(Result::amount).reversed().thenComparingLong(Result::finishedAt));
+
+        assertEquals(expected.size(), rankings.size());
+        List<Highscore> range = rankings.range(5_000, 5_020);
+        assertEquals(21, range.size());
+        for (int i = 0; i < range.size(); i++) {
+            assertEquals(expected.get(4_999 + i).amount(), range.get(i).getAmount());
+        }
+        Result some = expected.get(12_345);
+        int rank = rankings.rankOf(some.name());
+        assertEquals(some.name(), rankings.get(rank).getName());
+        assertEquals(some.amount(), expected.get(rank - 1).amount());
+        assertEquals(5, rankings.range(49_996, 60_000).size());
+        assertTrue(rankings.range(60_000, 60_010).isEmpty());
+    }
+}
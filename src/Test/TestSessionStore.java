@@ -0,0 +1,136 @@
+package Test;
+
+import Game.Game;
+import Game.GameSave.GameState;
+import Game.GameSave.SessionStore;
+import Game.Question.QuestionBank;
+import Game.Question.SharedQuestionBank;
+import Game.Randomness.RandomSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A több játékot tároló mentéstár egységtesztjei.
+ * A tesztek ellenőrzik a kapacitás fölötti (LRU) és a lejárt mentések lemezre írását, a folytatáskori
+ * betöltést, a mentések megmaradását a tár lezárása után, valamint azt, hogy a ki nem írható mentés
+ * a memóriában marad.
+ */
+public class TestSessionStore {
+
+    @TempDir
+    Path dir;
+
+    QuestionBank questions;
+    AtomicLong now = new AtomicLong(); // A tár órája
+
+    /**
+     * Minden teszt előtt a közös kérdésbank betöltése.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        questions = SharedQuestionBank.get(Game.QUESTIONS_FILE);
+    }
+
+    /**
+     * Teszteli, hogy a kapacitás fölött a legrégebben használt mentés kerül lemezre, és onnan folytatható.
+     */
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        SessionStore store = new SessionStore(dir, questions, 2, 60_000, now::get);
+        GameState first = state(3);
+        store.put("first", "Első", first);
+        store.put("second", "Második", state(5));
+        assertTrue(store.contains("first")); // Nem számít használatnak
+        store.put("third", "Harmadik", state(7));
+
+        assertEquals(2, store.getInMemoryCount());
+        SessionStore.Entry entry = store.take("first"); // A lemezről töltődik vissza
+        assertEquals("Első", entry.getPlayer());
+        assertEquals(3, entry.getState().getRound());
+        assertEquals(first.getCurrentQuestion().getId(), entry.getState().getCurrentQuestion().getId());
+        assertFalse(store.contains("first"), "A resumed game must leave the store");
+        assertNull(store.take("first"));
+    }
+
+    /**
+     * Teszteli, hogy a beállított ideig nem használt mentések lemezre kerülnek.
+     */
+    @Test
+    public void testIdleSessionsAreEvicted() {
+        SessionStore store = new SessionStore(dir, questions, 100, 1_000, now::get);
+        store.put("idle", "Tétlen", state(2));
+        now.addAndGet(600);
+        store.put("active", "Aktív", state(4));
+        now.addAndGet(600);
+        store.evictIdle();
+
+        assertEquals(1, store.getInMemoryCount());
+        assertTrue(store.contains("idle"));
+        assertEquals(2, store.take("idle").getState().getRound());
+        assertEquals(4, store.take("active").getState().getRound());
+    }
+
+    /**
+     * Teszteli, hogy a lezárt tár mentései egy új tárpéldányból is folytathatók.
+     */
+    @Test
+    public void testCloseWritesToDisk() {
+        SessionStore store = new SessionStore(dir, questions);
+        store.put("player/1", "Ékezetes Név", state(9));
+        store.close();
+
+        SessionStore reopened = new SessionStore(dir, questions);
+        assertEquals(0, reopened.getInMemoryCount());
+        SessionStore.Entry entry = reopened.take("player/1");
+        assertEquals("Ékezetes Név", entry.getPlayer());
+        assertEquals(9, entry.getState().getRound());
+        assertEquals(20_000, entry.getState().getTimeLeftMillis());
+    }
+
+    /**
+     * Teszteli, hogy ha a mentés nem írható lemezre, a memóriában marad, és folytatható.
+     */
+    @Test
+    public void testUnwritableDirectoryKeepsSessions() throws IOException {
+        Path blocked = Files.createFile(dir.resolve("blocked")); // Könyvtár helyett fájl: az írás nem sikerülhet
+        SessionStore store = new SessionStore(blocked, questions, 0, 0, now::get);
+        store.put("first", "Első", state(3));
+        store.put("second", "Második", state(5));
+        store.close();
+
+        assertEquals(2, store.getInMemoryCount(), "Unwritten sessions must stay in memory");
+        assertTrue(store.contains("first"));
+        SessionStore.Entry entry = store.take("first");
+        assertNotNull(entry);
+        assertEquals("Első", entry.getPlayer());
+        assertEquals(3, entry.getState().getRound());
+        assertEquals(5, store.take("second").getState().getRound());
+        assertEquals(0, store.getInMemoryCount());
+    }
+
+    /**
+     * Teszteli, hogy a túl hosszú név karakterhatáron vágva kerül a lemezre.
+     */
+    @Test
+    public void testLongNameIsCutOnCharacterBoundary() {
+        SessionStore store = new SessionStore(dir, questions, 0, 0, now::get);
+        store.put("long", "ő".repeat(5000) + "x", state(2)); // 2 bájtos karakterek, a határ páratlan helyen is lehet
+        store.put("odd", "a" + "ő".repeat(5000), state(4));
+
+        assertEquals(0, store.getInMemoryCount());
+        assertEquals("ő".repeat(512), store.take("long").getPlayer());
+        assertEquals("a" + "ő".repeat(511), store.take("odd").getPlayer());
+    }
+
+    private GameState state(int round) {
+        Game game = new Game(questions, RandomSource.seeded(round));
+        return new GameState(round, game.drawQuestion(round), true, false, false, 20_000);
+    }
+}
@@ -0,0 +1,155 @@
+package Test;
+
+import Game.Clock.Countdown;
+import Game.Clock.TimingWheel;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Az időzítő kerék és a rá épülő visszaszámláló egységtesztjei.
+ * A tesztek ellenőrzik a lejárat pontosságát, a törlést, a nagy számú egyidejű határidőt,
+ * valamint a visszaszámláló szüneteltetését és folytatását.
+ */
+public class TestTimingWheel {
+
+    TimingWheel wheel;
+
+    /**
+     * Minden teszt előtt egy kis rekeszszámú kereket indít, hogy a több fordulós késleltetés is sorra kerüljön.
+     */
+    @BeforeEach
+    public void setUp() {
+        wheel = new TimingWheel("test-timer", 5, 16);
+    }
+
+    /**
+     * A kerék leállítása.
+     */
+    @AfterEach
+    public void tearDown() {
+        wheel.close();
+    }
+
+    /**
+     * Teszteli, hogy a feladat nem fut le a határidő előtt, és legfeljebb néhány lépéssel utána lefut.
+     */
+    @Test
+    public void testDeadline() throws InterruptedException {
+        long start = System.nanoTime();
+        long[] firedAt = new long[1];
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            firedAt[0] = System.nanoTime();
+            fired.countDown();
+        }, 200, TimeUnit.MILLISECONDS); // Több mint egy teljes fordulat (16 * 5 ms)
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS), "The task should fire");
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(firedAt[0] - start);
+        assertTrue(elapsed >= 200, "Fired too early: " + elapsed + " ms");
+        assertTrue(elapsed < 400, "Fired too late: " + elapsed + " ms");
+    }
+
+    /**
+     * Teszteli, hogy a törölt feladat nem fut le, a többi viszont igen.
+     */
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch fired = new CountDownLatch(1);
+        TimingWheel.Timeout cancelled = wheel.schedule(count::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        wheel.schedule(fired::countDown, 100, TimeUnit.MILLISECONDS);
+        cancelled.cancel();
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertEquals(0, count.get(), "A cancelled task must not run");
+    }
+
+    /**
+     * Teszteli, hogy nagyon sok egyidejű határidő is lejár egyetlen szálon.
+     */
+    @Test
+    public void testManyTimeouts() throws InterruptedException {
+        int n = 100_000;
+        CountDownLatch fired = new CountDownLatch(n);
+        for (int i = 0; i < n; i++) {
+            wheel.schedule(fired::countDown, i % 300, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(fired.await(5, TimeUnit.SECONDS), "Not fired: " + fired.getCount());
+    }
+
+    /**
+     * Teszteli a visszaszámláló szüneteltetését, folytatását és lejáratát.
+     */
+    @Test
+    public void testCountdownPauseAndResume() throws InterruptedException {
+        CountDownLatch expired = new CountDownLatch(1);
+        Countdown countdown = new Countdown(wheel, expired::countDown);
+
+        countdown.start(2000);
+        long paused = countdown.pause();
+        assertTrue(paused > 1900 && paused <= 2000, "Remaining time should be exact: " + paused);
+        Thread.sleep(1200);
+        assertEquals(paused, countdown.getRemainingMillis(), "A paused countdown must not advance");
+        assertFalse(countdown.isExpired());
+
+        countdown.resume();
+        assertTrue(expired.await(3, TimeUnit.SECONDS), "The countdown should expire after resuming");
+        assertTrue(countdown.isExpired());
+        assertEquals(0, countdown.getRemaining());
+    }
+
+    /**
+     * Teszteli, hogy az újraindított visszaszámláló korábbi lejárata nem érkezik meg.
+     */
+    @Test
+    public void testRestartDiscardsOldDeadline() throws InterruptedException {
+        AtomicInteger expiries = new AtomicInteger();
+        Countdown countdown = new Countdown(wheel, expiries::incrementAndGet);
+
+        countdown.start(1000);
+        Thread.sleep(500);
+        countdown.start(30_000); // Új kör: a korábbi határidő érvénytelen
+        Thread.sleep(1300);
+
+        assertEquals(0, expiries.get());
+        assertEquals(29, countdown.getRemaining());
+        countdown.cancel();
+    }
+
+    /**
+     * Teszteli, hogy a lejárat a határidőhöz kötött: akkor is lejárt, ha a figyelő még nem kapta meg az eseményt,
+     * és a kijelzett másodpercek a határidőhöz képest váltanak.
+     */
+    @Test
+    public void testDeadlineIsExact() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger seconds = new AtomicInteger();
+        Countdown countdown = new Countdown(wheel, new Countdown.Listener() {
+            @Override
+            public void secondElapsed(int remaining) {
+                seconds.set(remaining);
+                try {
+                    release.await(); // A figyelő (pl. foglalt eseménykezelő szál) nem halad tovább
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void expired() {
+            }
+        });
+
+        countdown.start(1500);
+        Thread.sleep(1600);
+        assertEquals(1, seconds.get(), "The displayed second should change at the 1 s boundary");
+        assertTrue(countdown.isExpired(), "The deadline must be enforced even if events are delayed");
+        assertEquals(0, countdown.getRemainingMillis());
+        release.countDown();
+    }
+}
@@ -0,0 +1,88 @@
+package Test;
+
+import Game.Score.Highscore;
+import Game.Score.Leaderboard;
+import Game.Score.WindowedLeaderboard;
+import Game.Score.WindowedLeaderboard.Window;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Az időablakos dicsőséglisták egységtesztjei.
+ * A tesztek egy léptethető órával ellenőrzik, hogy az eredmények a megfelelő ablakokba kerülnek,
+ * és az idő múlásával kiesnek belőlük, miközben az összesített lista megmarad.
+ */
+public class TestWindowedLeaderboard {
+
+    static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    AtomicLong now = new AtomicLong(100 * 24 * HOUR); // A listák órája
+    WindowedLeaderboard boards;
+
+    /**
+     * Minden teszt előtt üres listák háromelemes összesített listával.
+     */
+    @BeforeEach
+    public void setUp() {
+        boards = new WindowedLeaderboard(new Leaderboard(3), now::get);
+    }
+
+    /**
+     * Teszteli, hogy az eredmények az idő múlásával kiesnek az ablakokból, az összesített listából nem.
+     */
+    @Test
+    public void testScoresExpireFromWindows() {
+        boards.addScore("Old", "100.000 Ft");
+        now.addAndGet(2 * HOUR);
+        boards.addScore("Recent", "10.000 Ft");
+
+        assertEquals(List.of("Recent"), names(boards.top(Window.HOURLY, 10)));
+        assertEquals(List.of("Old", "Recent"), names(boards.top(Window.DAILY, 10)));
+
+        now.addAndGet(23 * HOUR);
+        assertEquals(List.of("Recent"), names(boards.top(Window.DAILY, 10)));
+        assertEquals(List.of("Old", "Recent"), names(boards.top(Window.WEEKLY, 10)));
+
+        now.addAndGet(7 * 24 * HOUR);
+        assertTrue(boards.top(Window.WEEKLY, 10).isEmpty());
+        assertEquals(List.of("Old", "Recent"), names(boards.getAllTime().snapshot()));
+    }
+
+    /**
+     * Teszteli, hogy egy ablak listája a rekeszek összefésülésével rendezett, és a kapacitásnál nem hosszabb.
+     */
+    @Test
+    public void testWindowMergesBuckets() {
+        for (int i = 1; i <= 10; i++) {
+            boards.addScore("P" + i, (i % 4 + 1) * 1_000 + " Ft");
+            now.addAndGet(HOUR);
+        }
+
+        List<Highscore> daily = boards.top(Window.DAILY, 10);
+        assertEquals(List.of("P3", "P7", "P2"), names(daily), "Ties keep the earlier result first.");
+        assertEquals(4_000, daily.getFirst().getAmount());
+        assertEquals(3, boards.getAllTime().snapshot().size());
+        assertEquals("1. P3 4000 Ft\n2. P7 4000 Ft\n3. P2 3000 Ft", boards.listLeaderboard(Window.DAILY));
+    }
+
+    /**
+     * Teszteli, hogy az ablakon már kívül eső (régen befejezett) eredmény csak az összesített listára kerül.
+     */
+    @Test
+    public void testLateScoreOutsideWindow() {
+        boards.addScore("Late", "5.000 Ft", now.get() - 2 * 24 * HOUR);
+
+        assertTrue(boards.top(Window.DAILY, 10).isEmpty());
+        assertEquals(1, boards.top(Window.WEEKLY, 10).size());
+        assertEquals(1, boards.getAllTime().snapshot().size());
+    }
+
+    private static List<String> names(List<Highscore> scores) {
+        return scores.stream().map(Highscore::getName).toList();
+    }
+}